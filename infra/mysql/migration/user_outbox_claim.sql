@@ -0,0 +1,6 @@
+-- user_outbox 발행 선점 컬럼 추가 (UserOutboxRelay 가 짧은 트랜잭션으로 선점 후 트랜잭션 밖에서 Kafka 전송)
+-- - 애플리케이션 배포 전에 1회 실행 (ddl-auto: update 는 자동 추가, validate 는 이 마이그레이션 필요)
+
+ALTER TABLE `user_outbox`
+    ADD COLUMN `claimed_by`    varchar(64) DEFAULT NULL,
+    ADD COLUMN `claimed_until` datetime(6) DEFAULT NULL;
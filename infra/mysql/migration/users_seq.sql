@@ -0,0 +1,18 @@
+-- users.id 생성 방식을 IDENTITY(AUTO_INCREMENT) 에서 pooled 시퀀스(users_seq 테이블)로 바꾸기 위한 마이그레이션
+-- - 애플리케이션 배포 전에 1회 실행 (여러 번 실행해도 안전)
+-- - ddl-auto: update 로 users_seq 를 만들면 1 부터 시작해 기존 id 와 충돌하고, validate 는 테이블이 없어 기동 실패
+-- - Hibernate pooled 최적화기는 조회한 값 N 에 대해 (N - 500, N] 구간을 할당하므로
+--   N = MAX(id) + 500 으로 시작해야 첫 id 가 MAX(id) + 1 이 됨 (500 = User.ID_ALLOCATION_SIZE)
+
+CREATE TABLE IF NOT EXISTS `users_seq`
+(
+    `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO `users_seq` (`next_val`)
+SELECT 1
+FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM `users_seq`);
+
+UPDATE `users_seq`
+SET `next_val` = GREATEST(`next_val`, (SELECT COALESCE(MAX(`id`), 0) + 500 FROM `users`));
@@ -0,0 +1,6 @@
+-- users 낙관적 락 버전 컬럼 추가 (ETag / If-Match 조건부 수정, JDBC 수정 경로도 1 씩 증가)
+-- - 애플리케이션 배포 전에 1회 실행 (ddl-auto: update 는 자동 추가, validate 는 이 마이그레이션 필요)
+-- - 기존 행은 0 부터 시작
+
+ALTER TABLE `users`
+    ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
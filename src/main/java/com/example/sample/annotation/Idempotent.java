@@ -0,0 +1,19 @@
+package com.example.sample.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Idempotency-Key 헤더 기반 중복 실행 방지 (Redis)
+ * - 같은 키의 재시도는 핸들러를 다시 실행하지 않고 저장된 응답을 재생
+ * - 첫 요청이 아직 처리 중이면 DUPLICATE_REQUEST
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+
+    String name();
+
+}
@@ -0,0 +1,23 @@
+package com.example.sample.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 클라이언트(IP)별 요청 수 제한 (Redis token bucket, 초과 시 429)
+ * - capacity: 최대 순간 요청 수 (bucket 크기)
+ * - refillPerSecond: 초당 보충 토큰 수 (지속 허용 요청률)
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    String name();
+
+    long capacity();
+
+    double refillPerSecond();
+
+}
@@ -0,0 +1,80 @@
+package com.example.sample.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch - 고정 메모리(depth x width 카운터)로 항목별 빈도를 근사 (과대 추정만 발생, 과소 추정 없음)
+ * - conservative update: 각 행을 (현재 최소값 + 1) 까지만 올려 과대 추정을 줄임
+ * - halve() 로 전체 카운터를 절반으로 줄여 오래된 빈도를 감쇠 (최근 빈도 위주로 추정)
+ * - lock-free (AtomicLongArray), 감쇠 중 동시 증가분은 일부 같이 절반이 될 수 있음 (근사치이므로 허용)
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("depth and width must be positive. depth=" + depth + ", width=" + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * 1 증가 후 추정 빈도 반환
+     */
+    public long add(String item) {
+        int hash1 = mix(item.hashCode());
+        int hash2 = mix(hash1 ^ 0x9E3779B9);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash1, hash2)));
+        }
+        long updated = estimate + 1;
+        for (int row = 0; row < depth; row++) {
+            counters.accumulateAndGet(index(row, hash1, hash2), updated, Math::max);
+        }
+        return updated;
+    }
+
+    /**
+     * 추정 빈도 (모든 행의 최소값)
+     */
+    public long estimate(String item) {
+        int hash1 = mix(item.hashCode());
+        int hash2 = mix(hash1 ^ 0x9E3779B9);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash1, hash2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 전체 카운터 절반으로 감쇠
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >> 1);
+        }
+    }
+
+    // 행마다 다른 해시 (Kirsch-Mitzenmacher: hash1 + row * hash2)
+    private int index(int row, int hash1, int hash2) {
+        return row * width + Math.floorMod(hash1 + row * hash2, width);
+    }
+
+    // murmur3 fmix32 - String.hashCode 의 하위 비트 편향 완화
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.example.sample.common;
+
+import com.example.sample.annotation.Idempotent;
+import com.example.sample.dto.IdempotentResponse;
+import com.example.sample.repository.RedisUserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency-Key 처리 - idempotency:{name}:{key} (인증된 사용자가 있으면 idempotency:{name}:user:{principal}:{key})
+ * - 클라이언트 IP 로는 나누지 않음 - 모바일 재시도는 IP 가 바뀌기 쉬워(셀룰러 <-> wifi, NAT) 같은 요청이 다시 실행됨
+ *   다른 클라이언트가 우연히 같은 키를 보내도 fingerprint 가 다르면 IDEMPOTENCY_KEY_MISMATCH 로 거절
+ * - SET NX PX 로 "in-flight:{token}" 예약 후 핸들러 실행, 2xx 응답은 직렬화한 바이트와 요청 fingerprint 를 response-ttl 동안 저장
+ *   (예약 값이 그대로일 때만 저장 - 예약이 만료돼 다른 요청이 다시 잡았으면 덮어쓰지 않음)
+ * - 저장된 응답이 있으면 fingerprint(method + path + query + 핸들러 인자 JSON 의 SHA-256)를 비교
+ *   같으면 핸들러 없이 재생 (Idempotent-Replayed: true), 다르면 IDEMPOTENCY_KEY_MISMATCH(422)
+ * - 예약만 있으면 DUPLICATE_REQUEST
+ * - 핸들러가 실패하거나 2xx 가 아니면 예약을 해제해 재시도가 다시 실행되도록 함
+ * - Redis 오류 시 키 없이 실행 (fail-open)
+ * - 메트릭: idempotency_requests_total{name, result=first|replayed|mismatch|in_flight|fail_open}
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public final static String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public final static String REPLAYED_HEADER = "Idempotent-Replayed";
+    private final static String _METRIC_NAME = "idempotency_requests";
+    private final static String _IDEMPOTENCY_PREFIX = "idempotency:";
+    private final static String _IN_FLIGHT_PREFIX = "in-flight:";
+    private final static byte[] _IN_FLIGHT_PREFIX_BYTES = _IN_FLIGHT_PREFIX.getBytes(StandardCharsets.UTF_8);
+    private final static int _MAX_KEY_LENGTH = 255;
+
+    private final RedisUserRepository redisUserRepository;
+    private final RedisValueCodec redisValueCodec;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.in-flight-ttl-ms:60000}")
+    private long inFlightTtlMs;
+
+    @Value("${app.idempotency.response-ttl:24h}")
+    private Duration responseTtl;
+
+    @Around("@annotation(idempotent)")
+    public Object idempotent(ProceedingJoinPoint pjp, Idempotent idempotent) throws Throwable {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getRequest();
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return pjp.proceed();
+        }
+        if (idempotencyKey.length() > _MAX_KEY_LENGTH) {
+            throw new CustomException(ResponseCode.BAD_REQUEST, IDEMPOTENCY_KEY_HEADER + " 는 " + _MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        String name = idempotent.name();
+        String key = idempotencyKey(request, name, idempotencyKey);
+        String requestHash = requestHash(request, pjp.getArgs());
+        String token = _IN_FLIGHT_PREFIX + UUID.randomUUID();
+        // 조회 사이에 첫 요청이 실패해 예약이 해제되면 한 번 더 예약 시도
+        for (int attempt = 0; attempt < 2; attempt++) {
+            boolean reserved;
+            byte[] stored = null;
+            try {
+                reserved = Boolean.TRUE.equals(redisUserRepository.setIfAbsent(key, token, inFlightTtlMs, TimeUnit.MILLISECONDS));
+                if (!reserved) {
+                    stored = redisUserRepository.getRawValue(key);
+                }
+            } catch (Exception e) {
+                count(name, "fail_open");
+                log.warn("Idempotency check failed. request executed without key. key: {}", key, e);
+                return pjp.proceed();
+            }
+            if (reserved) {
+                return proceed(pjp, name, key, token, requestHash);
+            }
+            if (stored != null && !isInFlight(stored)) {
+                IdempotentResponse response = redisValueCodec.decode(stored, IdempotentResponse.class);
+                if (!requestHash.equals(response.requestHash())) {
+                    count(name, "mismatch");
+                    throw new CustomException(ResponseCode.IDEMPOTENCY_KEY_MISMATCH);
+                }
+                count(name, "replayed");
+                return replay(response);
+            }
+            if (stored != null) {
+                break;
+            }
+        }
+        count(name, "in_flight");
+        throw new CustomException(ResponseCode.DUPLICATE_REQUEST, "같은 " + IDEMPOTENCY_KEY_HEADER + " 요청을 처리 중입니다.");
+    }
+
+    private Object proceed(ProceedingJoinPoint pjp, String name, String key, String token, String requestHash) throws Throwable {
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable e) {
+            release(key, token);
+            throw e;
+        }
+
+        ResponseEntity<?> response = result instanceof ResponseEntity<?> entity ? entity : ResponseEntity.ok(result);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(key, token);
+            return result;
+        }
+        try {
+            if (!redisUserRepository.setValueIfEquals(key, token, toStored(response, requestHash), responseTtl.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Idempotent response not stored. reservation expired before the handler finished. key: {}", key);
+            }
+        } catch (Exception e) {
+            // 핸들러는 이미 실행됨 - 응답은 그대로 반환, 재시도는 예약이 만료(in-flight-ttl-ms)될 때까지 DUPLICATE_REQUEST
+            log.error("Idempotent response store failed. key: {}", key, e);
+        }
+        count(name, "first");
+        return result;
+    }
+
+    // 인증된 사용자가 있으면 사용자별로 분리, 없으면 name 단위
+    private String idempotencyKey(HttpServletRequest request, String name, String idempotencyKey) {
+        Principal principal = request.getUserPrincipal();
+        String scope = principal != null ? "user:" + principal.getName() + ":" : "";
+        return _IDEMPOTENCY_PREFIX + name + ":" + scope + idempotencyKey;
+    }
+
+    /**
+     * 응답 직렬화 - 메시지 컨버터와 같은 규칙 (String 은 text/plain, byte[] 는 그대로, 나머지는 JSON)
+     */
+    private IdempotentResponse toStored(ResponseEntity<?> response, String requestHash) throws Exception {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.getHeaders().forEach((headerName, values) -> headers.put(headerName, List.copyOf(values)));
+
+        Object body = response.getBody();
+        byte[] bytes;
+        MediaType contentType;
+        if (body == null) {
+            bytes = new byte[0];
+            contentType = null;
+        } else if (body instanceof byte[] raw) {
+            bytes = raw;
+            contentType = MediaType.APPLICATION_OCTET_STREAM;
+        } else if (body instanceof String text) {
+            bytes = text.getBytes(StandardCharsets.UTF_8);
+            contentType = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+        } else {
+            bytes = objectMapper.writeValueAsBytes(body);
+            contentType = MediaType.APPLICATION_JSON;
+        }
+        if (contentType != null && response.getHeaders().getContentType() == null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(contentType.toString()));
+        }
+        return new IdempotentResponse(response.getStatusCode().value(), headers, bytes, requestHash);
+    }
+
+    /**
+     * 요청 fingerprint - method + path + query + 핸들러 인자(@RequestBody 등)를 JSON 으로 직렬화한 바이트의 SHA-256
+     * - 본문 스트림은 이미 읽혔으므로 역직렬화된 인자를 사용 (공백/필드 순서만 다른 본문은 같은 요청으로 봄)
+     */
+    private String requestHash(HttpServletRequest request, Object[] args) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + Objects.toString(request.getQueryString(), "") + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update(objectMapper.writeValueAsBytes(args));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private ResponseEntity<byte[]> replay(IdempotentResponse stored) {
+        return ResponseEntity.status(stored.status())
+                .headers(headers -> stored.headers().forEach(headers::addAll))
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.body());
+    }
+
+    private void release(String key, String token) {
+        try {
+            redisUserRepository.deleteIfEquals(key, token);
+        } catch (Exception e) {
+            log.warn("Idempotency key release failed. retries are rejected until it expires. key: {}", key, e);
+        }
+    }
+
+    private boolean isInFlight(byte[] stored) {
+        int length = _IN_FLIGHT_PREFIX_BYTES.length;
+        return stored.length >= length && Arrays.equals(stored, 0, length, _IN_FLIGHT_PREFIX_BYTES, 0, length);
+    }
+
+    private void count(String name, String result) {
+        Metrics.counter(_METRIC_NAME, "name", name, "result", result).increment();
+    }
+
+}
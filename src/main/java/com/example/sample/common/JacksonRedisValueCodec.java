@@ -0,0 +1,141 @@
+package com.example.sample.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson 기반 Redis 값 codec
+ * - JSON(텍스트) 또는 SMILE(바이너리 JSON) 으로 저장, compressionThreshold 바이트 이상이면 gzip 압축 (0 이하: 압축 안 함)
+ * - 읽기는 저장된 바이트의 헤더로 형식을 판별 (gzip 1f 8b, smile ":)\n", 그 외 JSON) - 설정 변경 전 키도 그대로 읽힘
+ * - 메트릭: redis_value_bytes{format, compressed} (저장 바이트 수 분포),
+ *   redis_value_bytes_to_json_total{result=passthrough|transcoded} (HTTP 응답용 JSON 변환 시 그대로 전달된 비율)
+ */
+public class JacksonRedisValueCodec implements RedisValueCodec {
+
+    private final static String _METRIC_NAME = "redis_value_bytes";
+
+    public enum Format {
+        JSON,
+        SMILE
+    }
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final Format format;
+    private final int compressionThreshold;
+    private final DistributionSummary plainBytes;
+    private final DistributionSummary compressedBytes;
+    private final Counter passthroughCounter = Metrics.counter(_METRIC_NAME + "_to_json", "result", "passthrough");
+    private final Counter transcodeCounter = Metrics.counter(_METRIC_NAME + "_to_json", "result", "transcoded");
+
+    public JacksonRedisValueCodec(ObjectMapper objectMapper, Format format, int compressionThreshold) {
+        this.jsonMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.format = format;
+        this.compressionThreshold = compressionThreshold;
+        this.plainBytes = summary("false");
+        this.compressedBytes = summary("true");
+    }
+
+    public Format format() {
+        return format;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            byte[] bytes = (format == Format.SMILE ? smileMapper : jsonMapper).writeValueAsBytes(value);
+            if (compressionThreshold > 0 && bytes.length >= compressionThreshold) {
+                byte[] compressed = gzip(bytes);
+                if (compressed.length < bytes.length) {
+                    compressedBytes.record(compressed.length);
+                    return compressed;
+                }
+            }
+            plainBytes.record(bytes.length);
+            return bytes;
+        } catch (JsonProcessingException e) {
+            throw new CustomException(ResponseCode.INTERNAL_SERVER_ERROR, "Redis 값 직렬화 실패: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        if (bytes == null) {
+            return null;
+        }
+        byte[] plain = isGzip(bytes) ? gunzip(bytes) : bytes;
+        try {
+            return (isSmile(plain) ? smileMapper : jsonMapper).readValue(plain, type);
+        } catch (IOException e) {
+            throw new CustomException(ResponseCode.INTERNAL_SERVER_ERROR, "Redis 값 역직렬화 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public byte[] toJson(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (!isGzip(bytes) && !isSmile(bytes)) {
+            passthroughCounter.increment();
+            return bytes;
+        }
+        transcodeCounter.increment();
+        byte[] plain = isGzip(bytes) ? gunzip(bytes) : bytes;
+        if (!isSmile(plain)) {
+            return plain;
+        }
+        try {
+            return jsonMapper.writeValueAsBytes(smileMapper.readTree(plain));
+        } catch (IOException e) {
+            throw new CustomException(ResponseCode.INTERNAL_SERVER_ERROR, "Redis 값 JSON 변환 실패: " + e.getMessage());
+        }
+    }
+
+    private static boolean isGzip(byte[] bytes) {
+        return bytes.length >= 2 && bytes[0] == (byte) 0x1f && bytes[1] == (byte) 0x8b;
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        return bytes.length >= 3 && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n';
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private DistributionSummary summary(String compressed) {
+        return DistributionSummary.builder(_METRIC_NAME)
+                .tag("format", format.name().toLowerCase())
+                .tag("compressed", compressed)
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry);
+    }
+
+}
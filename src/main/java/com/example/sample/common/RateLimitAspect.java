@@ -0,0 +1,34 @@
+package com.example.sample.common;
+
+import com.example.sample.annotation.RateLimit;
+import com.example.sample.service.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitAspect {
+
+    private final RateLimiter rateLimiter;
+
+    @Around("@annotation(rateLimit)")
+    public Object rateLimit(ProceedingJoinPoint pjp, RateLimit rateLimit) throws Throwable {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getRequest();
+
+        // server.forward-headers-strategy=native - 신뢰하는 프록시(internal-proxies)를 거친 요청은 X-Forwarded-For 의 클라이언트 IP,
+        // 그 외에는 접속 주소 (클라이언트가 직접 보낸 X-Forwarded-For 는 무시)
+        rateLimiter.acquire(rateLimit.name(), request.getRemoteAddr(), rateLimit.capacity(), rateLimit.refillPerSecond());
+        return pjp.proceed();
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.sample.common;
+
+/**
+ * Redis 값 직렬화 codec - 저장 형식(JSON/바이너리), 압축 여부를 구현체가 결정
+ * - decode 는 구현체가 쓸 수 있는 모든 형식을 읽을 수 있어야 함 (형식 변경 중 기존 키 호환)
+ */
+public interface RedisValueCodec {
+
+    byte[] encode(Object value);
+
+    <T> T decode(byte[] bytes, Class<T> type);
+
+    /**
+     * 저장된 바이트를 JSON 바이트로 변환 - 이미 압축되지 않은 JSON 이면 같은 배열을 그대로 반환 (복사/재인코딩 없음)
+     */
+    byte[] toJson(byte[] bytes);
+
+}
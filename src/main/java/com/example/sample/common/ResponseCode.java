@@ -14,6 +14,9 @@ public enum ResponseCode {
     FORBIDDEN(HttpStatus.FORBIDDEN, "접속 권한 없습니다."),
     UNAUTHORIZED(HttpStatus.UNAUTHORIZED, "인증에 실패하였습니다."),
     DUPLICATE_REQUEST(HttpStatus.BAD_REQUEST, "중복된 요청 입니다."),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED, "리소스가 변경되었습니다."),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다."),
+    IDEMPOTENCY_KEY_MISMATCH(HttpStatus.UNPROCESSABLE_ENTITY, "같은 Idempotency-Key 로 다른 요청을 보냈습니다."),
 
     /**
      * 5xx Server Error
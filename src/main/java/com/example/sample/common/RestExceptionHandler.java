@@ -6,6 +6,7 @@ import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -48,7 +49,7 @@ public class RestExceptionHandler {
 
     @ExceptionHandler({OptimisticLockException.class, OptimisticLockingFailureException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ResponseEntity<ErrorResponse> optimisticLockException(OptimisticLockException e) {
+    public ResponseEntity<ErrorResponse> optimisticLockException(Exception e) {
         log.error("CUSTOM_EXCEPTION", e);
         ResponseCode responseCode = ResponseCode.DUPLICATE_REQUEST;
         return ResponseEntity.status(responseCode.getHttpStatus()).body(new ErrorResponse(responseCode, responseCode.getMessage()));
@@ -60,4 +61,13 @@ public class RestExceptionHandler {
         return ResponseEntity.status(e.getErrorResponse().httpStatus()).body(e.getErrorResponse());
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> tooManyRequestsException(TooManyRequestsException e) {
+        // 요청 수 제한 거절은 폭주 시 대량 발생하므로 stack trace 없이 기록
+        log.warn("TOO_MANY_REQUESTS {}", e.getErrorResponse().message());
+        return ResponseEntity.status(e.getErrorResponse().httpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getErrorResponse());
+    }
+
 }
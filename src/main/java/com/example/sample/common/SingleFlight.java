@@ -0,0 +1,74 @@
+package com.example.sample.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key 에 대한 동시 호출을 하나의 실제 호출로 합친다 (single-flight)
+ * - 먼저 들어온 호출(leader)만 loader 를 실행하고, 실행 중에 들어온 호출은 같은 결과/예외를 공유
+ * - 결과를 캐시하지 않음 - 호출이 끝나면 다음 호출은 다시 loader 를 실행
+ * - 메트릭: single_flight_calls_total{name, result=leader|shared} (shared = 절약된 backend 호출 수)
+ */
+public class SingleFlight<K, V> {
+
+    private final static String _METRIC_NAME = "single_flight_calls";
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter sharedCounter;
+
+    public SingleFlight(String name) {
+        this.leaderCounter = Metrics.counter(_METRIC_NAME, Tags.of("name", name, "result", "leader"));
+        this.sharedCounter = Metrics.counter(_METRIC_NAME, Tags.of("name", name, "result", "shared"));
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            sharedCounter.increment();
+            return await(existing);
+        }
+
+        leaderCounter.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * 현재 실행 중인 key 수
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // leader 가 던진 예외를 그대로 전달 (loader 는 Supplier 이므로 unchecked 만 발생)
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.sample.common;
+
+/**
+ * 요청 수 제한 초과 (429) - 다시 시도할 수 있는 시간(초)을 Retry-After 헤더로 전달
+ */
+public class TooManyRequestsException extends CustomException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(long retryAfterSeconds) {
+        super(ResponseCode.TOO_MANY_REQUESTS, "요청이 너무 많습니다. " + retryAfterSeconds + "초 후 다시 시도해 주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.example.sample.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 읽기/쓰기 데이터소스 라우팅 - app.datasource.routing.enabled=true 일 때 자동 구성된 dataSource 를 감싼다.
+ * <p>
+ * LazyConnectionDataSourceProxy 가 실제 커넥션 획득을 첫 쿼리 시점까지 미루므로
+ * {@code @Transactional(readOnly = true)} 로 readOnly 가 지정된 커넥션은 복제본으로, 나머지는 primary 로 라우팅된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingPostProcessor implements BeanPostProcessor, EnvironmentAware, DisposableBean {
+
+    private Environment environment;
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource primary) || !"dataSource".equals(beanName) || replicaRoutingDataSource != null) {
+            return bean;
+        }
+        DataSourceRoutingProperties properties = Binder.get(environment)
+                .bindOrCreate("app.datasource.routing", DataSourceRoutingProperties.class);
+        List<HikariDataSource> replicas = IntStream.range(0, properties.replicas().size())
+                .mapToObj(i -> createReplica(i, properties.replicas().get(i), properties))
+                .toList();
+        log.info("DataSource routing enabled. replicas: {}, loadBalance: {}", replicas.size(), properties.loadBalance());
+
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, replicas, properties);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(ReplicaRoutingDataSource.writeTracking(primary));
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    @Override
+    public void destroy() {
+        if (replicaRoutingDataSource != null) {
+            replicaRoutingDataSource.close();
+        }
+    }
+
+    private HikariDataSource createReplica(int index, DataSourceRoutingProperties.Replica replica, DataSourceRoutingProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica-" + index);
+        config.setJdbcUrl(replica.url());
+        config.setUsername(replica.username());
+        config.setPassword(replica.password());
+        config.setReadOnly(true);
+        config.setMaximumPoolSize(properties.maximumPoolSize());
+        config.setInitializationFailTimeout(-1);  // 복제본 장애 시에도 기동 (lag 체크에서 제외 처리)
+        return new HikariDataSource(config);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.example.sample.config;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 데이터소스 라우팅 설정 (app.datasource.routing)
+ */
+public record DataSourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("ROUND_ROBIN") LoadBalance loadBalance,
+        @DefaultValue("2s") Duration readYourWritesWindow,
+        @DefaultValue("5s") Duration maxReplicationLag,
+        @DefaultValue("5s") Duration lagCheckInterval,
+        @DefaultValue("10") int maximumPoolSize,
+        List<Replica> replicas
+) {
+
+    public enum LoadBalance {
+        ROUND_ROBIN, LEAST_IN_FLIGHT
+    }
+
+    public record Replica(String url, String username, String password) {
+
+    }
+
+    public List<Replica> replicas() {
+        return replicas != null ? replicas : List.of();
+    }
+
+}
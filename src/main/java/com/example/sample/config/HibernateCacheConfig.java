@@ -0,0 +1,90 @@
+package com.example.sample.config;
+
+import com.example.sample.domain.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate 2차 캐시 / 쿼리 캐시 (Caffeine JCache, 인프로세스)
+ * <p>
+ * 리전을 미리 생성한 CacheManager 를 Hibernate 에 넘겨 크기/TTL 을 app.cache.* 로 제어하고,
+ * JCache 통계(cache_gets{result=hit|miss}, cache_evictions 등)를 Prometheus 로 노출한다.
+ */
+@Slf4j
+@Configuration
+public class HibernateCacheConfig {
+
+    public final static String _USER_REGION = User.class.getName();
+    public final static String _QUERY_RESULTS_REGION = "default-query-results-region";
+    public final static String _UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    public enum Expiry {
+        AFTER_WRITE,    // 적재 후 TTL 이 지나면 만료
+        AFTER_ACCESS    // 마지막 조회 후 TTL 이 지나면 만료
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.user.max-size:10000}") long userMaxSize,
+            @Value("${app.cache.user.ttl:10m}") Duration userTtl,
+            @Value("${app.cache.user.expiry:AFTER_WRITE}") Expiry userExpiry,
+            @Value("${app.cache.query.max-size:1000}") long queryMaxSize,
+            @Value("${app.cache.query.ttl:1m}") Duration queryTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        monitor(getOrCreate(cacheManager, _USER_REGION, configuration(userMaxSize, userTtl, userExpiry)));
+        monitor(getOrCreate(cacheManager, _QUERY_RESULTS_REGION, configuration(queryMaxSize, queryTtl, Expiry.AFTER_WRITE)));
+        // timestamps 리전은 만료/축출되면 stale 쿼리 결과가 반환될 수 있으므로 제한 없이 둔다
+        getOrCreate(cacheManager, _UPDATE_TIMESTAMPS_REGION, configuration(null, null, null));
+        log.info("Hibernate L2 cache. user maxSize: {}, ttl: {}, expiry: {}, query maxSize: {}, ttl: {}",
+                userMaxSize, userTtl, userExpiry, queryMaxSize, queryTtl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> configuration(Long maxSize, Duration ttl, Expiry expiry) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);  // Hibernate 캐시 엔트리는 불변 - 직렬화 복사 불필요
+        configuration.setStatisticsEnabled(true);
+        if (maxSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            switch (expiry) {
+                case AFTER_WRITE -> configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+                case AFTER_ACCESS -> configuration.setExpireAfterAccess(OptionalLong.of(ttl.toNanos()));
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * 기본 CacheManager 는 프로세스 내에서 공유되므로 (테스트 컨텍스트 다중 기동 등) 이미 있으면 재사용
+     */
+    private Cache<Object, Object> getOrCreate(CacheManager cacheManager, String name, CaffeineConfiguration<Object, Object> configuration) {
+        Cache<Object, Object> cache = cacheManager.getCache(name);
+        return cache != null ? cache : cacheManager.createCache(name, configuration);
+    }
+
+    private void monitor(Cache<Object, Object> cache) {
+        JCacheMetrics.monitor(Metrics.globalRegistry, cache, Tags.of("region", cache.getName()));
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.example.sample.config;
+
+import com.example.sample.dto.HotKey;
+import com.example.sample.repository.HotKeyDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 현재 핫 키 목록 (GET /actuator/hotkeys) - 점수 높은 순
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@ConditionalOnProperty(prefix = "app.redis.hot-keys", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class HotKeyEndpoint {
+
+    private final HotKeyDetector hotKeyDetector;
+
+    @ReadOperation
+    public List<HotKey> hotKeys() {
+        return hotKeyDetector.hotKeys();
+    }
+
+}
@@ -3,7 +3,6 @@ package com.example.sample.config;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
@@ -25,11 +24,10 @@ public class MDCLoggingFilter implements Filter {
         log.trace("Request IP address is {}", servletRequest.getRemoteAddr());
         log.trace("Request content type is {}", servletRequest.getContentType());
         HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(httpServletResponse);
-        filterChain.doFilter(servletRequest, responseWrapper);
-        responseWrapper.setHeader("x-api-id", uniqueId.toString());
-        responseWrapper.copyBodyToResponse();
-        log.trace("Response header is set with uuid {}", responseWrapper.getHeader("x-api-id"));
+        // 응답 본문을 버퍼링하지 않도록 헤더를 먼저 설정 (스트리밍 응답 지원)
+        httpServletResponse.setHeader("x-api-id", uniqueId.toString());
+        log.trace("Response header is set with uuid {}", httpServletResponse.getHeader("x-api-id"));
+        filterChain.doFilter(servletRequest, httpServletResponse);
     }
 
 }
@@ -0,0 +1,77 @@
+package com.example.sample.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * read-your-writes 를 요청 스레드에서 클라이언트 범위로 확장
+ * - 쓰기 커넥션을 쓴 요청의 응답에 쓰기 시각(X-Last-Write-At 헤더 + last-write-at cookie)을 내려줌
+ * - 이후 요청이 헤더나 cookie 로 다시 보내면 read-your-writes-window 동안 primary 에서 읽음 (다른 노드로 가도 동일)
+ * - 한계: 헤더/cookie 를 보내지 않는 클라이언트는 같은 요청 스레드 안에서만 보장, 노드 간 시계 차이만큼 창이 늘거나 줄어듦,
+ *   응답이 이미 커밋된 뒤(스트리밍 중)의 쓰기 시각은 전달되지 않음
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public final static String LAST_WRITE_HEADER = "X-Last-Write-At";
+    public final static String LAST_WRITE_COOKIE = "last-write-at";
+
+    @Value("${app.datasource.routing.read-your-writes-window:2s}")
+    private Duration readYourWritesWindow;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        AtomicBoolean issued = new AtomicBoolean();
+        ReplicaRoutingDataSource.bindWriteScope(lastWriteAt(request), writeAt -> {
+            if (!response.isCommitted() && issued.compareAndSet(false, true)) {
+                response.setHeader(LAST_WRITE_HEADER, String.valueOf(writeAt));
+                Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(writeAt));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(readYourWritesWindow.toSeconds() + 1, 1));
+                response.addCookie(cookie);
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearWriteScope();
+        }
+    }
+
+    /**
+     * 클라이언트가 보낸 마지막 쓰기 시각 (없거나 잘못된 값이면 0, 미래 시각은 현재 시각으로 제한)
+     */
+    private long lastWriteAt(HttpServletRequest request) {
+        String value = request.getHeader(LAST_WRITE_HEADER);
+        if (value == null && request.getCookies() != null) {
+            value = Arrays.stream(request.getCookies())
+                    .filter(cookie -> LAST_WRITE_COOKIE.equals(cookie.getName()))
+                    .map(Cookie::getValue)
+                    .findFirst()
+                    .orElse(null);
+        }
+        if (value == null) {
+            return 0L;
+        }
+        try {
+            return Math.min(Long.parseLong(value), System.currentTimeMillis());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+}
@@ -1,11 +1,17 @@
 package com.example.sample.config;
 
+import com.example.sample.common.JacksonRedisValueCodec;
+import com.example.sample.common.RedisValueCodec;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -31,4 +37,30 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * 사용자 값 codec - app.redis.codec.format(JSON|SMILE), compression-threshold 바이트 이상이면 gzip
+     */
+    @Bean
+    public RedisValueCodec redisValueCodec(ObjectMapper objectMapper,
+                                           @Value("${app.redis.codec.format:JSON}") JacksonRedisValueCodec.Format format,
+                                           @Value("${app.redis.codec.compression-threshold:1024}") int compressionThreshold) {
+        return new JacksonRedisValueCodec(objectMapper, format, compressionThreshold);
+    }
+
+    /**
+     * 파이프라인 명령을 버퍼에 모았다가 closePipeline 시점에 한 번에 flush (기본값은 명령마다 flush)
+     */
+    @Bean
+    public static BeanPostProcessor lettucePipeliningFlushPolicy() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LettuceConnectionFactory connectionFactory) {
+                    connectionFactory.setPipeliningFlushPolicy(LettuceConnection.PipeliningFlushPolicy.flushOnClose());
+                }
+                return bean;
+            }
+        };
+    }
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package com.example.sample.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * 읽기 전용 커넥션을 복제본(replica)으로 분산하는 데이터소스
+ * - ROUND_ROBIN / LEAST_IN_FLIGHT 분산, 정상 복제본이 없으면 primary 로 fallback
+ * - 복제 지연이 maxReplicationLag 를 넘는 복제본은 제외
+ * - 현재 쓰기 범위(WriteScope)에서 최근(readYourWritesWindow) 쓰기가 있었다면 primary 에서 읽음 (read-your-writes)
+ *   기본 범위는 스레드, 웹 요청은 ReadYourWritesFilter 가 클라이언트가 보낸 마지막 쓰기 시각으로 범위를 바인딩
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final static String _METRIC_NAME = "datasource_routing";
+    private final static ThreadLocal<WriteScope> _WRITE_SCOPE = ThreadLocal.withInitial(WriteScope::new);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final DataSourceRoutingProperties properties;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final ScheduledExecutorService lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaDataSources, DataSourceRoutingProperties properties) {
+        this.primary = primary;
+        this.properties = properties;
+        this.replicas = replicaDataSources.stream().map(Replica::new).toList();
+        this.lagMonitor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("replica-lag-monitor").factory());
+        long interval = properties.lagCheckInterval().toMillis();
+        this.lagMonitor.scheduleWithFixedDelay(this::checkReplicationLag, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 쓰기 커넥션 획득 시점 기록용 primary 래퍼
+     */
+    public static DataSource writeTracking(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                markWrite();
+                return super.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                markWrite();
+                return super.getConnection(username, password);
+            }
+        };
+    }
+
+    /**
+     * 현재 스레드의 쓰기 범위를 lastWriteAt(epoch millis, 0 이면 없음) 으로 시작 - 쓰기가 생기면 onWrite 로 쓰기 시각 전달
+     */
+    public static void bindWriteScope(long lastWriteAt, LongConsumer onWrite) {
+        _WRITE_SCOPE.set(new WriteScope(lastWriteAt, onWrite));
+    }
+
+    /**
+     * 현재 스레드의 쓰기 범위 해제 (스레드 기본 범위로 복귀)
+     */
+    public static void clearWriteScope() {
+        _WRITE_SCOPE.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (hasRecentWrite()) {
+            return fromPrimary("read_your_writes", opener);
+        }
+        Replica replica = choose();
+        if (replica == null) {
+            return fromPrimary("no_healthy_replica", opener);
+        }
+        try {
+            return replica.getConnection(opener);
+        } catch (SQLFeatureNotSupportedException e) {
+            return fromPrimary("replica_unsupported", opener);  // 예) Hikari 는 별도 계정 커넥션 미지원 - 복제본 장애는 아님
+        } catch (SQLException e) {
+            log.warn("Replica connection failed, fallback to primary. replica: {}", replica.name, e);
+            replica.healthy = false;
+            return fromPrimary("replica_error", opener);
+        }
+    }
+
+    private static void markWrite() {
+        WriteScope scope = _WRITE_SCOPE.get();
+        long now = System.currentTimeMillis();
+        scope.lastWriteAt = now;
+        scope.onWrite.accept(now);
+    }
+
+    private boolean hasRecentWrite() {
+        long lastWriteAt = _WRITE_SCOPE.get().lastWriteAt;
+        return lastWriteAt > 0 && System.currentTimeMillis() - lastWriteAt < properties.readYourWritesWindow().toMillis();
+    }
+
+    private Replica choose() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        return switch (properties.loadBalance()) {
+            case ROUND_ROBIN -> healthy.get(Math.floorMod(roundRobin.getAndIncrement(), healthy.size()));
+            case LEAST_IN_FLIGHT -> healthy.stream().min(Comparator.comparingInt(replica -> replica.inFlight.get())).orElseThrow();
+        };
+    }
+
+    private Connection fromPrimary(String reason, ConnectionOpener opener) throws SQLException {
+        Metrics.counter(_METRIC_NAME, Tags.of("target", "primary", "reason", reason)).increment();
+        return opener.open(primary);
+    }
+
+    /**
+     * 복제본별 Seconds_Behind_Source 확인 - 조회 실패 또는 지연 초과 시 라우팅 대상에서 제외
+     */
+    void checkReplicationLag() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                long lagSeconds = 0L;
+                if (rs.next()) {
+                    Object lag = rs.getObject("Seconds_Behind_Source");
+                    lagSeconds = lag != null ? ((Number) lag).longValue() : Long.MAX_VALUE;  // null: 복제 중단
+                }
+                healthy = Duration.ofSeconds(lagSeconds).compareTo(properties.maxReplicationLag()) <= 0;
+                replica.lagSeconds = lagSeconds;
+            } catch (Exception e) {
+                log.warn("Replica lag check failed. replica: {}", replica.name, e);
+                healthy = false;
+            }
+            if (replica.healthy != healthy) {
+                log.info("Replica health changed. replica: {}, healthy: {}, lag: {}s", replica.name, healthy, replica.lagSeconds);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean healthy;
+        private volatile long lagSeconds;
+
+        private Replica(HikariDataSource dataSource) {
+            this.name = dataSource.getPoolName();
+            this.dataSource = dataSource;
+            Metrics.gauge(_METRIC_NAME + "_replica_in_flight", Tags.of("replica", name), inFlight);
+            Metrics.gauge(_METRIC_NAME + "_replica_healthy", Tags.of("replica", name), this, replica -> replica.healthy ? 1 : 0);
+            Metrics.gauge(_METRIC_NAME + "_replica_lag_seconds", Tags.of("replica", name), this, replica -> replica.lagSeconds);
+        }
+
+        /**
+         * close 시 in-flight 카운트를 감소시키는 커넥션 프록시 반환
+         */
+        private Connection getConnection(ConnectionOpener opener) throws SQLException {
+            Connection connection = opener.open(dataSource);
+            inFlight.incrementAndGet();
+            Metrics.counter(_METRIC_NAME, Tags.of("target", name, "reason", "read_only")).increment();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                            inFlight.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+
+    }
+
+    /**
+     * 최근 쓰기 시각 공유 범위 (epoch millis - 노드가 달라도 비교할 수 있도록 wall clock 사용)
+     */
+    private static final class WriteScope {
+
+        private final LongConsumer onWrite;
+        private volatile long lastWriteAt;
+
+        private WriteScope() {
+            this(0L, writeAt -> {
+            });
+        }
+
+        private WriteScope(long lastWriteAt, LongConsumer onWrite) {
+            this.lastWriteAt = lastWriteAt;
+            this.onWrite = onWrite;
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+
+        Connection open(DataSource dataSource) throws SQLException;
+
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.example.sample.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 활성화 (기본 켜짐)
+ * - app.scheduling.enabled=false 면 주기 작업(outbox relay, trending 합산, 핫 키 감쇠 등)을 실행하지 않음
+ *   (주기 작업을 테스트에서 직접 호출해 타이밍을 제어할 때 사용)
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.scheduling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+
+}
@@ -1,5 +1,6 @@
 package com.example.sample.controller;
 
+import com.example.sample.annotation.Idempotent;
 import com.example.sample.domain.ProductDoc;
 import com.example.sample.service.ElasticsearchService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,8 +41,9 @@ public class ElasticsearchController {
         return ResponseEntity.ok(elasticsearchService.searchByName(name));
     }
 
-    @Operation(summary = "상품 생성", description = "상품을 생성합니다.")
+    @Operation(summary = "상품 생성", description = "상품을 생성합니다. (Idempotency-Key 헤더를 보내면 재시도 시 저장된 응답을 재생)")
     @PostMapping
+    @Idempotent(name = "elasticsearch-create-product")
     public ResponseEntity<String> createProduct(@RequestBody ProductDoc doc) {
         return ResponseEntity.ok(elasticsearchService.saveProduct(doc));
     }
@@ -1,27 +1,44 @@
 package com.example.sample.controller;
 
+import com.example.sample.annotation.RateLimit;
+import com.example.sample.dto.ActiveUserCount;
+import com.example.sample.service.ActiveUserService;
 import com.example.sample.service.KafkaProducerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-@Tag(name = "메시지 publish API(kafka)", description = "메시지 kafka publish")
+import java.time.LocalDate;
+
+@Tag(name = "메시지 publish API(kafka)", description = "메시지 kafka publish / 소비한 이벤트 기반 활성 사용자 집계")
 @RestController
 @RequestMapping("/api/v1/kafka")
 @RequiredArgsConstructor
 public class KafkaController {
 
     private final KafkaProducerService producerService;
+    private final ActiveUserService activeUserService;
 
     @Operation(summary = "메시지 publish", description = "메시지를 publish 합니다.")
     @PostMapping("/publish")
+    @RateLimit(name = "kafka-publish", capacity = 20, refillPerSecond = 10)
     public String publish(@RequestParam Long userId, @RequestParam String action) {
         producerService.sendMessage(userId, action);
         return "Message published";
     }
 
+    @Operation(summary = "활성 사용자 수 조회", description = "기간(from ~ to, 양끝 포함) 동안 이벤트를 보낸 고유 사용자 수를 일별 Bitmap 합집합으로 조회합니다. (DAU: from = to, MAU: 한 달)")
+    @GetMapping("/active-users")
+    public ActiveUserCount getActiveUsers(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return activeUserService.countActive(from, to);
+    }
+
 }
@@ -1,13 +1,25 @@
 package com.example.sample.controller;
 
+import com.example.sample.annotation.Idempotent;
+import com.example.sample.common.CustomException;
+import com.example.sample.common.ResponseCode;
 import com.example.sample.domain.User;
+import com.example.sample.dto.BulkUserResult;
+import com.example.sample.dto.UserPageResponse;
 import com.example.sample.dto.UserRequestDto;
+import com.example.sample.dto.UserResponseDto;
+import com.example.sample.dto.UserUpsertResult;
 import com.example.sample.service.MysqlService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +27,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
 
 @io.swagger.v3.oas.annotations.tags.Tag(name = "사용자 관리 API(MySQL)", description = "사용자 관리 MySQL CRUD")
@@ -28,11 +47,12 @@ import java.util.List;
 public class MysqlController {
 
     private final MysqlService mysqlService;
+    private final ObjectMapper objectMapper;
     private final static String _METRIC_NAME = "api_v1_mysql_controller";
 
     @Operation(summary = "사용자 목록 조회", description = "사용자 목록을 조회합니다.")
     @GetMapping
-    public ResponseEntity<List<User>> findAllUser() {
+    public ResponseEntity<List<UserResponseDto>> findAllUser() {
         // add metric
         List<Tag> tags = List.of(Tag.of("method_name", "list"));
         Metrics.counter(_METRIC_NAME, tags).increment();
@@ -40,18 +60,54 @@ public class MysqlController {
         return ResponseEntity.ok(mysqlService.findAll());
     }
 
-    @Operation(summary = "사용자 상세 조회", description = "사용자 상세를 조회합니다.")
+    @Operation(summary = "사용자 목록 페이지 조회", description = "커서(keyset) 기반으로 사용자 목록을 조회합니다.")
+    @GetMapping("/page")
+    public ResponseEntity<UserPageResponse> findUserPage(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "100") int size) {
+        // add metric
+        List<Tag> tags = List.of(Tag.of("method_name", "page"));
+        Metrics.counter(_METRIC_NAME, tags).increment();
+
+        return ResponseEntity.ok(mysqlService.findPage(cursor, size));
+    }
+
+    @Operation(summary = "사용자 목록 스트리밍 조회", description = "사용자 목록을 NDJSON 으로 스트리밍합니다.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        // add metric
+        List<Tag> tags = List.of(Tag.of("method_name", "stream"));
+        Metrics.counter(_METRIC_NAME, tags).increment();
+
+        StreamingResponseBody body = outputStream -> mysqlService.streamAll(user -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(user));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "사용자 상세 조회", description = "사용자 상세를 조회합니다. ETag 와 If-None-Match 가 일치하면 304 를 반환합니다.")
     @GetMapping("/{id}")
-    public ResponseEntity<User> findByUserId(@PathVariable Long id) {
+    public ResponseEntity<UserResponseDto> findByUserId(@PathVariable Long id,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         // add metric
         List<Tag> tags = List.of(Tag.of("method_name", "detail"), Tag.of("id", String.valueOf(id)));
         Metrics.counter(_METRIC_NAME, tags).increment();
 
-        return ResponseEntity.ok(mysqlService.findOne(id));
+        UserResponseDto user = mysqlService.findOne(id);
+        String eTag = toETag(user.version());
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(user);
     }
 
-    @Operation(summary = "사용자 생성", description = "사용자를 생성합니다.")
+    @Operation(summary = "사용자 생성", description = "사용자를 생성합니다. (Idempotency-Key 헤더를 보내면 재시도 시 저장된 응답을 재생)")
     @PostMapping
+    @Idempotent(name = "mysql-create-user")
     public ResponseEntity<Long> createUser(@RequestBody UserRequestDto dto) {
         // add metric
         List<Tag> tags = List.of(Tag.of("method_name", "create"));
@@ -60,14 +116,60 @@ public class MysqlController {
         return ResponseEntity.ok(mysqlService.save(dto));
     }
 
-    @Operation(summary = "사용자 수정", description = "사용자를 수정합니다.")
+    @Operation(summary = "사용자 일괄 생성", description = "사용자를 일괄 생성합니다. (JSON 배열)")
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkUserResult>> createUsers(@RequestBody List<UserRequestDto> dtos) {
+        // add metric
+        List<Tag> tags = List.of(Tag.of("method_name", "bulk_create"));
+        Metrics.counter(_METRIC_NAME, tags).increment();
+
+        return ResponseEntity.ok(mysqlService.saveAll(dtos));
+    }
+
+    @Operation(summary = "사용자 일괄 생성 (NDJSON)", description = "NDJSON 스트림(한 줄에 사용자 1건)을 청크 단위로 읽으며 사용자를 일괄 생성합니다.")
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkUserResult>> createUsersFromNdjson(InputStream inputStream) throws IOException {
+        // add metric
+        List<Tag> tags = List.of(Tag.of("method_name", "bulk_create"));
+        Metrics.counter(_METRIC_NAME, tags).increment();
+
+        try (MappingIterator<UserRequestDto> iterator = objectMapper.readerFor(UserRequestDto.class).readValues(inputStream)) {
+            return ResponseEntity.ok(mysqlService.saveAll(iterator));
+        }
+    }
+
+    @Operation(summary = "사용자 일괄 upsert", description = "이메일 기준으로 사용자를 일괄 upsert 합니다. (JSON 배열)")
+    @PostMapping(value = "/upsert", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserUpsertResult> upsertUsers(@RequestBody List<UserRequestDto> dtos) {
+        // add metric
+        List<Tag> tags = List.of(Tag.of("method_name", "upsert"));
+        Metrics.counter(_METRIC_NAME, tags).increment();
+
+        return ResponseEntity.ok(mysqlService.upsert(dtos.iterator()));
+    }
+
+    @Operation(summary = "사용자 일괄 upsert (NDJSON)", description = "NDJSON 스트림을 청크 단위로 읽으며 이메일 기준으로 사용자를 일괄 upsert 합니다.")
+    @PostMapping(value = "/upsert", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<UserUpsertResult> upsertUsersFromNdjson(InputStream inputStream) throws IOException {
+        // add metric
+        List<Tag> tags = List.of(Tag.of("method_name", "upsert"));
+        Metrics.counter(_METRIC_NAME, tags).increment();
+
+        try (MappingIterator<UserRequestDto> iterator = objectMapper.readerFor(UserRequestDto.class).readValues(inputStream)) {
+            return ResponseEntity.ok(mysqlService.upsert(iterator));
+        }
+    }
+
+    @Operation(summary = "사용자 수정", description = "사용자를 수정합니다. If-Match 가 있으면 ETag(버전)가 일치할 때만 수정하고, 다르면 412 를 반환합니다. 응답에는 항상 새 ETag 가 포함됩니다.")
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody UserRequestDto dto) {
+    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody UserRequestDto dto,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // add metric
         List<Tag> tags = List.of(Tag.of("method_name", "update"), Tag.of("id", String.valueOf(id)));
         Metrics.counter(_METRIC_NAME, tags).increment();
 
-        return ResponseEntity.ok(mysqlService.update(id, dto));
+        User user = mysqlService.update(id, dto, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(toETag(user.getVersion())).body(user);
     }
 
     @Operation(summary = "사용자 삭제", description = "사용자를 삭제합니다.")
@@ -81,4 +183,43 @@ public class MysqlController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * 강한 ETag - 버전이 바뀌면 표현(representation)도 바뀐다
+     */
+    private String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * If-None-Match 비교 (약한 비교: W/ 접두어 무시, * 는 항상 일치)
+     */
+    private boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> "*".equals(tag) || eTag.equals(tag));
+    }
+
+    /**
+     * If-Match 의 강한 ETag 를 기대 버전으로 변환 (없거나 * 이면 null - 버전 조건 없이 수정)
+     */
+    private Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // 아래에서 412 처리
+            }
+        }
+        // 약한 ETag, 목록, 형식이 다른 값은 현재 ETag 와 강한 비교로 일치할 수 없음
+        throw new CustomException(ResponseCode.PRECONDITION_FAILED, "If-Match 가 현재 ETag 와 일치하지 않습니다. ifMatch=" + ifMatch);
+    }
+
 }
@@ -1,11 +1,18 @@
 package com.example.sample.controller;
 
+import com.example.sample.annotation.RateLimit;
+import com.example.sample.dto.RedisKeyPage;
 import com.example.sample.dto.RedisUserDto;
+import com.example.sample.dto.TrendingItem;
+import com.example.sample.dto.UniqueViewRequest;
+import com.example.sample.dto.ViewCountMigrationResult;
 import com.example.sample.service.RedisService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,8 +22,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Tag(name = "사용자 관리 API(redis)", description = "사용자 관리 redis CRUD")
@@ -27,15 +38,16 @@ import java.util.Set;
 public class RedisController {
 
     private final RedisService redisService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "사용자 상세 조회", description = "사용자 상세를 조회합니다.")
-    @GetMapping("/users/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable String userId) {
-        Object user = redisService.getUserById(userId);
+    @Operation(summary = "사용자 상세 조회", description = "사용자 상세를 조회합니다. 저장된 JSON 바이트를 변환 없이 그대로 응답합니다.")
+    @GetMapping(value = "/users/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getUser(@PathVariable String userId) {
+        byte[] user = redisService.getUserJson(userId);
         if (user == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(user);
     }
 
     @Operation(summary = "사용자 생성", description = "사용자를 생성합니다.")
@@ -45,6 +57,20 @@ public class RedisController {
         return ResponseEntity.ok(createdUser);
     }
 
+    @Operation(summary = "사용자 일괄 조회", description = "여러 사용자를 MGET 1회로 조회합니다. 존재하는 사용자만 userId 별로 반환합니다.")
+    @GetMapping("/users")
+    public ResponseEntity<Map<String, RedisUserDto>> getUsers(@RequestParam List<String> ids) {
+        Map<String, RedisUserDto> users = redisService.getUsersByIds(ids);
+        return ResponseEntity.ok(users);
+    }
+
+    @Operation(summary = "사용자 일괄 생성", description = "여러 사용자를 파이프라인(SET EX) 1회로 생성합니다.")
+    @PostMapping("/users/batch")
+    public ResponseEntity<List<RedisUserDto>> createUsers(@RequestBody List<RedisUserDto> userDtos) {
+        List<RedisUserDto> createdUsers = redisService.createUsers(userDtos);
+        return ResponseEntity.ok(createdUsers);
+    }
+
     @Operation(summary = "사용자 삭제", description = "사용자를 삭제합니다.")
     @DeleteMapping("/users/{userId}")
     public ResponseEntity<String> deleteUser(@PathVariable String userId) {
@@ -97,19 +123,76 @@ public class RedisController {
 
     @Operation(summary = "상품 조회수 증가", description = "상품 조회수를 증가합니다.")
     @PostMapping("/items/{itemId}/view")
+    @RateLimit(name = "item-view", capacity = 100, refillPerSecond = 50)
     public ResponseEntity<Long> incrementViewCount(@PathVariable String itemId) {
         Long count = redisService.incrementViewCount(itemId);
         return ResponseEntity.ok(count);
     }
 
+    @Operation(summary = "상품 조회수 Hash 이동", description = "상품별 조회수 키(views:{itemId})를 Hash 버킷(views-hash:{itemId / bucket-size}, 기본 128)으로 이동하고 이동 전후 Redis 메모리 사용량을 반환합니다. (app.redis.view-count.storage=HASH 일 때)")
+    @PostMapping("/items/views/migrate")
+    public ResponseEntity<ViewCountMigrationResult> migrateViewCounts() {
+        return ResponseEntity.ok(redisService.migrateViewCountsToHash());
+    }
+
+    @Operation(summary = "인기 상품 조회", description = "최근 조회수를 시간 감쇠 가중치로 합산한 인기 상품 상위 limit 개(최대 100)를 조회합니다.")
+    @GetMapping("/items/trending")
+    public ResponseEntity<List<TrendingItem>> getTrendingItems(@RequestParam(defaultValue = "10") int limit) {
+        List<TrendingItem> trendingItems = redisService.getTrendingItems(limit);
+        return ResponseEntity.ok(trendingItems);
+    }
+
+    @Operation(summary = "상품 고유 조회자 기록", description = "상품 고유 조회자를 HyperLogLog(일 단위)에 기록합니다.")
+    @PostMapping("/items/{itemId}/unique-view")
+    public ResponseEntity<String> recordUniqueView(
+            @PathVariable String itemId,
+            @RequestParam String userId) {
+        redisService.recordUniqueView(itemId, userId);
+        return ResponseEntity.ok("고유 조회자가 기록되었습니다");
+    }
+
+    @Operation(summary = "상품 고유 조회자 일괄 기록", description = "여러 조회를 상품별로 묶어 파이프라인 1회로 기록합니다.")
+    @PostMapping("/items/unique-views")
+    public ResponseEntity<Integer> recordUniqueViews(@RequestBody List<UniqueViewRequest> views) {
+        int recorded = redisService.recordUniqueViews(views);
+        return ResponseEntity.ok(recorded);
+    }
+
+    @Operation(summary = "상품 고유 조회자 수 조회", description = "최근 days 일(오늘 포함) 고유 조회자 수(근사치, 오차 약 0.81%)를 조회합니다.")
+    @GetMapping("/items/{itemId}/unique-views")
+    public ResponseEntity<Long> getUniqueViewCount(
+            @PathVariable String itemId,
+            @RequestParam(defaultValue = "1") int days) {
+        Long count = redisService.getUniqueViewCount(itemId, days);
+        return ResponseEntity.ok(count);
+    }
+
     // ========== 관리자 API ==========
 
-    @Operation(summary = "redis 전체 키 목록 조회", description = "redis 전체 키 목록을 조회합니다.")
+    @Operation(summary = "redis 키 목록 조회 (SCAN)", description = "SCAN 으로 키 목록을 한 페이지 조회합니다. 응답의 cursor 로 다음 페이지를 조회하며, finished 이면 순회가 끝난 것입니다.")
     @GetMapping("/keys")
-    public ResponseEntity<Set<String>> searchKeys(@RequestParam(required = false) String pattern) {
+    public ResponseEntity<RedisKeyPage> searchKeys(@RequestParam(required = false) String pattern,
+                                                   @RequestParam(defaultValue = "0") String cursor,
+                                                   @RequestParam(defaultValue = "100") int count) {
+        String searchPattern = pattern != null ? pattern : "*";
+        RedisKeyPage page = redisService.searchKeys(searchPattern, cursor, count);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "redis 키 목록 스트리밍 조회 (SCAN)", description = "SCAN 으로 전체 키를 순회하며 NDJSON(한 줄에 키 1건)으로 스트리밍합니다.")
+    @GetMapping(value = "/keys/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamKeys(@RequestParam(required = false) String pattern,
+                                                            @RequestParam(defaultValue = "1000") int count) {
         String searchPattern = pattern != null ? pattern : "*";
-        Set<String> keys = redisService.searchKeys(searchPattern);
-        return ResponseEntity.ok(keys);
+        StreamingResponseBody body = outputStream -> redisService.streamKeys(searchPattern, count, key -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(key));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
 }
\ No newline at end of file
@@ -17,7 +17,7 @@ import java.time.Instant;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ProductDoc {
 
     @Id
@@ -47,6 +47,13 @@ public class ProductDoc {
         this.updatedAt = Instant.now();
     }
 
+    /**
+     * 필드 복사본 - 여러 호출자가 같은 조회 결과를 공유할 때 각자 수정해도 서로 영향이 없도록 사용
+     */
+    public ProductDoc copy() {
+        return toBuilder().build();
+    }
+
     public void setCreatedAt() {
         this.createdAt = Instant.now();
         this.updatedAt = Instant.now();
@@ -1,27 +1,49 @@
 package com.example.sample.domain;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
+/**
+ * 2차 캐시 대상 (READ_WRITE - 수정/삭제 커밋 시 캐시 엔트리 갱신/제거)
+ */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
 public class User {
 
+    /**
+     * id 시퀀스 1회 증가량 - hibernate.jdbc.batch_size(500) 와 맞춰 배치 1회당 시퀀스 조회 1회
+     * - users_seq 값 N 은 N 이하 id 가 이미 할당되었음을 뜻하므로, 기존 테이블은 MAX(id) + ID_ALLOCATION_SIZE 로 시작해야 함
+     *   (infra/mysql/migration/users_seq.sql)
+     */
+    public static final int ID_ALLOCATION_SIZE = 500;
+
+    /**
+     * pooled 시퀀스(MySQL 은 users_seq 테이블로 에뮬레이션) - IDENTITY 와 달리 insert 전에 id 를 할당하므로 JDBC 배치 가능
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -30,6 +52,18 @@ public class User {
     @Column(nullable = false, unique = true)
     private String email;
 
+    /**
+     * 낙관적 락 버전 (ETag 로 노출) - JDBC 로 수정하는 경로에서도 1 씩 증가시킨다
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    public User(Long id, String name, String email) {
+        this(id, name, email, null);
+    }
+
     public void update(String name, String email) {
         this.name = name;
         this.email = email;
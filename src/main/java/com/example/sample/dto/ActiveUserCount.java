@@ -0,0 +1,17 @@
+package com.example.sample.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * 기간(from ~ to, 양끝 포함) 동안 이벤트가 1건 이상 있었던 고유 사용자 수
+ */
+@Builder
+public record ActiveUserCount(
+        LocalDate from,
+        LocalDate to,
+        long count
+) {
+
+}
@@ -0,0 +1,29 @@
+package com.example.sample.dto;
+
+import lombok.Builder;
+
+@Builder
+public record BulkUserResult(
+        int index,
+        Long id,
+        Status status,
+        String message
+) {
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID
+    }
+
+    public static BulkUserResult created(int index, Long id) {
+        return new BulkUserResult(index, id, Status.CREATED, null);
+    }
+
+    public static BulkUserResult duplicate(int index, String email) {
+        return new BulkUserResult(index, null, Status.DUPLICATE, "이미 존재하는 이메일입니다. email=" + email);
+    }
+
+    public static BulkUserResult invalid(int index) {
+        return new BulkUserResult(index, null, Status.INVALID, "name, email 은 필수입니다.");
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.example.sample.dto;
+
+import lombok.Builder;
+
+/**
+ * 핫 키 - score 는 감쇠가 적용된 샘플 빈도 추정치, requestsPerSecond 는 이를 초당 조회수로 환산한 근사치
+ */
+@Builder
+public record HotKey(
+        String key,
+        long score,
+        long requestsPerSecond
+) {
+
+}
@@ -0,0 +1,11 @@
+package com.example.sample.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Idempotency-Key 로 저장한 응답 - 상태 코드, 헤더(Content-Type 포함), 직렬화된 본문, 요청 fingerprint(SHA-256)
+ */
+public record IdempotentResponse(int status, Map<String, List<String>> headers, byte[] body, String requestHash) {
+
+}
@@ -0,0 +1,8 @@
+package com.example.sample.dto;
+
+/**
+ * token bucket 토큰 획득 결과 - granted 는 받은 토큰 수 (0 이면 거절), retryAfterMillis 는 거절 시 다음 토큰까지 남은 시간
+ */
+public record RateLimitGrant(long granted, long retryAfterMillis) {
+
+}
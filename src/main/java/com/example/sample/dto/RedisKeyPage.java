@@ -0,0 +1,17 @@
+package com.example.sample.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * SCAN 1회 결과 - cursor 를 다음 요청에 그대로 전달, finished 이면 전체 키 공간 순회 완료
+ */
+@Builder
+public record RedisKeyPage(
+        List<String> keys,
+        String cursor,
+        boolean finished
+) {
+
+}
@@ -0,0 +1,14 @@
+package com.example.sample.dto;
+
+import lombok.Builder;
+
+/**
+ * 인기 상품 - score 는 최근 조회수를 시간 감쇠 가중치로 합산한 값
+ */
+@Builder
+public record TrendingItem(
+        String itemId,
+        double score
+) {
+
+}
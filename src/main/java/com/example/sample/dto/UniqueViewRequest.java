@@ -0,0 +1,11 @@
+package com.example.sample.dto;
+
+import lombok.Builder;
+
+@Builder
+public record UniqueViewRequest(
+        String itemId,
+        String userId
+) {
+
+}
@@ -0,0 +1,14 @@
+package com.example.sample.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record UserPageResponse(
+        List<UserResponseDto> content,
+        String nextCursor,
+        boolean hasNext
+) {
+
+}
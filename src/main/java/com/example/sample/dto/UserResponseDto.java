@@ -0,0 +1,21 @@
+package com.example.sample.dto;
+
+import com.example.sample.domain.User;
+import lombok.Builder;
+
+/**
+ * 사용자 조회 응답 (불변 projection - 엔티티 hydration / dirty checking 없이 조회)
+ */
+@Builder
+public record UserResponseDto(
+        Long id,
+        String name,
+        String email,
+        Long version
+) {
+
+    public static UserResponseDto from(User user) {
+        return new UserResponseDto(user.getId(), user.getName(), user.getEmail(), user.getVersion());
+    }
+
+}
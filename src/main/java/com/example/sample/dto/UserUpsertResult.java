@@ -0,0 +1,23 @@
+package com.example.sample.dto;
+
+import lombok.Builder;
+
+@Builder
+public record UserUpsertResult(
+        long inserted,
+        long updated,
+        long unchanged,
+        long skipped
+) {
+
+    public static final UserUpsertResult EMPTY = new UserUpsertResult(0, 0, 0, 0);
+
+    public UserUpsertResult plus(UserUpsertResult other) {
+        return new UserUpsertResult(
+                inserted + other.inserted,
+                updated + other.updated,
+                unchanged + other.unchanged,
+                skipped + other.skipped);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.example.sample.dto;
+
+/**
+ * 조회수 카운터 Hash 이동 결과 - scanned 는 SCAN 한 views:* 키 수, migrated 는 이동한 키 수, usedMemory 는 이동 전후 Redis used_memory(bytes)
+ */
+public record ViewCountMigrationResult(
+        long scanned,
+        long migrated,
+        long usedMemoryBefore,
+        long usedMemoryAfter
+) {
+
+}
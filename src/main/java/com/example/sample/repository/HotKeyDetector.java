@@ -0,0 +1,214 @@
+package com.example.sample.repository;
+
+import com.example.sample.common.CountMinSketch;
+import com.example.sample.dto.HotKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 클라이언트 측 핫 키 감지 + 로컬 승격
+ * - 조회를 sample-rate 비율로 샘플링해 Count-Min Sketch 에 기록, 추정치가 임계치 이상인 키를 top-K 최소 힙으로 관리
+ * - top-K 에 든 키(핫 키)의 조회는 local-ttl-ms 동안 로컬 캐시에서 응답 (다른 노드의 변경은 최대 local-ttl-ms 늦게 반영)
+ * - decay-interval-ms 마다 sketch 를 절반으로 감쇠하고 강등 임계치(승격 임계치 / 2) 아래로 식은 키는 강등 (로컬 캐시에서 제거)
+ *   (일정한 유입의 추정치는 감쇠 직전 2r, 직후 r 이므로 같은 임계치로 비교하면 최소 유입을 유지하는 키도 매 주기 승격/강등을 반복)
+ * - 메트릭: redis_hot_key_cache_requests_total{result=hit|miss}, redis_hot_key_promotions_total, redis_hot_key_demotions_total, redis_hot_key_size
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.redis.hot-keys", name = "enabled", havingValue = "true")
+public class HotKeyDetector {
+
+    private final static String _METRIC_NAME = "redis_hot_key";
+
+    private final CountMinSketch sketch;
+    private final double sampleRate;
+    private final int topK;
+    private final long threshold;
+    private final long demoteThreshold;
+    private final long decayIntervalMs;
+    // 점수가 가장 낮은 핫 키가 맨 앞 (새 후보가 이보다 크면 교체)
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(Candidate::score));
+    private final Map<String, Candidate> candidates = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // 조회 경로는 락 없이 읽도록 변경 시마다 새 Set 으로 교체
+    private volatile Set<String> hotKeys = Set.of();
+    private final Cache<CacheKey, Object> cache;
+    private final Counter hitCounter = Metrics.counter(_METRIC_NAME + "_cache_requests", Tags.of("result", "hit"));
+    private final Counter missCounter = Metrics.counter(_METRIC_NAME + "_cache_requests", Tags.of("result", "miss"));
+    private final Counter promotionCounter = Metrics.counter(_METRIC_NAME + "_promotions");
+    private final Counter demotionCounter = Metrics.counter(_METRIC_NAME + "_demotions");
+
+    public HotKeyDetector(@Value("${app.redis.hot-keys.sample-rate:0.1}") double sampleRate,
+                          @Value("${app.redis.hot-keys.top-k:32}") int topK,
+                          @Value("${app.redis.hot-keys.min-requests-per-second:500}") long minRequestsPerSecond,
+                          @Value("${app.redis.hot-keys.local-ttl-ms:1000}") long localTtlMs,
+                          @Value("${app.redis.hot-keys.decay-interval-ms:10000}") long decayIntervalMs,
+                          @Value("${app.redis.hot-keys.sketch-depth:4}") int sketchDepth,
+                          @Value("${app.redis.hot-keys.sketch-width:2048}") int sketchWidth) {
+        this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+        this.sampleRate = Math.clamp(sampleRate, 0.0001, 1.0);
+        this.topK = Math.max(topK, 1);
+        this.decayIntervalMs = Math.max(decayIntervalMs, 1);
+        // 매 주기 절반으로 감쇠하면 일정한 유입 r(주기당 샘플 수)의 추정치는 2r 로 수렴
+        this.threshold = Math.max(Math.round(2 * minRequestsPerSecond * this.sampleRate * this.decayIntervalMs / 1000.0), 1);
+        // 감쇠 직후 추정치(r)와 비교하므로 절반 - 최소 유입 이상을 유지하는 키는 강등되지 않음
+        this.demoteThreshold = Math.max(threshold / 2, 1);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(localTtlMs, 1)))
+                .maximumSize(this.topK * 4L)
+                .build();
+        Metrics.gauge(_METRIC_NAME + "_size", this, detector -> detector.hotKeys.size());
+        log.info("Hot key detector enabled. sampleRate: {}, topK: {}, threshold: {}, demoteThreshold: {}, localTtl: {}ms, decayInterval: {}ms",
+                this.sampleRate, this.topK, threshold, demoteThreshold, localTtlMs, this.decayIntervalMs);
+    }
+
+    /**
+     * 조회 - 샘플링 기록 후 핫 키면 로컬 캐시(없으면 loader 1회 실행 후 캐시), 아니면 loader 그대로 실행
+     * - kind 는 같은 키를 다른 형태로 읽는 조회(문자열/바이트/TTL 포함)를 구분
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, String kind, Supplier<T> loader) {
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            record(key);
+        }
+        if (!hotKeys.contains(key)) {
+            return loader.get();
+        }
+        AtomicBoolean loaded = new AtomicBoolean();
+        // 같은 키 동시 miss 는 Caffeine 이 1회 load 로 합침, null 은 캐시하지 않음
+        T value = (T) cache.get(new CacheKey(key, kind), cacheKey -> {
+            loaded.set(true);
+            return loader.get();
+        });
+        (loaded.get() ? missCounter : hitCounter).increment();
+        return value;
+    }
+
+    /**
+     * 로컬 무효화 - 이 노드의 쓰기 직후 오래된 값 조회 방지
+     */
+    public void invalidate(String key) {
+        if (hotKeys.contains(key)) {
+            cache.asMap().keySet().removeIf(cacheKey -> cacheKey.key().equals(key));
+        }
+    }
+
+    /**
+     * 현재 핫 키 (점수 높은 순)
+     */
+    public List<HotKey> hotKeys() {
+        lock.lock();
+        try {
+            return candidates.values().stream()
+                    .sorted(Comparator.comparingLong(Candidate::score).reversed())
+                    .map(candidate -> new HotKey(candidate.key(), candidate.score(), requestsPerSecond(candidate.score())))
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 주기적 감쇠 - sketch 를 절반으로 줄이고 점수를 다시 계산해 강등 임계치 아래인 키는 강등
+     */
+    @Scheduled(fixedDelayString = "${app.redis.hot-keys.decay-interval-ms:10000}")
+    public void decay() {
+        sketch.halve();
+        lock.lock();
+        try {
+            List<Candidate> rescored = candidates.keySet().stream()
+                    .map(key -> new Candidate(key, sketch.estimate(key)))
+                    .toList();
+            heap.clear();
+            candidates.clear();
+            for (Candidate candidate : rescored) {
+                if (candidate.score() >= demoteThreshold) {
+                    heap.add(candidate);
+                    candidates.put(candidate.key(), candidate);
+                } else {
+                    demote(candidate.key());
+                }
+            }
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(String key) {
+        long score = sketch.add(key);
+        if (score < threshold) {
+            return;
+        }
+        lock.lock();
+        try {
+            Candidate existing = candidates.get(key);
+            if (existing != null) {
+                // 점수 갱신 (K 가 작으므로 O(K) 제거 허용)
+                heap.remove(existing);
+                Candidate updated = new Candidate(key, Math.max(existing.score(), score));
+                heap.add(updated);
+                candidates.put(key, updated);
+                return;
+            }
+            if (heap.size() >= topK) {
+                Candidate coldest = heap.peek();
+                if (coldest.score() >= score) {
+                    return;
+                }
+                heap.poll();
+                candidates.remove(coldest.key());
+                demote(coldest.key());
+            }
+            Candidate candidate = new Candidate(key, score);
+            heap.add(candidate);
+            candidates.put(key, candidate);
+            promotionCounter.increment();
+            publish();
+            log.info("Hot key promoted. key: {}, score: {}", key, score);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void demote(String key) {
+        cache.asMap().keySet().removeIf(cacheKey -> cacheKey.key().equals(key));
+        demotionCounter.increment();
+        log.info("Hot key demoted. key: {}", key);
+    }
+
+    private void publish() {
+        hotKeys = Set.copyOf(candidates.keySet());
+    }
+
+    private long requestsPerSecond(long score) {
+        return Math.round(score / (2 * sampleRate * decayIntervalMs / 1000.0));
+    }
+
+    private record Candidate(String key, long score) {
+    }
+
+    private record CacheKey(String key, String kind) {
+    }
+
+}
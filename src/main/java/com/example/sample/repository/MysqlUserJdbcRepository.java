@@ -0,0 +1,154 @@
+package com.example.sample.repository;
+
+import com.example.sample.domain.User;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * JPA 로 표현하기 어려운 MySQL 전용 쿼리 (multi-row upsert 등)
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class MysqlUserJdbcRepository {
+
+    private final static String _UPSERT_SQL = "insert into users (id, name, email) values %s as new "
+            + "on duplicate key update name = new.name, version = version + 1";
+    // 1 로 초기화된 시퀀스도 allocationSize 이상으로 올려 예약 구간이 1 부터 시작하도록 함
+    private final static String _RESERVE_IDS_SQL = "update users_seq "
+            + "set next_val = last_insert_id(greatest(next_val, :allocationSize) + :count)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 이메일로 기존 사용자 조회 (email -> User)
+     */
+    public Map<String, User> findAllByEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+        List<User> users = jdbcTemplate.query("select id, name, email from users where email in (:emails)",
+                new MapSqlParameterSource("emails", emails),
+                (rs, rowNum) -> new User(rs.getLong("id"), rs.getString("name"), rs.getString("email")));
+        return users.stream().collect(Collectors.toMap(User::getEmail, Function.identity()));
+    }
+
+    /**
+     * multi-row INSERT ... ON DUPLICATE KEY UPDATE (email unique key 기준) - Hibernate 를 거치지 않으므로 커밋 후 2차 캐시를 직접 무효화
+     */
+    public int upsert(List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> rows = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            params.addValue("id" + i, user.getId())
+                    .addValue("name" + i, user.getName())
+                    .addValue("email" + i, user.getEmail());
+            rows.add("(:id" + i + ", :name" + i + ", :email" + i + ")");
+        }
+        int affected = jdbcTemplate.update(_UPSERT_SQL.formatted(String.join(", ", rows)), params);
+        log.info("Upsert users rows: {}, affected: {}", users.size(), affected);
+        evictAfterCommit(users.stream().map(User::getId).toList());
+        return affected;
+    }
+
+    /**
+     * 단일 UPDATE (조회 없이 수정, 버전 1 증가) - 수정 후 버전 반환, null 이면 대상 없음 또는 버전 불일치
+     * - version = last_insert_id(version + 1) 로 새 버전을 OK 패킷의 insert id 에 실어 받음 (추가 SELECT 없이 generated key 로 조회)
+     *
+     * @param expectedVersion null 이 아니면 현재 버전이 일치할 때만 수정
+     */
+    public Long update(Long id, String name, String email, Long expectedVersion) {
+        String sql = "update users set name = :name, email = :email, version = last_insert_id(version + 1) where id = :id"
+                + (expectedVersion != null ? " and version = :version" : "");
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int updated = jdbcTemplate.update(sql,
+                new MapSqlParameterSource("id", id)
+                        .addValue("name", name)
+                        .addValue("email", email)
+                        .addValue("version", expectedVersion),
+                keyHolder);
+        evictAfterCommit(List.of(id));
+        if (updated == 0) {
+            return null;
+        }
+        return Objects.requireNonNull(keyHolder.getKey(), "updated version").longValue();
+    }
+
+    /**
+     * 단일 DELETE (조회 없이 삭제) - 삭제된 행 수 반환, 0 이면 대상 없음
+     */
+    public int deleteById(Long id) {
+        int deleted = jdbcTemplate.update("delete from users where id = :id", new MapSqlParameterSource("id", id));
+        evictAfterCommit(List.of(id));
+        return deleted;
+    }
+
+    /**
+     * JDBC 로 변경한 사용자의 2차 캐시 엔트리와 쿼리 캐시 제거 (트랜잭션 중이면 커밋 이후, 커밋 전에 제거하면 이전 값이 다시 적재될 수 있음)
+     */
+    public void evictAfterCommit(Collection<Long> ids) {
+        Runnable evict = () -> {
+            org.hibernate.Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(org.hibernate.Cache.class);
+            ids.forEach(id -> cache.evictEntityData(User.class, id));
+            cache.evictDefaultQueryRegion();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
+    /**
+     * User id 를 count 개 연속 발급 - users_seq 를 1회만 증가시켜 청크 전체 id 를 예약 (JPA insert 경로와 같은 id 공간)
+     * - pooled 시퀀스 값 N 은 (N - allocationSize) 이하 id 가 할당되었음을 뜻하므로, N 을 count 만큼 올리고
+     *   (N - allocationSize, N - allocationSize + count] 를 사용 - 이후 Hibernate 가 조회하는 구간과 겹치지 않음
+     * - Hibernate 생성기와 같이 별도 트랜잭션에서 즉시 커밋 (호출 트랜잭션이 끝날 때까지 시퀀스 행 잠금을 잡지 않도록)
+     */
+    public List<Long> nextIds(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long next = requiresNew.execute(status -> {
+            jdbcTemplate.update(_RESERVE_IDS_SQL, new MapSqlParameterSource("allocationSize", User.ID_ALLOCATION_SIZE)
+                    .addValue("count", count));
+            return jdbcTemplate.queryForObject("select last_insert_id()", Map.of(), Long.class);
+        });
+        long first = Objects.requireNonNull(next) - User.ID_ALLOCATION_SIZE - count + 1;
+        return LongStream.range(first, first + count).boxed().toList();
+    }
+
+}
@@ -1,10 +1,47 @@
 package com.example.sample.repository;
 
 import com.example.sample.domain.User;
+import com.example.sample.dto.UserResponseDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface MysqlUserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * 전체 조회 (projection)
+     */
+    @Query("select new com.example.sample.dto.UserResponseDto(u.id, u.name, u.email, u.version) from User u")
+    List<UserResponseDto> findAllProjectedBy();
+
+    /**
+     * keyset 페이지 조회 (id > lastId, projection) - 쿼리 캐시 대상 (users 테이블 변경 시 자동 무효화)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.example.sample.dto.UserResponseDto(u.id, u.name, u.email, u.version) from User u where u.id > :lastId order by u.id asc")
+    List<UserResponseDto> findProjectedByIdGreaterThan(@Param("lastId") Long lastId, Limit limit);
+
+    /**
+     * 전체 스트리밍 조회 (forward-only 커서, useCursorFetch=true 필요, projection 이라 영속성 컨텍스트에 쌓이지 않음)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.sample.dto.UserResponseDto(u.id, u.name, u.email, u.version) from User u order by u.id asc")
+    Stream<UserResponseDto> streamAllBy();
+
+    /**
+     * 이미 존재하는 이메일 조회 (벌크 생성 시 중복 체크)
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findEmailsByEmailIn(@Param("emails") Collection<String> emails);
+
 }
@@ -0,0 +1,242 @@
+package com.example.sample.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Redis 값 near-cache (RESP3 client-side caching)
+ * - 전용 커넥션에 CLIENT TRACKING ON - 이 커넥션으로 읽은 키가 변경/삭제/만료되면 서버가 invalidate push 를 보냄
+ * - 로컬 Caffeine 캐시는 max-bytes(>0) 또는 max-entries 로 제한, key-prefixes 로 시작하는 키만 캐시
+ * - 연결이 끊기면 tracking 이 사라지므로 캐시를 비우고, 재연결 후 tracking 을 다시 켤 때까지 캐시를 우회
+ * - 메트릭: redis_near_cache_requests_total{result=hit|miss}, redis_near_cache_invalidations_total, redis_near_cache_size
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.redis.near-cache", name = "enabled", havingValue = "true")
+public class RedisNearCache implements DisposableBean {
+
+    private final static String _METRIC_NAME = "redis_near_cache";
+    private final static String _INVALIDATE_PUSH_TYPE = "invalidate";
+
+    private final RedisClient redisClient;
+    private final StatefulRedisConnection<String, byte[]> connection;
+    private final Cache<String, Entry> cache;
+    // 조회 중인 키별 토큰 - 조회 도중 invalidate 되면 토큰이 사라져 오래된 값을 캐시하지 않음
+    private final ConcurrentHashMap<String, Object> loading = new ConcurrentHashMap<>();
+    private final List<String> keyPrefixes;
+    private final RedisConnectionStateListener connectionStateListener;
+    private final Counter hitCounter = Metrics.counter(_METRIC_NAME + "_requests", Tags.of("result", "hit"));
+    private final Counter missCounter = Metrics.counter(_METRIC_NAME + "_requests", Tags.of("result", "miss"));
+    private final Counter invalidationCounter = Metrics.counter(_METRIC_NAME + "_invalidations");
+    private volatile boolean tracking;
+
+    public RedisNearCache(LettuceConnectionFactory connectionFactory,
+                          @Value("${app.redis.near-cache.max-entries:10000}") long maxEntries,
+                          @Value("${app.redis.near-cache.max-bytes:0}") long maxBytes,
+                          @Value("${app.redis.near-cache.key-prefixes:user:}") List<String> keyPrefixes) {
+        AbstractRedisClient nativeClient = connectionFactory.getNativeClient();
+        if (!(nativeClient instanceof RedisClient client)) {
+            throw new IllegalStateException("Redis near cache requires a standalone Redis client: " + nativeClient);
+        }
+        this.redisClient = client;
+        this.keyPrefixes = List.copyOf(keyPrefixes);
+        if (maxBytes > 0) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumWeight(maxBytes)
+                    .weigher((String key, Entry entry) -> entry.weight(key))
+                    .build();
+        } else {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxEntries)
+                    .build();
+        }
+        Metrics.gauge(_METRIC_NAME + "_size", cache, Cache::estimatedSize);
+
+        this.connection = client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+        this.connection.addListener(this::onPushMessage);
+        this.connectionStateListener = new RedisConnectionStateListener() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+                if (handler == connection) {
+                    enableTracking();
+                }
+            }
+
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                if (handler == connection) {
+                    tracking = false;
+                    invalidateAll();
+                    log.warn("Redis near cache disconnected. cache bypassed until tracking is re-enabled");
+                }
+            }
+        };
+        client.addListener(connectionStateListener);
+
+        connection.sync().clientTracking(TrackingArgs.Builder.enabled());
+        this.tracking = true;
+        log.info("Redis near cache enabled. maxEntries: {}, maxBytes: {}, keyPrefixes: {}", maxEntries, maxBytes, this.keyPrefixes);
+    }
+
+    /**
+     * near-cache 대상 키 여부
+     */
+    public boolean isCacheable(String key) {
+        return keyPrefixes.stream().anyMatch(key::startsWith);
+    }
+
+    /**
+     * GET - 캐시에 있으면 로컬 값, 없으면 tracking 커넥션으로 조회 후 캐시
+     */
+    public byte[] get(String key) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.value() != null) {
+            hitCounter.increment();
+            return entry.value();
+        }
+        missCounter.increment();
+        Object token = beginLoad(key);
+        try {
+            byte[] value = connection.sync().get(key);
+            if (value != null) {
+                commitLoad(key, token, old -> new Entry(value, Map.of()));
+            }
+            return value;
+        } finally {
+            loading.remove(key, token);
+        }
+    }
+
+    /**
+     * HGET - 캐시는 키 단위로 필드를 모아 두고, 키가 invalidate 되면 필드 전체를 버림
+     */
+    public byte[] getHashField(String key, String field) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.fields().containsKey(field)) {
+            hitCounter.increment();
+            return entry.fields().get(field);
+        }
+        missCounter.increment();
+        Object token = beginLoad(key);
+        try {
+            byte[] value = connection.sync().hget(key, field);
+            if (value != null) {
+                commitLoad(key, token, old -> (old != null ? old : Entry.EMPTY).withField(field, value));
+            }
+            return value;
+        } finally {
+            loading.remove(key, token);
+        }
+    }
+
+    /**
+     * 로컬 무효화 - 이 노드의 쓰기 직후 push 도착 전 오래된 값 조회 방지
+     */
+    public void invalidate(String key) {
+        cache.asMap().compute(key, (k, old) -> {
+            loading.remove(k);
+            return null;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        redisClient.removeListener(connectionStateListener);
+        connection.close();
+        cache.invalidateAll();
+    }
+
+    private Object beginLoad(String key) {
+        Object token = new Object();
+        loading.put(key, token);
+        return token;
+    }
+
+    /**
+     * 조회 도중 invalidate 가 없었을 때만 캐시 - 토큰 확인과 저장을 키 단위로 원자적으로 수행
+     */
+    private void commitLoad(String key, Object token, UnaryOperator<Entry> update) {
+        cache.asMap().compute(key, (k, old) -> tracking && loading.remove(k, token) ? update.apply(old) : old);
+    }
+
+    private void onPushMessage(PushMessage message) {
+        if (!_INVALIDATE_PUSH_TYPE.equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        // 키 목록이 null 이면 FLUSHALL/FLUSHDB - 전체 무효화
+        if (content.size() > 1 && content.get(1) instanceof List<?> keys) {
+            keys.forEach(key -> invalidate(String.valueOf(key)));
+            invalidationCounter.increment(keys.size());
+        } else {
+            invalidateAll();
+            invalidationCounter.increment();
+        }
+    }
+
+    private void enableTracking() {
+        connection.async().clientTracking(TrackingArgs.Builder.enabled()).whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("Redis near cache tracking re-enable failed. cache stays bypassed", e);
+                return;
+            }
+            invalidateAll();
+            tracking = true;
+            log.info("Redis near cache tracking re-enabled");
+        });
+    }
+
+    private void invalidateAll() {
+        loading.clear();
+        cache.invalidateAll();
+    }
+
+    /**
+     * 캐시 항목 - 문자열 값(value) 또는 Hash 필드(fields)
+     */
+    private record Entry(byte[] value, Map<String, byte[]> fields) {
+
+        static final Entry EMPTY = new Entry(null, Map.of());
+
+        Entry withField(String field, byte[] fieldValue) {
+            Map<String, byte[]> merged = new HashMap<>(fields);
+            merged.put(field, fieldValue);
+            return new Entry(null, Map.copyOf(merged));
+        }
+
+        int weight(String key) {
+            long weight = key.length() + (value != null ? value.length : 0L);
+            for (Map.Entry<String, byte[]> field : fields.entrySet()) {
+                weight += field.getKey().length() + field.getValue().length;
+            }
+            return (int) Math.min(weight, Integer.MAX_VALUE);
+        }
+    }
+
+}
@@ -1,60 +1,210 @@
 package com.example.sample.repository;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.sample.common.RedisValueCodec;
+import com.example.sample.dto.RateLimitGrant;
+import com.example.sample.dto.RedisKeyPage;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.async.RedisKeyAsyncCommands;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class RedisUserRepository {
 
+    private final static Duration _SCAN_TIMEOUT = Duration.ofSeconds(5);
+    private final static RedisScript<Long> _LEFT_PUSH_DISTINCT_SCRIPT = RedisScript.of("""
+            redis.call('LREM', KEYS[1], 0, ARGV[1])
+            redis.call('LPUSH', KEYS[1], ARGV[1])
+            redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1)
+            return redis.call('LLEN', KEYS[1])
+            """, Long.class);
+    private final static RedisScript<Long> _DELETE_IF_EQUALS_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+    // 값이 ARGV[1] 과 같을 때만 ARGV[2] 로 교체 (PX ARGV[3]) - 인자는 바이트 그대로 전달 (직렬화된 값 비교/저장)
+    private final static RedisScript<Long> _SET_IF_EQUALS_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+    // 문자열 카운터를 Hash 필드로 이동 (키별 GET + HINCRBY + DEL 원자적) - KEYS: [원본1, Hash1, 원본2, Hash2, ...], ARGV: 필드
+    // - 여러 슬롯의 키를 한 스크립트에서 다루므로 단일 Redis(standalone/sentinel) 전용 - Redis Cluster 에서는 CROSSSLOT 오류
+    private final static RedisScript<Long> _MOVE_TO_HASH_FIELDS_SCRIPT = RedisScript.of("""
+            local moved = 0
+            for i = 1, #ARGV do
+                local value = redis.call('GET', KEYS[2 * i - 1])
+                if value then
+                    redis.call('HINCRBY', KEYS[2 * i], ARGV[i], value)
+                    redis.call('DEL', KEYS[2 * i - 1])
+                    moved = moved + 1
+                end
+            end
+            return moved
+            """, Long.class);
+    // 병합 결과가 남아 있으면 그대로 PFCOUNT, 없으면 PFMERGE + EXPIRE 후 PFCOUNT - KEYS: [병합키, 원본1, 원본2, ...], ARGV: ttl(초)
+    private final static RedisScript<Long> _MERGE_HYPER_LOG_LOGS_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                redis.call('PFMERGE', KEYS[1], unpack(KEYS, 2))
+                redis.call('EXPIRE', KEYS[1], ARGV[1])
+            end
+            return redis.call('PFCOUNT', KEYS[1])
+            """, Long.class);
+    // token bucket - 경과 시간만큼 보충 후 요청 수(부족하면 남은 만큼) 차감, 시각은 서버 TIME 기준 (노드 간 시계 차이 무관)
+    @SuppressWarnings("rawtypes")
+    private final static RedisScript<List> _TOKEN_BUCKET_SCRIPT = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2]) / 1000
+            local requested = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(now - ts, 0) * rate)
+            local granted = math.min(requested, math.floor(tokens))
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) / rate) + 1000)
+            if granted > 0 then
+                return {granted, 0}
+            end
+            return {0, math.ceil((1 - tokens) / rate)}
+            """, List.class);
+
+    // 정수 응답(ReturnType.INTEGER)은 역직렬화하지 않으므로 타입 지정용
+    private final static RedisSerializer<Long> _LONG_RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisValueCodec redisValueCodec;
+    private final Optional<RedisNearCache> redisNearCache;
+    private final Optional<HotKeyDetector> hotKeyDetector;
 
     /**
      * 단일 값 저장
      */
     public void setValue(String key, Object value) {
         redisTemplate.opsForValue().set(key, value);
+        invalidateLocal(key);
         log.info("Set key: {}, value: {}", key, value);
     }
 
     /**
-     * 단일 값 저장 with TTL
+     * 단일 값 저장 with TTL (RedisValueCodec 으로 직렬화)
      */
     public void setValueWithTTL(String key, Object value, long ttl, TimeUnit timeUnit) {
-        try {
-            String json = objectMapper.writeValueAsString(value);
-            redisTemplate.opsForValue().set(key, json, ttl, timeUnit);
-            log.info("Set key: {} with TTL: {} {}", key, ttl, timeUnit);
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing value to JSON");
-        }
+        byte[] rawValue = redisValueCodec.encode(value);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(rawKey(key), rawValue, Expiration.from(ttl, timeUnit), RedisStringCommands.SetOption.upsert()));
+        invalidateLocal(key);
+        log.info("Set key: {} with TTL: {} {}, bytes: {}", key, ttl, timeUnit, rawValue.length);
+    }
+
+    /**
+     * 여러 값 저장 with TTL (파이프라인 - SET EX 를 모아 한 번에 전송, RedisValueCodec 으로 직렬화)
+     * - ttl 은 키마다 계산 (jitter 로 만료 시점 분산)
+     */
+    public void setValuesWithTTL(Map<String, Object> values, ToLongFunction<String> ttl, TimeUnit timeUnit) {
+        Map<String, byte[]> rawValues = new LinkedHashMap<>();
+        values.forEach((key, value) -> rawValues.put(key, redisValueCodec.encode(value)));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            rawValues.forEach((key, value) -> connection.stringCommands()
+                    .set(rawKey(key), value, Expiration.from(ttl.applyAsLong(key), timeUnit), RedisStringCommands.SetOption.upsert()));
+            return null;
+        });
+        values.keySet().forEach(this::invalidateLocal);
+        log.info("Set keys: {} with TTL (pipelined)", rawValues.size());
     }
 
     /**
-     * 값 조회
+     * 값 조회 (near-cache 대상 키는 로컬 캐시 우선)
      */
     public Object getValue(String key) {
-        Object value = redisTemplate.opsForValue().get(key);
+        Object value = isNearCached(key)
+                ? toStringValue(redisNearCache.get().get(key))
+                : readThroughHotKeys(key, "string", () -> redisTemplate.opsForValue().get(key));
         log.info("Get key: {}, value: {}", key, value);
         return value;
     }
 
+    /**
+     * 값 조회 (RedisValueCodec 으로 저장된 값을 type 으로 역직렬화)
+     */
+    public <T> T getValue(String key, Class<T> type) {
+        byte[] rawValue = readRawValue(key);
+        log.info("Get key: {}, bytes: {}", key, rawValue != null ? rawValue.length : null);
+        return redisValueCodec.decode(rawValue, type);
+    }
+
+    /**
+     * 값 조회 (저장된 바이트 그대로, 역직렬화 없음)
+     */
+    public byte[] getRawValue(String key) {
+        byte[] rawValue = readRawValue(key);
+        log.info("Get raw key: {}, bytes: {}", key, rawValue != null ? rawValue.length : null);
+        return rawValue;
+    }
+
+    /**
+     * 여러 값 조회 (MGET 1회) - keys 순서대로 반환, 없는 키는 null
+     */
+    public <T> List<T> multiGet(List<String> keys, Class<T> type) {
+        byte[][] rawKeys = keys.stream().map(this::rawKey).toArray(byte[][]::new);
+        List<byte[]> rawValues = redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+        if (rawValues == null) {
+            return Collections.nCopies(keys.size(), null);
+        }
+        List<T> values = rawValues.stream().map(rawValue -> redisValueCodec.decode(rawValue, type)).toList();
+        log.info("Multi get keys: {}, found: {}", keys.size(), values.stream().filter(Objects::nonNull).count());
+        return values;
+    }
+
     /**
      * 값 삭제
      */
     public Boolean deleteValue(String key) {
         Boolean result = redisTemplate.delete(key);
+        invalidateLocal(key);
         log.info("Delete key: {}, success: {}", key, result);
         return result;
     }
@@ -73,6 +223,7 @@ public class RedisUserRepository {
      */
     public Boolean setExpire(String key, long timeout, TimeUnit unit) {
         Boolean result = redisTemplate.expire(key, timeout, unit);
+        invalidateLocal(key);
         log.info("Set expire key: {}, timeout: {} {}", key, timeout, unit);
         return result;
     }
@@ -93,6 +244,7 @@ public class RedisUserRepository {
      */
     public void setHash(String key, Map<String, Object> hash) {
         redisTemplate.opsForHash().putAll(key, hash);
+        invalidateLocal(key);
         log.info("Set hash key: {}, hash: {}", key, hash);
     }
 
@@ -101,6 +253,7 @@ public class RedisUserRepository {
      */
     public void setHashField(String key, String field, Object value) {
         redisTemplate.opsForHash().put(key, field, value);
+        invalidateLocal(key);
         log.info("Set hash field key: {}, field: {}, value: {}", key, field, value);
     }
 
@@ -114,10 +267,12 @@ public class RedisUserRepository {
     }
 
     /**
-     * Hash 필드 조회
+     * Hash 필드 조회 (near-cache 대상 키는 로컬 캐시 우선)
      */
     public Object getHashField(String key, String field) {
-        Object value = redisTemplate.opsForHash().get(key, field);
+        Object value = isNearCached(key)
+                ? toStringValue(redisNearCache.get().getHashField(key, field))
+                : readThroughHotKeys(key, "hash:" + field, () -> redisTemplate.opsForHash().get(key, field));
         log.info("Get hash field key: {}, field: {}, value: {}", key, field, value);
         return value;
     }
@@ -127,6 +282,7 @@ public class RedisUserRepository {
      */
     public Long deleteHashField(String key, String... fields) {
         Long result = redisTemplate.opsForHash().delete(key, (Object[]) fields);
+        invalidateLocal(key);
         log.info("Delete hash fields key: {}, fields: {}, deleted: {}", key, fields, result);
         return result;
     }
@@ -151,6 +307,17 @@ public class RedisUserRepository {
         return size;
     }
 
+    /**
+     * List 왼쪽 추가 (중복 제거 + 최대 길이 유지) - Lua 스크립트 1회로 원자적으로 처리
+     * - 같은 값이 있으면 제거 후 맨 앞에 추가, maxSize 를 넘는 오래된 값은 잘라냄
+     * - 스크립트는 EVALSHA 로 실행 (서버에 캐시가 없으면 EVAL 로 재시도)
+     */
+    public Long leftPushDistinct(String key, String value, long maxSize) {
+        Long size = redisTemplate.execute(_LEFT_PUSH_DISTINCT_SCRIPT, List.of(key), value, String.valueOf(maxSize));
+        log.info("Left push distinct key: {}, value: {}, maxSize: {}, size: {}", key, value, maxSize, size);
+        return size;
+    }
+
     /**
      * List 조회 (범위)
      */
@@ -208,15 +375,159 @@ public class RedisUserRepository {
         return count;
     }
 
+    // ========== Sorted Set Operations ==========
+
+    /**
+     * Sorted Set 점수 일괄 증가 (파이프라인 - ZINCRBY + EXPIRE 를 모아 한 번에 전송)
+     */
+    public void incrementScores(String key, Map<String, Double> increments, long ttl, TimeUnit timeUnit) {
+        byte[] rawKey = rawKey(key);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            increments.forEach((member, increment) -> connection.zSetCommands().zIncrBy(rawKey, increment, rawValue(member)));
+            connection.keyCommands().expire(rawKey, timeUnit.toSeconds(ttl));
+            return null;
+        });
+        log.info("Increment scores key: {}, members: {} (pipelined)", key, increments.size());
+    }
+
+    /**
+     * 가중치 합집합 저장 (파이프라인 - ZUNIONSTORE WEIGHTS + EXPIRE), 없는 키는 빈 집합으로 처리
+     */
+    public void unionWithWeights(String destKey, List<String> sourceKeys, List<Double> weights, long ttl, TimeUnit timeUnit) {
+        byte[] rawDestKey = rawKey(destKey);
+        byte[][] rawSourceKeys = sourceKeys.stream().map(this::rawKey).toArray(byte[][]::new);
+        Weights rawWeights = Weights.of(weights.stream().mapToDouble(Double::doubleValue).toArray());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zUnionStore(rawDestKey, Aggregate.SUM, rawWeights, rawSourceKeys);
+            connection.keyCommands().expire(rawDestKey, timeUnit.toSeconds(ttl));
+            return null;
+        });
+        log.info("Union with weights dest: {}, sources: {}", destKey, sourceKeys.size());
+    }
+
+    /**
+     * 점수 상위 count 개 조회 (ZREVRANGE WITHSCORES, O(log N + count))
+     */
+    public Set<ZSetOperations.TypedTuple<Object>> getTopWithScores(String key, long count) {
+        Set<ZSetOperations.TypedTuple<Object>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, count - 1);
+        log.info("Get top with scores key: {}, count: {}, size: {}", key, count, tuples != null ? tuples.size() : 0);
+        return tuples;
+    }
+
+    // ========== HyperLogLog Operations ==========
+
+    /**
+     * HyperLogLog 일괄 추가 (파이프라인 - 키별 PFADD + EXPIRE 를 모아 한 번에 전송)
+     */
+    public void addToHyperLogLogs(Map<String, ? extends Collection<String>> values, long ttl, TimeUnit timeUnit) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            values.forEach((key, members) -> {
+                byte[] rawKey = rawKey(key);
+                connection.hyperLogLogCommands().pfAdd(rawKey, members.stream().map(this::rawValue).toArray(byte[][]::new));
+                connection.keyCommands().expire(rawKey, timeUnit.toSeconds(ttl));
+            });
+            return null;
+        });
+        log.info("Add to hyperloglogs keys: {} with TTL: {} {} (pipelined)", values.size(), ttl, timeUnit);
+    }
+
+    /**
+     * HyperLogLog 고유 개수 (PFCOUNT)
+     */
+    public Long countHyperLogLog(String key) {
+        Long count = redisTemplate.opsForHyperLogLog().size(key);
+        log.info("Count hyperloglog key: {}, count: {}", key, count);
+        return count;
+    }
+
+    /**
+     * HyperLogLog 병합 후 고유 개수 (Lua 스크립트 1회 전송)
+     * - 병합 결과는 destKey 에 ttl 동안 보관하고, 그 사이 같은 destKey 조회는 다시 병합하지 않고 보관된 결과로 응답
+     * - 따라서 ttl 동안은 원본 키에 추가된 값이 반영되지 않음
+     */
+    public Long mergeHyperLogLogs(String destKey, List<String> sourceKeys, long ttl, TimeUnit timeUnit) {
+        List<String> scriptKeys = new ArrayList<>(sourceKeys.size() + 1);
+        scriptKeys.add(destKey);
+        scriptKeys.addAll(sourceKeys);
+        Long count = redisTemplate.execute(_MERGE_HYPER_LOG_LOGS_SCRIPT, scriptKeys, String.valueOf(timeUnit.toSeconds(ttl)));
+        log.info("Merge hyperloglogs dest: {}, sources: {}, count: {}", destKey, sourceKeys.size(), count);
+        return count;
+    }
+
+    // ========== Bitmap Operations ==========
+
+    /**
+     * Bitmap 비트 일괄 설정 (파이프라인 - 키별 SETBIT offset 1 + EXPIRE 를 모아 한 번에 전송)
+     * - 비트맵 크기는 가장 큰 offset / 8 bytes 로 정해지므로 offset 은 작고 조밀한 정수여야 함
+     */
+    public void setBits(Map<String, ? extends Collection<Long>> offsets, long ttl, TimeUnit timeUnit) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            offsets.forEach((key, keyOffsets) -> {
+                byte[] rawKey = rawKey(key);
+                keyOffsets.forEach(offset -> connection.stringCommands().setBit(rawKey, offset, true));
+                connection.keyCommands().expire(rawKey, timeUnit.toSeconds(ttl));
+            });
+            return null;
+        });
+        log.info("Set bits keys: {} with TTL: {} {} (pipelined)", offsets.size(), ttl, timeUnit);
+    }
+
+    /**
+     * Bitmap 설정된 비트 수 (BITCOUNT)
+     */
+    public Long countBits(String key) {
+        byte[] rawKey = rawKey(key);
+        Long count = redisTemplate.execute((RedisCallback<Long>) connection -> connection.stringCommands().bitCount(rawKey));
+        log.info("Count bits key: {}, count: {}", key, count);
+        return count;
+    }
+
+    /**
+     * Bitmap 합집합 후 설정된 비트 수 (파이프라인 - BITOP OR + EXPIRE + BITCOUNT 1회 전송)
+     * - 합집합 결과는 destKey 에 ttl 동안 보관
+     */
+    public Long mergeBits(String destKey, List<String> sourceKeys, long ttl, TimeUnit timeUnit) {
+        byte[] rawDestKey = rawKey(destKey);
+        byte[][] rawSourceKeys = sourceKeys.stream().map(this::rawKey).toArray(byte[][]::new);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().bitOp(RedisStringCommands.BitOperation.OR, rawDestKey, rawSourceKeys);
+            connection.keyCommands().expire(rawDestKey, timeUnit.toSeconds(ttl));
+            connection.stringCommands().bitCount(rawDestKey);
+            return null;
+        });
+        Long count = (Long) results.getLast();
+        log.info("Merge bits dest: {}, sources: {}, count: {}", destKey, sourceKeys.size(), count);
+        return count;
+    }
+
     // ========== Custom Operations ==========
 
     /**
-     * 모든 키 조회 (패턴)
+     * 키 조회 (SCAN 1회) - KEYS 와 달리 서버를 오래 블로킹하지 않음, cursor 로 이어서 조회
+     * - count 는 힌트이므로 결과 수가 count 와 다르거나 빈 페이지가 반환될 수 있음
      */
-    public Set<String> getKeys(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        log.info("Get keys pattern: {}, count: {}", pattern, keys != null ? keys.size() : 0);
-        return keys;
+    public RedisKeyPage scanKeys(String pattern, String cursor, long count) {
+        KeyScanCursor<byte[]> result = redisTemplate.execute((RedisCallback<KeyScanCursor<byte[]>>) connection -> {
+            @SuppressWarnings("unchecked")
+            RedisKeyAsyncCommands<byte[], byte[]> commands = (RedisKeyAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            ScanArgs args = ScanArgs.Builder.matches(pattern).limit(count);
+            return LettuceFutures.awaitOrCancel(commands.scan(ScanCursor.of(cursor), args), _SCAN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        });
+        List<String> keys = result.getKeys().stream()
+                .map(key -> new String(key, StandardCharsets.UTF_8))
+                .toList();
+        log.info("Scan keys pattern: {}, cursor: {}, next: {}, count: {}", pattern, cursor, result.getCursor(), keys.size());
+        return new RedisKeyPage(keys, result.getCursor(), result.isFinished());
+    }
+
+    /**
+     * 전체 키 순회 (SCAN 반복) - 한 번에 count 건 정도씩 가져와 consumer 로 전달
+     */
+    public void scanKeys(String pattern, long count, Consumer<String> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(count).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(consumer);
+        }
     }
 
     /**
@@ -228,6 +539,191 @@ public class RedisUserRepository {
         return value;
     }
 
+    /**
+     * 여러 카운터 증가 (파이프라인 - INCRBY 를 모아 한 번에 전송) - 키별 증가 후 값 반환
+     */
+    public Map<String, Long> incrementBy(Map<String, Long> deltas) {
+        List<String> keys = List.copyOf(deltas.keySet());
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.stringCommands().incrBy(rawKey(key), deltas.get(key)));
+            return null;
+        });
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            values.put(keys.get(i), (Long) results.get(i));
+        }
+        log.info("Increment by keys: {} (pipelined)", keys.size());
+        return values;
+    }
+
+    /**
+     * 카운터 증가 + Sorted Set 점수 증가 (파이프라인 - INCR + ZINCRBY + EXPIRE 1회 전송) - 증가 후 카운터 값 반환
+     */
+    public Long incrementWithScore(String counterKey, String zSetKey, String member, long ttl, TimeUnit timeUnit) {
+        byte[] rawZSetKey = rawKey(zSetKey);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().incr(rawKey(counterKey));
+            connection.zSetCommands().zIncrBy(rawZSetKey, 1, rawValue(member));
+            connection.keyCommands().expire(rawZSetKey, timeUnit.toSeconds(ttl));
+            return null;
+        });
+        Long value = (Long) results.getFirst();
+        log.info("Increment key: {}, value: {}, zset: {}, member: {}", counterKey, value, zSetKey, member);
+        return value;
+    }
+
+    /**
+     * Hash 필드 카운터 증가 + Sorted Set 점수 증가 (파이프라인 - HINCRBY + GET + ZINCRBY + EXPIRE 1회 전송)
+     * - 증가 후 필드 값 + 문자열 카운터 counterKey 값 반환 (Hash 로 이동하기 전 남아 있는 카운터 합산, 없으면 0)
+     */
+    public Long incrementHashWithScore(String hashKey, String field, String counterKey, String zSetKey, String member, long ttl, TimeUnit timeUnit) {
+        byte[] rawZSetKey = rawKey(zSetKey);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hIncrBy(rawKey(hashKey), rawValue(field), 1L);
+            connection.stringCommands().get(rawKey(counterKey));
+            connection.zSetCommands().zIncrBy(rawZSetKey, 1, rawValue(member));
+            connection.keyCommands().expire(rawZSetKey, timeUnit.toSeconds(ttl));
+            return null;
+        });
+        long value = (Long) results.get(0) + toLong(results.get(1));
+        log.info("Increment hash key: {}, field: {}, value: {}, zset: {}, member: {}", hashKey, field, value, zSetKey, member);
+        return value;
+    }
+
+    /**
+     * Hash 필드 카운터 + 문자열 카운터 합계 (파이프라인 - HGET + GET 1회 전송, 없는 값은 0)
+     * - 문자열 키에서 Hash 필드로 이동 중인 카운터를 한 번에 읽기 위함 (원자적이지 않음 - 두 명령 사이에 이동되면 그 조회만 적게 보임)
+     */
+    public long sumHashFieldAndValue(String hashKey, String field, String counterKey) {
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hGet(rawKey(hashKey), rawValue(field));
+            connection.stringCommands().get(rawKey(counterKey));
+            return null;
+        });
+        long value = toLong(results.get(0)) + toLong(results.get(1));
+        log.info("Sum hash key: {}, field: {}, key: {}, value: {}", hashKey, field, counterKey, value);
+        return value;
+    }
+
+    /**
+     * 여러 문자열 카운터 조회 (MGET 1회) - 없는 키는 0
+     */
+    public Map<String, Long> getCounters(List<String> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        Map<String, Long> counters = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            counters.put(keys.get(i), values != null ? toLong(values.get(i)) : 0L);
+        }
+        log.info("Get counters keys: {}", keys.size());
+        return counters;
+    }
+
+    /**
+     * 여러 Hash 필드 카운터 증가 (파이프라인 - HINCRBY 를 모아 한 번에 전송) - Hash 키 -> 필드별 증가 후 값 반환
+     */
+    public Map<String, Map<String, Long>> incrementHashBy(Map<String, Map<String, Long>> deltas) {
+        List<Map.Entry<String, String>> fields = deltas.entrySet().stream()
+                .flatMap(hash -> hash.getValue().keySet().stream().map(field -> Map.entry(hash.getKey(), field)))
+                .toList();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            fields.forEach(field -> connection.hashCommands()
+                    .hIncrBy(rawKey(field.getKey()), rawValue(field.getValue()), deltas.get(field.getKey()).get(field.getValue())));
+            return null;
+        });
+        Map<String, Map<String, Long>> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.computeIfAbsent(fields.get(i).getKey(), key -> new LinkedHashMap<>()).put(fields.get(i).getValue(), (Long) results.get(i));
+        }
+        log.info("Increment hash by keys: {}, fields: {} (pipelined)", deltas.size(), fields.size());
+        return values;
+    }
+
+    /**
+     * 문자열 카운터를 Hash 필드로 이동 (Lua 스크립트 1회, 키별로 원자적) - keys, hashKeys, fields 는 같은 순서, 이동한 키 수 반환
+     * - 이동 중 들어온 INCR 이 유실되지 않도록 GET 과 DEL 사이에 다른 명령이 끼지 않음
+     * - standalone/sentinel 전용 (views:{itemId} 와 views-hash:{n} 은 hash tag 가 없어 Cluster 에서는 슬롯이 달라 CROSSSLOT)
+     */
+    public long moveToHashFields(List<String> keys, List<String> hashKeys, List<String> fields) {
+        List<String> scriptKeys = new ArrayList<>(keys.size() * 2);
+        for (int i = 0; i < keys.size(); i++) {
+            scriptKeys.add(keys.get(i));
+            scriptKeys.add(hashKeys.get(i));
+        }
+        Long moved = redisTemplate.execute(_MOVE_TO_HASH_FIELDS_SCRIPT, scriptKeys, fields.toArray());
+        keys.forEach(this::invalidateLocal);
+        log.info("Move to hash fields keys: {}, moved: {}", keys.size(), moved);
+        return moved != null ? moved : 0L;
+    }
+
+    /**
+     * Redis 서버 설정값 (CONFIG GET) - CONFIG 명령이 막힌 관리형 Redis 등 읽을 수 없으면 empty
+     */
+    public Optional<String> getConfig(String parameter) {
+        try {
+            Properties config = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().getConfig(parameter));
+            return Optional.ofNullable(config).map(properties -> properties.getProperty(parameter));
+        } catch (DataAccessException e) {
+            log.warn("Get config failed parameter: {}, error: {}", parameter, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Redis 서버 메모리 사용량 (INFO memory 의 used_memory, bytes)
+     */
+    public long usedMemory() {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().info("memory"));
+        return Long.parseLong(Objects.requireNonNull(info, "INFO memory").getProperty("used_memory", "0"));
+    }
+
+    /**
+     * 키가 없을 때만 저장 (SET NX PX) - 짧은 분산 락 용도
+     */
+    public Boolean setIfAbsent(String key, String value, long timeout, TimeUnit timeUnit) {
+        Boolean result = redisTemplate.opsForValue().setIfAbsent(key, value, timeout, timeUnit);
+        invalidateLocal(key);
+        log.info("Set if absent key: {}, success: {}", key, result);
+        return result;
+    }
+
+    /**
+     * 값이 같을 때만 삭제 (Lua 스크립트 - 다른 요청이 다시 잡은 예약/락을 지우지 않도록)
+     */
+    public boolean deleteIfEquals(String key, String value) {
+        Long deleted = redisTemplate.execute(_DELETE_IF_EQUALS_SCRIPT, List.of(key), value);
+        invalidateLocal(key);
+        log.info("Delete if equals key: {}, deleted: {}", key, deleted);
+        return Long.valueOf(1L).equals(deleted);
+    }
+
+    /**
+     * 값이 expected 와 같을 때만 새 값 저장 with TTL (Lua 스크립트 - 예약이 만료돼 다른 요청이 다시 잡았으면 덮어쓰지 않음)
+     */
+    public boolean setValueIfEquals(String key, String expected, Object value, long ttl, TimeUnit timeUnit) {
+        byte[] rawValue = redisValueCodec.encode(value);
+        // 인자는 byte[] 그대로 전달 (코덱으로 인코딩한 값) - EVALSHA 로 실행, 스크립트가 없을 때만 EVAL
+        Long updated = redisTemplate.execute(_SET_IF_EQUALS_SCRIPT, RedisSerializer.byteArray(), _LONG_RESULT_SERIALIZER, List.of(key),
+                rawValue(expected), rawValue, String.valueOf(timeUnit.toMillis(ttl)).getBytes(StandardCharsets.UTF_8));
+        invalidateLocal(key);
+        log.info("Set if equals key: {} with TTL: {} {}, bytes: {}, updated: {}", key, ttl, timeUnit, rawValue.length, updated);
+        return Long.valueOf(1L).equals(updated);
+    }
+
+    /**
+     * token bucket 토큰 획득 (Lua 스크립트로 보충 + 차감을 원자적으로 수행) - 남은 토큰이 requested 보다 적으면 남은 만큼만 획득
+     */
+    @SuppressWarnings("unchecked")
+    public RateLimitGrant acquireTokens(String key, long capacity, double refillPerSecond, long requested) {
+        List<Long> result = redisTemplate.execute(_TOKEN_BUCKET_SCRIPT, List.of(key),
+                String.valueOf(capacity), String.valueOf(refillPerSecond), String.valueOf(requested));
+        RateLimitGrant grant = new RateLimitGrant(result.get(0), result.get(1));
+        log.info("Acquire tokens key: {}, requested: {}, granted: {}", key, requested, grant.granted());
+        return grant;
+    }
+
     /**
      * 카운터 감소
      */
@@ -237,4 +733,48 @@ public class RedisUserRepository {
         return value;
     }
 
+    private boolean isNearCached(String key) {
+        return redisNearCache.isPresent() && redisNearCache.get().isCacheable(key);
+    }
+
+    // 로컬 캐시(near-cache / 핫 키) 무효화 - 카운터 증가(INCR 계열)는 핫 키 캐시를 그대로 둠 (최대 local-ttl-ms 지연 허용)
+    private void invalidateLocal(String key) {
+        if (isNearCached(key)) {
+            redisNearCache.get().invalidate(key);
+        }
+        hotKeyDetector.ifPresent(detector -> detector.invalidate(key));
+    }
+
+    private <T> T readThroughHotKeys(String key, String kind, Supplier<T> loader) {
+        return hotKeyDetector.isPresent() ? hotKeyDetector.get().get(key, kind, loader) : loader.get();
+    }
+
+    private byte[] readRawValue(String key) {
+        if (isNearCached(key)) {
+            return redisNearCache.get().get(key);
+        }
+        return readThroughHotKeys(key, "raw",
+                () -> redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey(key))));
+    }
+
+    // StringRedisSerializer 와 같은 변환
+    private String toStringValue(byte[] rawValue) {
+        return rawValue != null ? new String(rawValue, StandardCharsets.UTF_8) : null;
+    }
+
+    // 카운터 값 (INCR 로 저장된 정수 문자열, 없으면 0)
+    private long toLong(Object value) {
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawValue(String value) {
+        return ((RedisSerializer<String>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
 }
@@ -0,0 +1,88 @@
+package com.example.sample.repository;
+
+import com.example.sample.domain.UserOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * user_outbox 테이블 (JDBC) - 벌크 쓰기도 한 번의 배치 insert 로 기록되도록 IDENTITY 엔티티 대신 JDBC 로 처리
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserOutboxRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 이벤트 기록 - 호출한 트랜잭션에 참여 (rewriteBatchedStatements=true 로 multi-row insert)
+     */
+    public void append(Collection<Long> userIds, UserOutbox.Action action) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        SqlParameterSource[] params = userIds.stream()
+                .map(userId -> new MapSqlParameterSource("userId", userId)
+                        .addValue("action", action.name())
+                        .addValue("createdAt", now))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("insert into user_outbox (user_id, action, created_at) values (:userId, :action, :createdAt)", params);
+    }
+
+    /**
+     * 미발행 이벤트를 id 순으로 owner 가 claimedUntil 까지 선점 - 짧은 트랜잭션 안에서 호출 (잠금은 선점 표시까지만 유지)
+     * - 다른 owner 의 선점이 남아 있으면 선점하지 않음 (한 번에 한 인스턴스만 발행해 같은 사용자의 이벤트 순서 유지)
+     * - 선점이 만료된 이벤트(발행 중 장애)는 다른 owner 가 다시 선점해 재발행 (at-least-once)
+     */
+    public List<UserOutbox> claimPending(String owner, Instant now, Instant claimedUntil, int limit) {
+        List<UserOutbox> pending = jdbcTemplate.query("select id, user_id, action, created_at, claimed_by, claimed_until from user_outbox "
+                        + "where published_at is null order by id limit :limit for update",
+                new MapSqlParameterSource("limit", limit),
+                (rs, rowNum) -> UserOutbox.builder()
+                        .id(rs.getLong("id"))
+                        .userId(rs.getLong("user_id"))
+                        .action(UserOutbox.Action.valueOf(rs.getString("action")))
+                        .createdAt(rs.getTimestamp("created_at").toInstant())
+                        .claimedBy(rs.getString("claimed_by"))
+                        .claimedUntil(rs.getTimestamp("claimed_until") != null ? rs.getTimestamp("claimed_until").toInstant() : null)
+                        .build());
+        boolean claimedByOther = pending.stream().anyMatch(outbox -> outbox.getClaimedBy() != null
+                && !owner.equals(outbox.getClaimedBy())
+                && outbox.getClaimedUntil() != null && outbox.getClaimedUntil().isAfter(now));
+        if (pending.isEmpty() || claimedByOther) {
+            return List.of();
+        }
+        jdbcTemplate.update("update user_outbox set claimed_by = :owner, claimed_until = :claimedUntil where id in (:ids)",
+                new MapSqlParameterSource("ids", pending.stream().map(UserOutbox::getId).toList())
+                        .addValue("owner", owner)
+                        .addValue("claimedUntil", Timestamp.from(claimedUntil)));
+        return pending;
+    }
+
+    /**
+     * 발행 완료 일괄 표시
+     */
+    public int markPublished(Collection<Long> ids, Instant publishedAt) {
+        return jdbcTemplate.update("update user_outbox set published_at = :publishedAt where id in (:ids)",
+                new MapSqlParameterSource("ids", ids)
+                        .addValue("publishedAt", Timestamp.from(publishedAt)));
+    }
+
+    /**
+     * 발행 완료 후 보관 기간이 지난 이벤트 삭제 (limit 건씩, published_at 인덱스 범위 삭제)
+     */
+    public int deletePublishedBefore(Instant before, int limit) {
+        return jdbcTemplate.update("delete from user_outbox where published_at < :before order by published_at, id limit :limit",
+                new MapSqlParameterSource("before", Timestamp.from(before))
+                        .addValue("limit", limit));
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.example.sample.service;
+
+import com.example.sample.common.CustomException;
+import com.example.sample.common.ResponseCode;
+import com.example.sample.domain.UserOutbox;
+import com.example.sample.dto.ActiveUserCount;
+import com.example.sample.dto.UserEventMessage;
+import com.example.sample.repository.RedisUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 활성 사용자(DAU/MAU) - Kafka 사용자 이벤트를 일 단위 Bitmap 에 기록하고 기간별 고유 사용자 수를 집계
+ * - 기록: active:{yyyyMMdd} 의 userId 번째 비트를 SETBIT (poll 1회분을 날짜별로 묶어 파이프라인 1회로 전송)
+ * - 조회: 하루는 BITCOUNT, 여러 날은 BITOP OR 로 합집합 후 BITCOUNT (MySQL 전체 스캔 없음)
+ * - 메모리: 일별 키당 최대 max-user-id / 8 bytes (사용자 1명당 하루 1 bit) - max-user-id 는 실제 id 범위에 맞춰 설정
+ * - 같은 topic 으로 발행되는 outbox 변경 이벤트(CREATED/UPDATED/DELETED)는 사용자 활동이 아니므로 제외
+ * - metrics: active_users_events{result=recorded|skipped|ignored}
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActiveUserService {
+
+    private final static String _METRIC_NAME = "active_users";
+    private final static String _ACTIVE_USER_PREFIX = "active:";
+    private final static DateTimeFormatter _DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private final static long _ACTIVE_USER_MERGED_TTL_MINUTES = 10L;
+    private final static long _MAX_BIT_OFFSET = (1L << 32) - 1;   // SETBIT offset 최대값 (512MB 비트맵)
+    private final static Set<String> _OUTBOX_ACTIONS = Stream.of(UserOutbox.Action.values())
+            .map(Enum::name)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final RedisUserRepository redisUserRepository;
+    private final Counter recordedCounter = Metrics.counter(_METRIC_NAME + "_events", "result", "recorded");
+    private final Counter skippedCounter = Metrics.counter(_METRIC_NAME + "_events", "result", "skipped");
+    private final Counter ignoredCounter = Metrics.counter(_METRIC_NAME + "_events", "result", "ignored");
+
+    @Value("${app.redis.active-users.retention-days:400}")
+    private int retentionDays;
+
+    @Value("${app.redis.active-users.zone:Asia/Seoul}")
+    private ZoneId zone;
+
+    @Value("${app.redis.active-users.max-user-id:10000000}")
+    private long maxUserId;
+
+    /**
+     * 활성 사용자 일괄 기록 - 이벤트 시각(없으면 현재)의 날짜별로 userId 를 묶어 파이프라인 1회로 SETBIT
+     * - outbox 변경 이벤트는 무시, userId 가 없거나 0 ~ max-user-id 밖이면, 또는 보관 기간이 지났거나 오늘 이후 날짜면 건너뜀
+     * - 미래 날짜 키는 보관 기간보다 오래 남고 아직 오지 않은 날의 집계를 미리 채우므로 기록하지 않음 (시계가 앞선 producer 등)
+     * - SETBIT 은 멱등이므로 실패한 poll 을 다시 기록해도 결과가 같음
+     */
+    public void recordActive(Collection<UserEventMessage> events) {
+        LocalDate today = LocalDate.now(zone);
+        LocalDate oldest = today.minusDays(retentionDays() - 1L);
+        Map<String, Set<Long>> offsets = new HashMap<>();
+        int recorded = 0;
+        for (UserEventMessage event : events) {
+            if (event != null && event.action() != null && _OUTBOX_ACTIONS.contains(event.action())) {
+                ignoredCounter.increment();
+                continue;
+            }
+            LocalDate day = event == null || event.timestamp() == null ? today : LocalDate.ofInstant(event.timestamp(), zone);
+            if (event == null || event.userId() == null || event.userId() < 0 || day.isBefore(oldest) || day.isAfter(today)) {
+                skippedCounter.increment();
+                continue;
+            }
+            if (event.userId() > maxUserId()) {
+                log.warn("Active user id exceeds app.redis.active-users.max-user-id: {}, userId: {}", maxUserId(), event.userId());
+                skippedCounter.increment();
+                continue;
+            }
+            offsets.computeIfAbsent(activeUserKey(day), key -> new HashSet<>()).add(event.userId());
+            recorded++;
+        }
+        if (offsets.isEmpty()) {
+            return;
+        }
+        redisUserRepository.setBits(offsets, retentionDays(), TimeUnit.DAYS);
+        recordedCounter.increment(recorded);
+    }
+
+    /**
+     * 기간(from ~ to, 양끝 포함) 활성 사용자 수 - 최대 retention-days 일
+     */
+    public ActiveUserCount countActive(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new CustomException(ResponseCode.BAD_REQUEST, "조회 시작일이 종료일보다 늦습니다. from=" + from + ", to=" + to);
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > retentionDays()) {
+            throw new CustomException(ResponseCode.BAD_REQUEST, "조회 기간은 최대 " + retentionDays() + "일 입니다. days=" + days);
+        }
+        Long count;
+        if (days == 1) {
+            count = redisUserRepository.countBits(activeUserKey(from));
+        } else {
+            List<String> sourceKeys = from.datesUntil(to.plusDays(1))
+                    .map(this::activeUserKey)
+                    .toList();
+            String mergedKey = _ACTIVE_USER_PREFIX + from.format(_DAY_FORMAT) + "-" + to.format(_DAY_FORMAT);
+            count = redisUserRepository.mergeBits(mergedKey, sourceKeys, _ACTIVE_USER_MERGED_TTL_MINUTES, TimeUnit.MINUTES);
+        }
+        return ActiveUserCount.builder()
+                .from(from)
+                .to(to)
+                .count(Objects.requireNonNullElse(count, 0L))
+                .build();
+    }
+
+    private String activeUserKey(LocalDate day) {
+        return _ACTIVE_USER_PREFIX + day.format(_DAY_FORMAT);
+    }
+
+    private int retentionDays() {
+        return Math.max(retentionDays, 1);
+    }
+
+    private long maxUserId() {
+        return Math.clamp(maxUserId, 0L, _MAX_BIT_OFFSET);
+    }
+}
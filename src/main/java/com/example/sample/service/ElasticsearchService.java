@@ -1,5 +1,6 @@
 package com.example.sample.service;
 
+import com.example.sample.common.SingleFlight;
 import com.example.sample.domain.ProductDoc;
 import com.example.sample.repository.ElasticsearchProductRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,7 @@ import java.util.Optional;
 public class ElasticsearchService {
 
     private final ElasticsearchProductRepository elasticsearchProductRepository;
+    private final SingleFlight<String, ProductDoc> findByIdFlight = new SingleFlight<>("elasticsearch_find_by_id");
 
     // Create
     public String saveProduct(ProductDoc doc) {
@@ -29,9 +31,9 @@ public class ElasticsearchService {
         return elasticsearchProductRepository.save(existingDoc).getId();
     }
 
-    // Read
+    // Read (같은 id 동시 요청은 하나의 조회로 합침 - ProductDoc 은 변경 가능하므로 호출자마다 복사본 반환)
     public ProductDoc findById(String id) {
-        return elasticsearchProductRepository.findById(id).orElseThrow();
+        return findByIdFlight.execute(id, () -> elasticsearchProductRepository.findById(id).orElseThrow()).copy();
     }
 
     // Search (Keyword)
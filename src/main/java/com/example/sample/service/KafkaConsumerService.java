@@ -7,22 +7,35 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KafkaConsumerService {
 
     private final ObjectMapper objectMapper;
+    private final ActiveUserService activeUserService;
 
-    @KafkaListener(topics = "${kafka.topic.event}", groupId = "${spring.kafka.consumer.group-id}")
-    public void consume(String message) {
-        try {
-            log.info("Consumed message: {}", message);
-            UserEventMessage userEventMessage = objectMapper.readValue(message, UserEventMessage.class);
-            log.info("userEventMessage : {}", userEventMessage);
-        } catch (Exception e) {
-            log.error("Error processing message", e);
+    /**
+     * poll 1회분을 한 번에 받아 메시지별로 파싱한 뒤 활성 사용자를 파이프라인 1회로 기록
+     * - 파싱 실패 메시지는 로그만 남기고 건너뜀, Redis 기록 실패는 예외를 전파해 batch 를 재처리 (SETBIT 은 멱등)
+     */
+    @KafkaListener(topics = "${kafka.topic.event}", groupId = "${spring.kafka.consumer.group-id}", batch = "true")
+    public void consume(List<String> messages) {
+        List<UserEventMessage> userEventMessages = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                log.info("Consumed message: {}", message);
+                UserEventMessage userEventMessage = objectMapper.readValue(message, UserEventMessage.class);
+                log.info("userEventMessage : {}", userEventMessage);
+                userEventMessages.add(userEventMessage);
+            } catch (Exception e) {
+                log.error("Error processing message", e);
+            }
         }
+        activeUserService.recordActive(userEventMessages);
     }
 
 }
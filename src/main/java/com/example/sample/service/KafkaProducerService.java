@@ -10,6 +10,8 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -43,4 +45,24 @@ public class KafkaProducerService {
                     }
                 });
     }
+
+    /**
+     * 여러 메시지를 한 번에 전송 후 flush - key 가 userId 이므로 같은 사용자의 이벤트는 같은 파티션에 전송 순서대로 기록된다
+     *
+     * @return 모든 메시지의 전송이 완료되면 완료되는 future (하나라도 실패하면 예외로 완료)
+     */
+    public CompletableFuture<Void> sendMessages(List<UserEventMessage> messages) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[messages.size()];
+        for (int i = 0; i < messages.size(); i++) {
+            UserEventMessage message = messages.get(i);
+            try {
+                futures[i] = kafkaTemplate.send(eventTopic, String.valueOf(message.userId()), objectMapper.writeValueAsString(message));
+            } catch (JsonProcessingException e) {
+                futures[i] = CompletableFuture.failedFuture(e);
+            }
+        }
+        kafkaTemplate.flush();
+        log.info("Produce messages: {}", messages.size());
+        return CompletableFuture.allOf(futures);
+    }
 }
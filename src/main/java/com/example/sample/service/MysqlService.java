@@ -2,56 +2,282 @@ package com.example.sample.service;
 
 import com.example.sample.common.CustomException;
 import com.example.sample.common.ResponseCode;
+import com.example.sample.common.SingleFlight;
 import com.example.sample.domain.User;
+import com.example.sample.domain.UserOutbox;
+import com.example.sample.dto.BulkUserResult;
+import com.example.sample.dto.UserPageResponse;
 import com.example.sample.dto.UserRequestDto;
+import com.example.sample.dto.UserResponseDto;
+import com.example.sample.dto.UserUpsertResult;
+import com.example.sample.repository.MysqlUserJdbcRepository;
 import com.example.sample.repository.MysqlUserRepository;
+import com.example.sample.repository.UserOutboxRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MysqlService {
 
+    private final static int _MAX_PAGE_SIZE = 1000;
+    private final static int _BULK_CHUNK_SIZE = 500;  // hibernate.jdbc.batch_size 와 동일하게 유지
+
     private final MysqlUserRepository mysqlUserRepository;
+    private final MysqlUserJdbcRepository mysqlUserJdbcRepository;
+    private final UserOutboxRepository userOutboxRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final SingleFlight<Long, UserResponseDto> findOneFlight = new SingleFlight<>("mysql_find_one");
+
+    @Value("${app.mysql.upsert-batch-size:1000}")
+    private int upsertBatchSize;
 
     @Transactional
     public Long save(UserRequestDto dto) {
-        return mysqlUserRepository.save(dto.toEntity()).getId();
+        Long id = mysqlUserRepository.save(dto.toEntity()).getId();
+        userOutboxRepository.append(List.of(id), UserOutbox.Action.CREATED);
+        return id;
+    }
+
+    /**
+     * 벌크 생성 - 청크 단위로 중복 체크 후 JDBC 배치 insert, 요청 순서대로 행별 결과를 반환
+     */
+    @Transactional
+    public List<BulkUserResult> saveAll(List<UserRequestDto> dtos) {
+        List<BulkUserResult> results = new ArrayList<>(dtos.size());
+        Set<String> requestedEmails = new HashSet<>();
+        for (int from = 0; from < dtos.size(); from += _BULK_CHUNK_SIZE) {
+            results.addAll(saveChunk(dtos.subList(from, Math.min(from + _BULK_CHUNK_SIZE, dtos.size())), from, requestedEmails));
+        }
+        return results;
+    }
+
+    /**
+     * 벌크 생성 (스트림) - _BULK_CHUNK_SIZE 건씩 읽어 청크별 트랜잭션으로 insert, 요청 전체를 메모리에 올리지 않음
+     * - 중간 청크가 실패해도 앞선 청크는 커밋된 상태로 남음 (upsert 와 동일)
+     */
+    public List<BulkUserResult> saveAll(Iterator<UserRequestDto> rows) {
+        List<BulkUserResult> results = new ArrayList<>();
+        Set<String> requestedEmails = new HashSet<>();
+        List<UserRequestDto> chunk = new ArrayList<>(_BULK_CHUNK_SIZE);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() >= _BULK_CHUNK_SIZE || !rows.hasNext()) {
+                int from = results.size();
+                results.addAll(Objects.requireNonNull(transactionTemplate.execute(status -> saveChunk(chunk, from, requestedEmails))));
+                chunk.clear();
+            }
+        }
+        log.info("Save users from stream count: {}", results.size());
+        return results;
+    }
+
+    /**
+     * 이메일 기준 벌크 upsert - upsertBatchSize 건씩 (기존 행 조회 1회 + id 예약 1회 + multi-row upsert 1회) 를 청크별 트랜잭션으로 실행
+     * - 같은 청크 안에서 이메일이 중복되면 마지막 행만 반영하고 앞선 행은 skipped 로 집계 (청크를 넘어서면 순서대로 upsert)
+     */
+    public UserUpsertResult upsert(Iterator<UserRequestDto> rows) {
+        int batchSize = Math.max(upsertBatchSize, 1);
+        UserUpsertResult result = UserUpsertResult.EMPTY;
+        while (rows.hasNext()) {
+            Map<String, String> chunk = new LinkedHashMap<>();
+            long skipped = 0;
+            while (rows.hasNext() && chunk.size() < batchSize) {
+                UserRequestDto dto = rows.next();
+                if (dto == null || isBlank(dto.name()) || isBlank(dto.email())) {
+                    skipped++;
+                } else if (chunk.put(dto.email(), dto.name()) != null) {
+                    skipped++;
+                }
+            }
+            result = result.plus(transactionTemplate.execute(status -> upsertChunk(chunk)))
+                    .plus(UserUpsertResult.builder().skipped(skipped).build());
+        }
+        log.info("Upsert users result: {}", result);
+        return result;
     }
 
+    /**
+     * 전체 조회 - 엔티티 대신 projection 으로 조회 (영속성 컨텍스트 / 스냅샷 생성 없음)
+     */
     @Transactional(readOnly = true)
-    public List<User> findAll() {
-        return mysqlUserRepository.findAll();
+    public List<UserResponseDto> findAll() {
+        return mysqlUserRepository.findAllProjectedBy();
     }
 
+    /**
+     * keyset(seek) 페이지 조회 - 마지막 id 이후 size 건을 조회하고 다음 커서를 반환
+     */
     @Transactional(readOnly = true)
-    public User findOne(Long id) {
-        return mysqlUserRepository.findById(id)
-                .orElseThrow(() -> new CustomException(ResponseCode.NOT_FOUND, "해당 사용자가 없습니다. id=" + id));
+    public UserPageResponse findPage(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, _MAX_PAGE_SIZE);
+        List<UserResponseDto> users = mysqlUserRepository.findProjectedByIdGreaterThan(decodeCursor(cursor), Limit.of(pageSize + 1));
+
+        boolean hasNext = users.size() > pageSize;
+        List<UserResponseDto> content = hasNext ? users.subList(0, pageSize) : users;
+        return UserPageResponse.builder()
+                .content(List.copyOf(content))
+                .nextCursor(hasNext ? encodeCursor(content.getLast().id()) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 전체 사용자 스트리밍 - projection 을 한 건씩 전달하므로 영속성 컨텍스트가 커지지 않아 메모리 사용량이 일정
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<UserResponseDto> consumer) {
+        try (Stream<UserResponseDto> users = mysqlUserRepository.streamAllBy()) {
+            users.forEach(consumer);
+        }
+    }
+
+    /**
+     * 상세 조회 - 2차 캐시 적중 시 DB 조회가 없도록 id 로드 후 응답 DTO 로 변환 (repository 의 readOnly 트랜잭션이라 스냅샷 미생성)
+     * - 같은 id 동시 요청은 하나의 조회로 합침 (대기 중인 호출이 커넥션을 잡지 않도록 이 메서드는 트랜잭션 밖에서 실행)
+     */
+    public UserResponseDto findOne(Long id) {
+        return findOneFlight.execute(id, () -> mysqlUserRepository.findById(id)
+                .map(UserResponseDto::from)
+                .orElseThrow(() -> new CustomException(ResponseCode.NOT_FOUND, "해당 사용자가 없습니다. id=" + id)));
     }
 
     @Transactional
     public User update(Long id, UserRequestDto dto) {
-        User user = mysqlUserRepository.findById(id)
-                .orElseThrow(() -> new CustomException(ResponseCode.NOT_FOUND, "해당 사용자가 없습니다. id=" + id));
-        user.update(dto.name(), dto.email());
-        return user;
+        return update(id, dto, null);
     }
 
+    /**
+     * 조회 없이 단일 UPDATE 로 수정 (버전은 항상 1 증가하므로 값이 같아도 수정된 행 1)
+     * - expectedVersion 이 있으면 버전이 일치할 때만 수정 (If-Match), 반환 User 의 version 은 수정 후 버전
+     */
+    @Transactional
+    public User update(Long id, UserRequestDto dto, Long expectedVersion) {
+        Long version = mysqlUserJdbcRepository.update(id, dto.name(), dto.email(), expectedVersion);
+        if (version == null) {
+            if (expectedVersion != null && mysqlUserRepository.existsById(id)) {
+                throw new CustomException(ResponseCode.PRECONDITION_FAILED, "사용자 정보가 변경되었습니다. id=" + id);
+            }
+            throw new CustomException(ResponseCode.NOT_FOUND, "해당 사용자가 없습니다. id=" + id);
+        }
+        userOutboxRepository.append(List.of(id), UserOutbox.Action.UPDATED);
+        return new User(id, dto.name(), dto.email(), version);
+    }
+
+    /**
+     * 조회 없이 단일 DELETE 로 삭제
+     */
     @Transactional
     public void delete(Long id) {
-        User user = mysqlUserRepository.findById(id)
-                .orElseThrow(() -> new CustomException(ResponseCode.NOT_FOUND, "해당 사용자가 없습니다. id=" + id));
-        Optional.ofNullable(user)
-                .ifPresent(u -> {
-                    mysqlUserRepository.deleteById(u.getId());
-                });
+        if (mysqlUserJdbcRepository.deleteById(id) == 0) {
+            throw new CustomException(ResponseCode.NOT_FOUND, "해당 사용자가 없습니다. id=" + id);
+        }
+        userOutboxRepository.append(List.of(id), UserOutbox.Action.DELETED);
+    }
+
+    // 청크 1개 중복 체크 + 배치 insert - from 은 요청 전체에서 청크 첫 행의 index, requestedEmails 는 앞선 청크의 이메일 (청크를 넘는 중복 검출)
+    private List<BulkUserResult> saveChunk(List<UserRequestDto> chunk, int from, Set<String> requestedEmails) {
+        BulkUserResult[] results = new BulkUserResult[chunk.size()];
+        Set<String> existingEmails = findExistingEmails(chunk);
+
+        Map<Integer, User> pending = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = from + i;
+            UserRequestDto dto = chunk.get(i);
+            if (dto == null || isBlank(dto.name()) || isBlank(dto.email())) {
+                results[i] = BulkUserResult.invalid(index);
+            } else if (existingEmails.contains(dto.email()) || !requestedEmails.add(dto.email())) {
+                results[i] = BulkUserResult.duplicate(index, dto.email());
+            } else {
+                pending.put(i, dto.toEntity());
+            }
+        }
+
+        mysqlUserRepository.saveAll(pending.values());
+        entityManager.flush();
+        entityManager.clear();
+        pending.forEach((i, user) -> results[i] = BulkUserResult.created(from + i, user.getId()));
+        userOutboxRepository.append(pending.values().stream().map(User::getId).toList(), UserOutbox.Action.CREATED);
+        return Arrays.asList(results);
+    }
+
+    private UserUpsertResult upsertChunk(Map<String, String> chunk) {
+        Map<String, User> existing = mysqlUserJdbcRepository.findAllByEmails(chunk.keySet());
+        long inserted = chunk.keySet().stream().filter(email -> !existing.containsKey(email)).count();
+        Iterator<Long> newIds = mysqlUserJdbcRepository.nextIds((int) inserted).iterator();
+
+        List<User> users = new ArrayList<>(chunk.size());
+        List<Long> createdIds = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        long unchanged = 0;
+        for (Map.Entry<String, String> entry : chunk.entrySet()) {
+            User current = existing.get(entry.getKey());
+            if (current == null) {
+                User user = new User(newIds.next(), entry.getValue(), entry.getKey());
+                users.add(user);
+                createdIds.add(user.getId());
+            } else if (Objects.equals(current.getName(), entry.getValue())) {
+                unchanged++;
+            } else {
+                users.add(new User(current.getId(), entry.getValue(), entry.getKey()));
+                updatedIds.add(current.getId());
+            }
+        }
+        mysqlUserJdbcRepository.upsert(users);
+        userOutboxRepository.append(createdIds, UserOutbox.Action.CREATED);
+        userOutboxRepository.append(updatedIds, UserOutbox.Action.UPDATED);
+        return new UserUpsertResult(inserted, users.size() - inserted, unchanged, 0);
+    }
+
+    private Set<String> findExistingEmails(List<UserRequestDto> chunk) {
+        List<String> emails = chunk.stream()
+                .filter(Objects::nonNull)
+                .map(UserRequestDto::email)
+                .filter(email -> !isBlank(email))
+                .toList();
+        return emails.isEmpty() ? Set.of() : new HashSet<>(mysqlUserRepository.findEmailsByEmailIn(emails));
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ResponseCode.BAD_REQUEST, "잘못된 커서 입니다. cursor=" + cursor);
+        }
     }
 
 }
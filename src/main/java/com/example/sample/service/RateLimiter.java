@@ -0,0 +1,110 @@
+package com.example.sample.service;
+
+import com.example.sample.common.TooManyRequestsException;
+import com.example.sample.dto.RateLimitGrant;
+import com.example.sample.repository.RedisUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * 분산 요청 수 제한 - Redis token bucket(rate:{name}:{client}) + 로컬 토큰 임대
+ * - Redis 에서 토큰을 1개씩이 아니라 capacity x lease-ratio 개씩 가져와 로컬에서 소진 (대부분의 허용 요청은 Redis 왕복 없음)
+ * - 임대한 토큰은 lease-ttl-ms 가 지나면 버림 (오래 묵힌 토큰으로 한꺼번에 몰아서 허용하지 않도록)
+ * - 거절되면 다음 토큰이 보충될 때까지 로컬에서 바로 거절 (폭주 요청이 Redis 로 전달되지 않음)
+ * - Redis 오류 시 허용 (fail-open)
+ * - 메트릭: rate_limit_requests_total{name, result=local|remote|rejected|fail_open}
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private final static String _METRIC_NAME = "rate_limit";
+    private final static String _RATE_LIMIT_PREFIX = "rate:";
+
+    private final RedisUserRepository redisUserRepository;
+    // 만료돼도 다음 요청이 Redis 에서 다시 받아오므로 정확도에는 영향 없음
+    private final Cache<String, Lease> leases = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .maximumSize(100_000)
+            .build();
+
+    @Value("${app.rate-limit.lease-ratio:0.1}")
+    private double leaseRatio;
+
+    @Value("${app.rate-limit.lease-ttl-ms:1000}")
+    private long leaseTtlMs;
+
+    /**
+     * 토큰 1개 획득 - 없으면 429(TOO_MANY_REQUESTS, Retry-After 헤더 포함)
+     */
+    public void acquire(String name, String client, long capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive. name=" + name);
+        }
+        String key = _RATE_LIMIT_PREFIX + name + ":" + client;
+        Lease lease = leases.get(key, k -> new Lease());
+        // 같은 키의 동시 요청은 Redis 호출 1회를 기다렸다가 받아온 토큰을 나눠 씀
+        synchronized (lease) {
+            long now = System.currentTimeMillis();
+            if (now < lease.blockedUntil) {
+                throw rejected(name, lease.blockedUntil - now);
+            }
+            if (lease.tokens > 0 && now < lease.expireAt) {
+                lease.tokens--;
+                count(name, "local");
+                return;
+            }
+
+            RateLimitGrant grant;
+            try {
+                grant = redisUserRepository.acquireTokens(key, capacity, refillPerSecond, leaseSize(capacity));
+            } catch (Exception e) {
+                count(name, "fail_open");
+                log.warn("Rate limit check failed. request allowed. key: {}", key, e);
+                return;
+            }
+            if (grant.granted() == 0) {
+                lease.tokens = 0;
+                lease.blockedUntil = now + grant.retryAfterMillis();
+                throw rejected(name, grant.retryAfterMillis());
+            }
+            lease.tokens = grant.granted() - 1;
+            lease.expireAt = now + leaseTtlMs;
+            count(name, "remote");
+        }
+    }
+
+    /**
+     * Redis 1회 호출로 가져올 토큰 수 (최소 1)
+     */
+    long leaseSize(long capacity) {
+        return Math.max((long) (capacity * leaseRatio), 1L);
+    }
+
+    private TooManyRequestsException rejected(String name, long retryAfterMillis) {
+        count(name, "rejected");
+        return new TooManyRequestsException(Math.max((retryAfterMillis + 999) / 1000, 1));
+    }
+
+    private void count(String name, String result) {
+        Metrics.counter(_METRIC_NAME + "_requests", "name", name, "result", result).increment();
+    }
+
+    /**
+     * 로컬 임대 토큰 - Lease 단위 synchronized 로 접근
+     */
+    private static final class Lease {
+        long tokens;
+        long expireAt;
+        long blockedUntil;
+    }
+
+}
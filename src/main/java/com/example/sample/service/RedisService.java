@@ -1,16 +1,38 @@
 package com.example.sample.service;
 
+import com.example.sample.common.CustomException;
+import com.example.sample.common.RedisValueCodec;
+import com.example.sample.common.ResponseCode;
+import com.example.sample.common.SingleFlight;
+import com.example.sample.dto.RedisKeyPage;
 import com.example.sample.dto.RedisUserDto;
+import com.example.sample.dto.TrendingItem;
+import com.example.sample.dto.UniqueViewRequest;
+import com.example.sample.dto.ViewCountMigrationResult;
 import com.example.sample.repository.RedisUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,7 +40,35 @@ import java.util.concurrent.TimeUnit;
 public class RedisService {
 
     private final static String _REDIS_USER_PREFIX = "user:";
+    private final static long _USER_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private final static String _SCAN_INITIAL_CURSOR = "0";
+    private final static int _SCAN_MAX_COUNT = 1000;
+    private final static int _BATCH_MAX_SIZE = 1000;
+    private final static String _UNIQUE_VIEW_PREFIX = "uv:";
+    private final static DateTimeFormatter _DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private final static long _UNIQUE_VIEW_MERGED_TTL_MINUTES = 10L;
+    private final static int _MIGRATION_BATCH_SIZE = 500;
+    private final static String _HASH_MAX_LISTPACK_ENTRIES = "hash-max-listpack-entries";
     private final RedisUserRepository redisUserRepository;
+    private final RedisValueCodec redisValueCodec;
+    private final Optional<ViewCountBuffer> viewCountBuffer;
+    private final TrendingService trendingService;
+    private final ViewCountKeys viewCountKeys;
+    private final SingleFlight<String, RedisUserDto> getUserFlight = new SingleFlight<>("redis_get_user");
+    private final SingleFlight<String, byte[]> getUserJsonFlight = new SingleFlight<>("redis_get_user_json");
+
+    @Value("${app.redis.recent.max-size:10}")
+    private int recentMaxSize;
+
+    @Value("${app.redis.unique-views.retention-days:90}")
+    private int uniqueViewRetentionDays;
+
+    // 일 단위 버킷을 나누는 시간대 - 기본은 활성 사용자(DAU)와 같은 시간대
+    @Value("${app.redis.unique-views.zone:Asia/Seoul}")
+    private ZoneId uniqueViewZone;
+
+    @Value("${app.redis.user.ttl-jitter:0.1}")
+    private double userTtlJitter;
 
     // ========== User 관련 메서드 ==========
     public RedisUserDto createUser(RedisUserDto user) {
@@ -30,41 +80,106 @@ public class RedisService {
                 .build();
 
         String key = _REDIS_USER_PREFIX + savedUser.id();
-        redisUserRepository.setValueWithTTL(key, savedUser, 1L, TimeUnit.HOURS);
+        redisUserRepository.setValueWithTTL(key, savedUser, userTtlMillis(), TimeUnit.MILLISECONDS);
         return savedUser;
     }
 
-    public Object getUserById(String userId) {
-        return redisUserRepository.getValue(_REDIS_USER_PREFIX + userId);
+    // 같은 userId 동시 요청은 하나의 GET 으로 합침 - 조회는 TTL 을 바꾸지 않음 (저장 시점 기준 1시간 + jitter 후 만료)
+    public RedisUserDto getUserById(String userId) {
+        return getUserFlight.execute(userId, () -> redisUserRepository.getValue(_REDIS_USER_PREFIX + userId, RedisUserDto.class));
+    }
+
+    // N건을 SET EX 파이프라인 1회로 저장
+    public List<RedisUserDto> createUsers(List<RedisUserDto> users) {
+        checkBatchSize(users.size());
+        Map<String, Object> values = new LinkedHashMap<>();
+        List<RedisUserDto> savedUsers = users.stream()
+                .map(user -> RedisUserDto.builder()
+                        .id(user.id())
+                        .username(user.username())
+                        .email(user.email())
+                        .age(user.age())
+                        .build())
+                .toList();
+        savedUsers.forEach(user -> values.put(_REDIS_USER_PREFIX + user.id(), user));
+        redisUserRepository.setValuesWithTTL(values, key -> userTtlMillis(), TimeUnit.MILLISECONDS);
+        return savedUsers;
+    }
+
+    // N건을 MGET 1회로 조회 - 요청 순서대로 존재하는 사용자만 반환 (userId -> 값)
+    public Map<String, RedisUserDto> getUsersByIds(List<String> userIds) {
+        List<String> distinctIds = userIds.stream().distinct().toList();
+        checkBatchSize(distinctIds.size());
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+        List<RedisUserDto> values = redisUserRepository.multiGet(
+                distinctIds.stream().map(userId -> _REDIS_USER_PREFIX + userId).toList(), RedisUserDto.class);
+        Map<String, RedisUserDto> users = new LinkedHashMap<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            if (values.get(i) != null) {
+                users.put(distinctIds.get(i), values.get(i));
+            }
+        }
+        return users;
+    }
+
+    // HTTP 응답용 JSON 바이트 - 저장된 값이 JSON 이면 역직렬화/재직렬화 없이 그대로 전달 (SMILE/gzip 은 JSON 으로 변환)
+    public byte[] getUserJson(String userId) {
+        return getUserJsonFlight.execute(userId,
+                () -> redisValueCodec.toJson(redisUserRepository.getRawValue(_REDIS_USER_PREFIX + userId)));
     }
 
     public void deleteUser(String userId) {
         redisUserRepository.deleteValue(_REDIS_USER_PREFIX + userId);
     }
 
+    // 1시간 + 0 ~ ttl-jitter 비율의 무작위 추가 시간 - 같은 시점에 저장된 키의 만료 시점 분산
+    private long userTtlMillis() {
+        return _USER_TTL_MILLIS + (long) (_USER_TTL_MILLIS * Math.max(userTtlJitter, 0) * ThreadLocalRandom.current().nextDouble());
+    }
+
     // ========== 공통 메서드 ==========
 
-    public Set<String> searchKeys(String pattern) {
-        return redisUserRepository.getKeys(pattern);
+    // SCAN 1회 - 응답의 cursor 로 다음 페이지 조회 ("0" 이면 처음부터)
+    public RedisKeyPage searchKeys(String pattern, String cursor, int count) {
+        String scanCursor = cursor == null || cursor.isBlank() ? _SCAN_INITIAL_CURSOR : cursor.trim();
+        if (!scanCursor.chars().allMatch(Character::isDigit)) {
+            throw new CustomException(ResponseCode.BAD_REQUEST, "잘못된 cursor 입니다. cursor=" + cursor);
+        }
+        return redisUserRepository.scanKeys(pattern, scanCursor, scanCount(count));
+    }
+
+    // 전체 키를 SCAN 으로 순회하며 consumer 로 전달 (전체 목록을 메모리에 모으지 않음)
+    public void streamKeys(String pattern, int count, Consumer<String> consumer) {
+        redisUserRepository.scanKeys(pattern, scanCount(count), consumer);
+    }
+
+    private long scanCount(int count) {
+        return Math.clamp(count, 1, _SCAN_MAX_COUNT);
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > _BATCH_MAX_SIZE) {
+            throw new CustomException(ResponseCode.BAD_REQUEST, "한 번에 처리할 수 있는 사용자 수를 초과했습니다. max=" + _BATCH_MAX_SIZE);
+        }
     }
 
     // ========== List 예제 ==========
 
+    // 이미 본 항목은 맨 앞으로 이동, 최근 recentMaxSize 개만 유지 (스크립트 1회 - 동시 요청에도 크기 초과 없음)
     public void addToRecentItems(String userId, String itemId) {
         String key = "recent:" + userId;
-        // 최근 10개 항목만 유지
-        redisUserRepository.leftPush(key, itemId);
-
-        // 리스트 크기 제한 (10개)
-        int size = redisUserRepository.getListRange(key, 0, -1).size();
-        if (size > 10) {
-            redisUserRepository.rightPop(key);
-        }
+        redisUserRepository.leftPushDistinct(key, itemId, recentMaxSize());
     }
 
     public List<Object> getRecentItems(String userId) {
         String key = "recent:" + userId;
-        return redisUserRepository.getListRange(key, 0, 9);
+        return redisUserRepository.getListRange(key, 0, recentMaxSize() - 1);
+    }
+
+    private int recentMaxSize() {
+        return Math.max(recentMaxSize, 1);
     }
 
     // ========== Set 예제 ==========
@@ -86,14 +201,137 @@ public class RedisService {
 
     // ========== Counter 예제 ==========
 
+    // 버퍼 모드(app.redis.view-count.buffered)면 로컬에 누적 후 주기적으로 반영 - 반환값은 이 노드가 아는 Redis 값 + 미반영분 (다른 노드 미반영분 제외)
+    // 인기 상품 버킷 기록(ZINCRBY)도 같은 파이프라인(버퍼 모드면 같은 flush)으로 함께 반영
     public Long incrementViewCount(String itemId) {
-        String key = "views:" + itemId;
-        return redisUserRepository.increment(key);
+        if (viewCountBuffer.isPresent()) {
+            return viewCountBuffer.get().increment(itemId);
+        }
+        ViewCountKeys.Location location = viewCountKeys.locate(itemId);
+        String bucketKey = trendingService.bucketKey(Instant.now());
+        long bucketTtlSeconds = trendingService.bucketTtl().toSeconds();
+        if (location.field() != null) {
+            return redisUserRepository.incrementHashWithScore(location.key(), location.field(), viewCountKeys.legacy(itemId).key(),
+                    bucketKey, itemId, bucketTtlSeconds, TimeUnit.SECONDS);
+        }
+        return redisUserRepository.incrementWithScore(location.key(), bucketKey, itemId, bucketTtlSeconds, TimeUnit.SECONDS);
+    }
+
+    // 최근 조회수를 시간 감쇠로 합산한 인기 상품 상위 limit 개
+    public List<TrendingItem> getTrendingItems(int limit) {
+        return trendingService.getTrending(limit);
     }
 
+    // Redis 값 + 이 노드에서 아직 반영하지 않은 증가분
     public Long getViewCount(String itemId) {
-        String key = "views:" + itemId;
-        Object value = redisUserRepository.getValue(key);
-        return value != null ? Long.parseLong(value.toString()) : 0L;
+        long pendingDelta = viewCountBuffer.map(buffer -> buffer.pendingDelta(itemId)).orElse(0L);
+        return viewCountKeys.read(redisUserRepository, itemId) + pendingDelta;
+    }
+
+    // HASH 모드 시작 시 bucket-size 가 서버 hash-max-listpack-entries 이하인지 확인
+    // - 값을 줄여 맞추면 itemId -> 버킷 매핑이 바뀌어 이미 저장된 카운터를 못 찾으므로 자동 조정하지 않고 경고만 남김
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkViewCountBucketSize() {
+        if (viewCountKeys.storage() != ViewCountKeys.Storage.HASH) {
+            return;
+        }
+        Optional<Long> maxListpackEntries = redisUserRepository.getConfig(_HASH_MAX_LISTPACK_ENTRIES).map(Long::parseLong);
+        if (maxListpackEntries.isEmpty()) {
+            log.warn("{} unavailable, cannot verify app.redis.view-count.bucket-size: {}", _HASH_MAX_LISTPACK_ENTRIES, viewCountKeys.bucketSize());
+        } else if (!viewCountKeys.fitsListpack(maxListpackEntries.get())) {
+            log.warn("app.redis.view-count.bucket-size: {} exceeds Redis {}: {} - full buckets fall back to hashtable encoding",
+                    viewCountKeys.bucketSize(), _HASH_MAX_LISTPACK_ENTRIES, maxListpackEntries.get());
+        }
+    }
+
+    // 문자열 키 views:{itemId} 를 Hash 버킷으로 이동 (storage=HASH 로 전환한 뒤 실행, 여러 번 실행해도 안전)
+    // - SCAN 페이지마다 Lua 스크립트 1회로 이동, 숫자가 아닌 itemId 는 기존 키 유지
+    // - 이동 전후 Redis used_memory 를 함께 반환 (다른 쓰기도 섞인 근사치)
+    public ViewCountMigrationResult migrateViewCountsToHash() {
+        if (viewCountKeys.storage() != ViewCountKeys.Storage.HASH) {
+            throw new CustomException(ResponseCode.BAD_REQUEST, "app.redis.view-count.storage=HASH 에서만 이동할 수 있습니다.");
+        }
+        long usedMemoryBefore = redisUserRepository.usedMemory();
+        AtomicLong scanned = new AtomicLong();
+        AtomicLong migrated = new AtomicLong();
+        List<String> page = new ArrayList<>(_MIGRATION_BATCH_SIZE);
+        Runnable flush = () -> {
+            migrated.addAndGet(moveToHash(page));
+            page.clear();
+        };
+        redisUserRepository.scanKeys(viewCountKeys.legacyPattern(), _MIGRATION_BATCH_SIZE, key -> {
+            scanned.incrementAndGet();
+            if (viewCountKeys.locate(viewCountKeys.itemIdOf(key)).field() != null) {
+                page.add(key);
+            }
+            if (page.size() >= _MIGRATION_BATCH_SIZE) {
+                flush.run();
+            }
+        });
+        if (!page.isEmpty()) {
+            flush.run();
+        }
+        long usedMemoryAfter = redisUserRepository.usedMemory();
+        log.info("View counts migrated to hash. scanned: {}, migrated: {}, usedMemory: {} -> {} bytes",
+                scanned.get(), migrated.get(), usedMemoryBefore, usedMemoryAfter);
+        return new ViewCountMigrationResult(scanned.get(), migrated.get(), usedMemoryBefore, usedMemoryAfter);
+    }
+
+    private long moveToHash(List<String> keys) {
+        List<String> hashKeys = new ArrayList<>(keys.size());
+        List<String> fields = new ArrayList<>(keys.size());
+        keys.forEach(key -> {
+            ViewCountKeys.Location location = viewCountKeys.locate(viewCountKeys.itemIdOf(key));
+            hashKeys.add(location.key());
+            fields.add(location.field());
+        });
+        return redisUserRepository.moveToHashFields(List.copyOf(keys), hashKeys, fields);
+    }
+
+    // ========== HyperLogLog 예제 ==========
+
+    // 상품별 고유 조회자 기록 (일 단위 버킷, 키당 최대 약 12KB)
+    public void recordUniqueView(String itemId, String userId) {
+        recordUniqueViews(List.of(new UniqueViewRequest(itemId, userId)));
+    }
+
+    // 여러 조회를 상품별로 묶어 PFADD 파이프라인 1회로 기록
+    public int recordUniqueViews(List<UniqueViewRequest> views) {
+        checkBatchSize(views.size());
+        if (views.isEmpty()) {
+            return 0;
+        }
+        LocalDate today = LocalDate.now(uniqueViewZone);
+        Map<String, List<String>> viewers = views.stream()
+                .collect(Collectors.groupingBy(view -> uniqueViewKey(view.itemId(), today), LinkedHashMap::new,
+                        Collectors.mapping(UniqueViewRequest::userId, Collectors.toList())));
+        // 조회 가능한 가장 오래된 버킷까지 남도록 보관 기간 + 1일
+        redisUserRepository.addToHyperLogLogs(viewers, uniqueViewRetentionDays() + 1L, TimeUnit.DAYS);
+        return views.size();
+    }
+
+    // 최근 days 일(오늘 포함) 고유 조회자 수 - 2일 이상은 일 버킷을 PFMERGE 한 결과를 10분간 보관해 반복 조회에 재사용 (최대 10분 지연)
+    public Long getUniqueViewCount(String itemId, int days) {
+        if (days < 1 || days > uniqueViewRetentionDays()) {
+            throw new CustomException(ResponseCode.BAD_REQUEST, "조회 기간은 1 ~ " + uniqueViewRetentionDays() + "일 입니다. days=" + days);
+        }
+        LocalDate today = LocalDate.now(uniqueViewZone);
+        if (days == 1) {
+            return redisUserRepository.countHyperLogLog(uniqueViewKey(itemId, today));
+        }
+        LocalDate from = today.minusDays(days - 1L);
+        List<String> sourceKeys = from.datesUntil(today.plusDays(1))
+                .map(day -> uniqueViewKey(itemId, day))
+                .toList();
+        String mergedKey = _UNIQUE_VIEW_PREFIX + itemId + ":" + from.format(_DAY_FORMAT) + "-" + today.format(_DAY_FORMAT);
+        return redisUserRepository.mergeHyperLogLogs(mergedKey, sourceKeys, _UNIQUE_VIEW_MERGED_TTL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private String uniqueViewKey(String itemId, LocalDate day) {
+        return _UNIQUE_VIEW_PREFIX + itemId + ":" + day.format(_DAY_FORMAT);
+    }
+
+    private int uniqueViewRetentionDays() {
+        return Math.max(uniqueViewRetentionDays, 1);
     }
 }
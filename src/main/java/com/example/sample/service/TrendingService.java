@@ -0,0 +1,148 @@
+package com.example.sample.service;
+
+import com.example.sample.dto.TrendingItem;
+import com.example.sample.repository.RedisUserRepository;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인기 상품(trending) - 조회 이벤트를 시간 버킷 Sorted Set 에 누적하고 지수 감쇠 가중치로 합산
+ * - 기록: trending:{버킷번호} 에 ZINCRBY (조회수 INCR 과 같은 파이프라인으로 전송)
+ * - 합산: refresh-interval-ms 주기로 최근 buckets 개 버킷을 ZUNIONSTORE WEIGHTS 로 trending:now 에 저장
+ *   (가중치 = 0.5 ^ (버킷 나이 / half-life), 여러 노드 중 락을 잡은 노드만 수행)
+ * - 조회: trending:now 에서 ZREVRANGE WITHSCORES (O(log N + limit))
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private final static String _METRIC_NAME = "trending";
+    private final static String _TRENDING_PREFIX = "trending:";
+    private final static String _TRENDING_KEY = _TRENDING_PREFIX + "now";
+    private final static String _TRENDING_LOCK_KEY = _TRENDING_PREFIX + "lock";
+    private final static int _TRENDING_MAX_LIMIT = 100;
+
+    private final RedisUserRepository redisUserRepository;
+
+    @Value("${app.redis.trending.bucket:5m}")
+    private Duration bucket;
+
+    @Value("${app.redis.trending.buckets:12}")
+    private int buckets;
+
+    @Value("${app.redis.trending.half-life:30m}")
+    private Duration halfLife;
+
+    @Value("${app.redis.trending.refresh-interval-ms:60000}")
+    private long refreshIntervalMs;
+
+    /**
+     * 현재 시각이 속한 버킷 키
+     */
+    public String bucketKey(Instant now) {
+        return _TRENDING_PREFIX + bucketIndex(now);
+    }
+
+    /**
+     * 버킷 보관 기간 - 합산 범위(buckets 개) + 현재 버킷 1개
+     */
+    public Duration bucketTtl() {
+        return bucket.multipliedBy(Math.max(buckets, 1) + 1L);
+    }
+
+    /**
+     * 상품별 조회수 일괄 기록 (ZINCRBY 파이프라인 1회)
+     */
+    public void recordViews(Map<String, Long> views) {
+        if (views.isEmpty()) {
+            return;
+        }
+        Map<String, Double> increments = new HashMap<>();
+        views.forEach((itemId, count) -> increments.put(itemId, count.doubleValue()));
+        redisUserRepository.incrementScores(bucketKey(Instant.now()), increments, bucketTtl().toSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * 주기적 합산 - 락(SET NX PX)을 잡은 노드만 ZUNIONSTORE 수행
+     */
+    @Scheduled(fixedDelayString = "${app.redis.trending.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            aggregateIfLockAcquired();
+        } catch (Exception e) {
+            Metrics.counter(_METRIC_NAME + "_refresh_failures").increment();
+            log.error("Trending refresh failed. will retry next interval", e);
+        }
+    }
+
+    /**
+     * 점수 상위 limit 개 (1 ~ 100)
+     * - 합산 결과가 없으면 주기적 합산과 같은 락을 잡은 요청만 즉시 합산 (동시 요청이 몰려도 ZUNIONSTORE 1회)
+     * - 락을 잡지 못한 요청은 기다리지 않고 현재 저장된 결과(없으면 빈 목록)로 응답
+     */
+    public List<TrendingItem> getTrending(int limit) {
+        int size = Math.clamp(limit, 1, _TRENDING_MAX_LIMIT);
+        if (!Boolean.TRUE.equals(redisUserRepository.hasKey(_TRENDING_KEY))) {
+            aggregateIfLockAcquired();
+        }
+        Set<ZSetOperations.TypedTuple<Object>> tuples = redisUserRepository.getTopWithScores(_TRENDING_KEY, size);
+        if (tuples == null) {
+            return List.of();
+        }
+        return tuples.stream()
+                .map(tuple -> new TrendingItem(Objects.toString(tuple.getValue()), tuple.getScore() != null ? tuple.getScore() : 0.0))
+                .toList();
+    }
+
+    /**
+     * 최근 buckets 개 버킷을 감쇠 가중치로 합산해 trending:now 에 저장 (락 없이 즉시 합산)
+     */
+    public void aggregate(Instant now) {
+        long current = bucketIndex(now);
+        int count = Math.max(buckets, 1);
+        double bucketsPerHalfLife = (double) halfLife.toMillis() / bucket.toMillis();
+        List<String> keys = new ArrayList<>(count);
+        List<Double> weights = new ArrayList<>(count);
+        for (int age = 0; age < count; age++) {
+            keys.add(_TRENDING_PREFIX + (current - age));
+            weights.add(Math.pow(0.5, age / bucketsPerHalfLife));
+        }
+        // 다음 합산이 실패해도 오래된 결과가 남지 않도록 합산 주기의 2배만 유지
+        redisUserRepository.unionWithWeights(_TRENDING_KEY, keys, weights, Math.max(refreshIntervalMs * 2, 1000), TimeUnit.MILLISECONDS);
+        Metrics.counter(_METRIC_NAME + "_refreshes").increment();
+        log.info("Trending aggregated. buckets: {}, from: {}, to: {}", count, keys.getLast(), keys.getFirst());
+    }
+
+    /**
+     * 락은 합산 후에도 해제하지 않음 - 합산 주기 동안 다른 노드/요청의 중복 합산을 막음
+     */
+    private void aggregateIfLockAcquired() {
+        long lockMillis = Math.max(refreshIntervalMs - 100, 100);
+        if (!Boolean.TRUE.equals(redisUserRepository.setIfAbsent(_TRENDING_LOCK_KEY, "1", lockMillis, TimeUnit.MILLISECONDS))) {
+            Metrics.counter(_METRIC_NAME + "_refresh_skipped").increment();
+            return;
+        }
+        aggregate(Instant.now());
+    }
+
+    private long bucketIndex(Instant now) {
+        return now.toEpochMilli() / bucket.toMillis();
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.example.sample.service;
+
+import com.example.sample.domain.UserOutbox;
+import com.example.sample.dto.UserEventMessage;
+import com.example.sample.repository.UserOutboxRepository;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * user_outbox 를 주기적으로 읽어 Kafka(kafka.topic.event)로 발행
+ * - 짧은 트랜잭션으로 배치 선점(claimed_by / claimed_until) 후 커밋 -> 트랜잭션 밖에서 일괄 전송/flush (send-timeout 까지 대기)
+ *   -> 전송 완료 후 일괄 발행 표시 - Kafka 가 느리거나 장애여도 사용자 쓰기(outbox insert)를 잠금으로 막지 않음
+ * - 전송 실패 시 발행 표시하지 않고 다음 주기에 재발행, 이 인스턴스가 죽으면 lease 만료 후 다른 인스턴스가 재발행
+ *   (at-least-once, 소비자는 멱등 처리)
+ * - 발행 후 purge-retention 이 지난 이벤트는 purge-interval-ms 주기로 삭제
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserOutboxRelay {
+
+    private final static String _METRIC_NAME = "user_outbox_relay";
+
+    private final UserOutboxRepository userOutboxRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final TransactionTemplate claimTemplate;
+    private final String owner = UUID.randomUUID().toString();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer deliveryTimer;
+
+    @Value("${app.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.relay.lease:30s}")
+    private Duration lease;
+
+    @Value("${app.outbox.relay.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    @Value("${app.outbox.relay.purge-retention:7d}")
+    private Duration purgeRetention;
+
+    @Value("${app.outbox.relay.purge-batch-size:5000}")
+    private int purgeBatchSize;
+
+    public UserOutboxRelay(UserOutboxRepository userOutboxRepository,
+                           KafkaProducerService kafkaProducerService,
+                           PlatformTransactionManager transactionManager) {
+        this.userOutboxRepository = userOutboxRepository;
+        this.kafkaProducerService = kafkaProducerService;
+        // READ COMMITTED - 선점 조회가 gap lock 을 잡지 않아 동시에 들어오는 outbox insert 를 막지 않음
+        this.claimTemplate = new TransactionTemplate(transactionManager);
+        this.claimTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        // 가장 오래된 미발행 이벤트의 대기 시간 (마지막 선점 기준)
+        Metrics.gauge(_METRIC_NAME + "_lag_seconds", lagMillis, lag -> lag.get() / 1000.0);
+        // 이벤트 기록 ~ 발행 완료까지 걸린 시간
+        this.deliveryTimer = Timer.builder(_METRIC_NAME + "_delivery")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published >= Math.max(batchSize, 1));  // 밀려 있으면 대기 없이 다음 배치
+        } catch (Exception e) {
+            Metrics.counter(_METRIC_NAME + "_failures").increment();
+            log.error("Outbox relay failed. will retry next poll", e);
+        }
+    }
+
+    /**
+     * 발행 완료 후 보관 기간이 지난 이벤트 삭제 - 테이블이 계속 커지지 않도록 purge-batch-size 건씩 반복
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            int limit = Math.max(purgeBatchSize, 1);
+            Instant before = Instant.now().minus(purgeRetention);
+            long purged = 0;
+            int deleted;
+            do {
+                deleted = userOutboxRepository.deletePublishedBefore(before, limit);
+                purged += deleted;
+            } while (deleted >= limit);
+            if (purged > 0) {
+                Metrics.counter(_METRIC_NAME + "_purged").increment(purged);
+                log.info("Outbox purged: {}, published before: {}", purged, before);
+            }
+        } catch (Exception e) {
+            log.error("Outbox purge failed. will retry next interval", e);
+        }
+    }
+
+    /**
+     * 배치 1회 발행 - 발행한 이벤트 수 반환
+     */
+    int relayBatch() {
+        Instant now = Instant.now();
+        List<UserOutbox> batch = Objects.requireNonNullElse(claimTemplate.execute(status ->
+                userOutboxRepository.claimPending(owner, now, now.plus(lease), Math.max(batchSize, 1))), List.of());
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Duration.between(batch.getFirst().getCreatedAt(), now).toMillis());
+
+        List<UserEventMessage> messages = batch.stream()
+                .map(outbox -> new UserEventMessage(outbox.getUserId(), outbox.getAction().name(), outbox.getCreatedAt()))
+                .toList();
+        kafkaProducerService.sendMessages(messages)
+                .orTimeout(sendTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .join();
+
+        Instant publishedAt = Instant.now();
+        userOutboxRepository.markPublished(batch.stream().map(UserOutbox::getId).toList(), publishedAt);
+        batch.forEach(outbox -> deliveryTimer.record(Duration.between(outbox.getCreatedAt(), publishedAt)));
+        Metrics.counter(_METRIC_NAME + "_published").increment(batch.size());
+        log.info("Outbox relay published: {}, lag: {}ms", batch.size(), lagMillis.get());
+        return batch.size();
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.example.sample.service;
+
+import com.example.sample.repository.RedisUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 조회수 증가를 노드 로컬에서 모았다가 주기적으로 Redis 에 반영 (write-coalescing)
+ * - 상품별 LongAdder 에 누적 -> flush-interval-ms 주기 또는 flush-threshold 건 이상 쌓이면 INCRBY(Hash 모드는 HINCRBY) 파이프라인 1회로 반영
+ * - 같은 flush 에서 인기 상품 버킷(TrendingService)에도 증가분을 ZINCRBY 파이프라인으로 기록
+ * - 종료 시 남은 증가분 flush, Redis 반영 실패 시 증가분을 버퍼로 되돌려 다음 flush 에 재시도
+ * - 메트릭: view_count_buffer_pending, view_count_buffer_flushes_total, view_count_buffer_flushed_total, view_count_buffer_failures_total
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.redis.view-count", name = "buffered", havingValue = "true")
+public class ViewCountBuffer implements DisposableBean {
+
+    private final static String _METRIC_NAME = "view_count_buffer";
+
+    private final RedisUserRepository redisUserRepository;
+    private final TrendingService trendingService;
+    private final ViewCountKeys viewCountKeys;
+    private final ConcurrentHashMap<String, LongAdder> buffer = new ConcurrentHashMap<>();
+    private final LongAdder pending = new LongAdder();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // flush 에서 제거된 adder - 제거 직전에 참조를 얻은 증가분을 다음 flush 에서 회수
+    private List<Map.Entry<String, LongAdder>> retired = new ArrayList<>();
+    // Redis 에 반영 중인 증가분 (조회 시 누락 방지)
+    private volatile Map<String, Long> inFlight = Map.of();
+    // 마지막 INCRBY 결과 또는 기준값 조회 결과 (이 노드가 알고 있는 Redis 값) - 유휴 상품은 제거하고 다음 증가 때 다시 조회
+    private final ConcurrentHashMap<String, Long> lastKnown = new ConcurrentHashMap<>();
+    private final Counter flushCounter = Metrics.counter(_METRIC_NAME + "_flushes");
+    private final Counter flushedCounter = Metrics.counter(_METRIC_NAME + "_flushed");
+    private final Counter failureCounter = Metrics.counter(_METRIC_NAME + "_failures");
+
+    @Value("${app.redis.view-count.flush-threshold:10000}")
+    private long flushThreshold;
+
+    public ViewCountBuffer(RedisUserRepository redisUserRepository, TrendingService trendingService, ViewCountKeys viewCountKeys) {
+        this.redisUserRepository = redisUserRepository;
+        this.trendingService = trendingService;
+        this.viewCountKeys = viewCountKeys;
+        Metrics.gauge(_METRIC_NAME + "_pending", pending, LongAdder::sum);
+    }
+
+    /**
+     * 로컬 증가 - 이 노드 기준 조회수 반환 (마지막으로 알고 있는 Redis 값 + 미반영 증가분)
+     * - 기준값이 없으면(첫 증가, 유휴로 제거된 뒤, 재시작 직후) Redis 현재 값을 1회 조회 (다른 노드의 반영분은 다음 flush 때 따라잡음)
+     */
+    public long increment(String itemId) {
+        LongAdder adder = buffer.computeIfAbsent(itemId, key -> new LongAdder());
+        adder.increment();
+        pending.increment();
+        if (pending.sum() >= Math.max(flushThreshold, 1) && flushLock.tryLock()) {
+            try {
+                flushLocked();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        Long baseline = lastKnown.get(itemId);
+        if (baseline == null) {
+            baseline = viewCountKeys.read(redisUserRepository, itemId);
+            // 조회 중 flush 가 더 최신 INCRBY 결과를 넣었으면 덮어쓰지 않음
+            lastKnown.putIfAbsent(itemId, baseline);
+        }
+        return baseline + pendingDelta(itemId);
+    }
+
+    /**
+     * 아직 Redis 에 반영되지 않은 증가분
+     */
+    public long pendingDelta(String itemId) {
+        LongAdder adder = buffer.get(itemId);
+        return (adder != null ? adder.sum() : 0L) + inFlight.getOrDefault(itemId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${app.redis.view-count.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private void flushLocked() {
+        Map<String, Long> deltas = new HashMap<>();
+        // 지난 flush 에서 제거된 adder 에 늦게 반영된 증가분 회수
+        retired.forEach(entry -> addDelta(deltas, entry.getKey(), entry.getValue().sumThenReset()));
+        List<Map.Entry<String, LongAdder>> idle = new ArrayList<>();
+        buffer.forEach((itemId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta == 0 && buffer.remove(itemId, adder)) {
+                idle.add(Map.entry(itemId, adder));
+                lastKnown.remove(itemId);
+            }
+            addDelta(deltas, itemId, delta);
+        });
+        retired = idle;
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        long total = sum(deltas);
+        pending.add(-total);
+        inFlight = deltas;
+        // 문자열 키(views:{itemId})와 Hash 필드(views-hash:{버킷})로 나눠 파이프라인 반영
+        Map<String, ViewCountKeys.Location> locations = new HashMap<>();
+        deltas.keySet().forEach(itemId -> locations.put(itemId, viewCountKeys.locate(itemId)));
+        Map<String, Long> applied = new HashMap<>();
+        try {
+            incrementKeys(deltas, locations, applied);
+            incrementHashes(deltas, locations, applied);
+        } catch (RuntimeException e) {
+            // 유실 방지 - 반영되지 않은 증가분만 버퍼로 되돌림
+            Map<String, Long> failed = new HashMap<>(deltas);
+            failed.keySet().removeAll(applied.keySet());
+            failed.forEach((itemId, delta) -> buffer.computeIfAbsent(itemId, key -> new LongAdder()).add(delta));
+            pending.add(sum(failed));
+            failureCounter.increment();
+            log.error("View count flush failed. will retry next flush. items: {}, increments: {}", failed.size(), sum(failed), e);
+        } finally {
+            inFlight = Map.of();
+        }
+        if (applied.isEmpty()) {
+            return;
+        }
+        long appliedTotal = sum(applied);
+        try {
+            trendingService.recordViews(applied);
+        } catch (RuntimeException e) {
+            // 조회수는 이미 반영됨 - 되돌리면 중복 증가하므로 인기 상품 집계분만 유실 처리
+            log.warn("Trending record failed. items: {}, increments: {}", applied.size(), appliedTotal, e);
+        }
+        flushCounter.increment();
+        flushedCounter.increment(appliedTotal);
+        log.info("View count flushed. items: {}, increments: {}", applied.size(), appliedTotal);
+    }
+
+    private void incrementKeys(Map<String, Long> deltas, Map<String, ViewCountKeys.Location> locations, Map<String, Long> applied) {
+        Map<String, Long> keyDeltas = new HashMap<>();
+        locations.forEach((itemId, location) -> {
+            if (location.field() == null) {
+                keyDeltas.put(location.key(), deltas.get(itemId));
+            }
+        });
+        if (keyDeltas.isEmpty()) {
+            return;
+        }
+        Map<String, Long> values = redisUserRepository.incrementBy(keyDeltas);
+        locations.forEach((itemId, location) -> {
+            if (location.field() == null) {
+                lastKnown.put(itemId, values.get(location.key()));
+                applied.put(itemId, deltas.get(itemId));
+            }
+        });
+    }
+
+    private void incrementHashes(Map<String, Long> deltas, Map<String, ViewCountKeys.Location> locations, Map<String, Long> applied) {
+        Map<String, Map<String, Long>> hashDeltas = new HashMap<>();
+        locations.forEach((itemId, location) -> {
+            if (location.field() != null) {
+                hashDeltas.computeIfAbsent(location.key(), key -> new HashMap<>()).put(location.field(), deltas.get(itemId));
+            }
+        });
+        if (hashDeltas.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Long>> values = redisUserRepository.incrementHashBy(hashDeltas);
+        Map<String, Long> hashValues = new HashMap<>();
+        locations.forEach((itemId, location) -> {
+            if (location.field() != null) {
+                hashValues.put(itemId, values.get(location.key()).get(location.field()));
+                applied.put(itemId, deltas.get(itemId));
+            }
+        });
+        // 아직 Hash 로 이동하지 않은 views:{itemId} 값을 더해 기준값으로 저장 (MGET 1회) - 실패하면 다음 증가 때 다시 조회
+        try {
+            Map<String, Long> legacyValues = redisUserRepository.getCounters(hashValues.keySet().stream()
+                    .map(itemId -> viewCountKeys.legacy(itemId).key())
+                    .toList());
+            hashValues.forEach((itemId, value) -> lastKnown.put(itemId, value + legacyValues.getOrDefault(viewCountKeys.legacy(itemId).key(), 0L)));
+        } catch (RuntimeException e) {
+            hashValues.keySet().forEach(lastKnown::remove);
+            log.warn("View count baseline read failed. items: {}", hashValues.size(), e);
+        }
+    }
+
+    private long sum(Map<String, Long> deltas) {
+        return deltas.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private void addDelta(Map<String, Long> deltas, String itemId, long delta) {
+        if (delta != 0) {
+            deltas.merge(itemId, delta, Long::sum);
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.example.sample.service;
+
+import com.example.sample.repository.RedisUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 조회수 카운터 위치 (app.redis.view-count.storage)
+ * - KEY: 상품마다 최상위 키 views:{itemId} (키당 약 70 bytes 이상의 키 공간 오버헤드)
+ * - HASH: 숫자 itemId 를 bucket-size 개씩 작은 Hash 에 모음 - views-hash:{itemId / bucket-size} 의 필드 {itemId % bucket-size}
+ *   (필드 수가 Redis hash-max-listpack-entries 이하이면 listpack 인코딩으로 저장되어 카운터당 수 bytes)
+ * - HASH 모드에서도 숫자가 아닌 itemId 는 기존 키 사용
+ * - HASH 모드의 조회/증가 결과는 Hash 필드 + 남아 있는 views:{itemId} 키 합계 (이동 전에도 기존 조회수 유지)
+ * - bucket-size 기본값 128 은 Redis hash-max-listpack-entries 기본값과 같음 (서버 설정을 올렸을 때만 키울 것)
+ */
+@Component
+public class ViewCountKeys {
+
+    private final static String _VIEWS_PREFIX = "views:";
+    // 기존 views:{n} 문자열 키와 섞이지 않도록 별도 prefix
+    private final static String _VIEWS_HASH_PREFIX = "views-hash:";
+
+    private final Storage storage;
+    private final long bucketSize;
+
+    public ViewCountKeys(@Value("${app.redis.view-count.storage:KEY}") Storage storage,
+                         @Value("${app.redis.view-count.bucket-size:128}") long bucketSize) {
+        this.storage = storage;
+        this.bucketSize = Math.max(bucketSize, 1);
+    }
+
+    /**
+     * 조회수 카운터 위치 - field 가 null 이면 문자열 키
+     */
+    public Location locate(String itemId) {
+        if (storage == Storage.HASH) {
+            long id = numericId(itemId);
+            if (id >= 0) {
+                return new Location(_VIEWS_HASH_PREFIX + id / bucketSize, String.valueOf(id % bucketSize));
+            }
+        }
+        return legacy(itemId);
+    }
+
+    /**
+     * Redis 에 반영된 조회수 - Hash 위치는 Hash 필드 + 아직 이동하지 않은 views:{itemId} 키 합계 (파이프라인 1회)
+     * - 이동(migrate) 전에도 기존 조회수가 그대로 보이도록 문자열 키가 남아 있는 동안 함께 읽음
+     */
+    public long read(RedisUserRepository redisUserRepository, String itemId) {
+        Location location = locate(itemId);
+        if (location.field() != null) {
+            return redisUserRepository.sumHashFieldAndValue(location.key(), location.field(), legacy(itemId).key());
+        }
+        Object value = redisUserRepository.getValue(location.key());
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    /**
+     * 상품별 문자열 키 (KEY 모드 위치)
+     */
+    public Location legacy(String itemId) {
+        return new Location(_VIEWS_PREFIX + itemId, null);
+    }
+
+    /**
+     * 문자열 키 SCAN 패턴
+     */
+    public String legacyPattern() {
+        return _VIEWS_PREFIX + "*";
+    }
+
+    /**
+     * 문자열 키에서 itemId 추출
+     */
+    public String itemIdOf(String legacyKey) {
+        return legacyKey.substring(_VIEWS_PREFIX.length());
+    }
+
+    public Storage storage() {
+        return storage;
+    }
+
+    public long bucketSize() {
+        return bucketSize;
+    }
+
+    /**
+     * 버킷 필드 수가 서버의 hash-max-listpack-entries 이하인지 (초과하면 버킷이 꽉 찰 때 hashtable 로 바뀌어 메모리 이점이 사라짐)
+     */
+    public boolean fitsListpack(long maxListpackEntries) {
+        return bucketSize <= maxListpackEntries;
+    }
+
+    // 0 이상 정수로만 이루어진 itemId (앞자리 0 이 있으면 다른 itemId 와 겹치므로 제외), 아니면 -1
+    private long numericId(String itemId) {
+        if (itemId.isEmpty() || itemId.length() > 18 || (itemId.length() > 1 && itemId.charAt(0) == '0')) {
+            return -1;
+        }
+        for (int i = 0; i < itemId.length(); i++) {
+            char c = itemId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return Long.parseLong(itemId);
+    }
+
+    public enum Storage {
+        KEY, HASH
+    }
+
+    public record Location(String key, String field) {
+    }
+
+}
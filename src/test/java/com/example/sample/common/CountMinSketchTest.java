@@ -0,0 +1,68 @@
+package com.example.sample.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+class CountMinSketchTest {
+
+    @Test
+    @DisplayName("추정 빈도 - 충돌이 없으면 정확, 충돌이 있어도 과소 추정 없음")
+    void estimate() {
+        // given
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+
+        // when - 폭(64)보다 많은 항목을 기록해 충돌 유도
+        IntStream.range(0, 100).forEach(i -> sketch.add("hot"));
+        IntStream.range(0, 500).forEach(i -> sketch.add("cold-" + i));
+
+        // then
+        Assertions.assertTrue(sketch.estimate("hot") >= 100);
+        IntStream.range(0, 500).forEach(i -> Assertions.assertTrue(sketch.estimate("cold-" + i) >= 1));
+        Assertions.assertEquals(0, new CountMinSketch(4, 64).estimate("hot"));
+    }
+
+    @Test
+    @DisplayName("추정 빈도 - 단일 항목은 정확히 계산, add 는 증가 후 추정치 반환")
+    void add() {
+        // given
+        CountMinSketch sketch = new CountMinSketch(4, 2048);
+
+        // when
+        long first = sketch.add("key");
+        IntStream.range(0, 9).forEach(i -> sketch.add("key"));
+
+        // then
+        Assertions.assertEquals(1, first);
+        Assertions.assertEquals(10, sketch.estimate("key"));
+        Assertions.assertEquals(11, sketch.add("key"));
+    }
+
+    @Test
+    @DisplayName("감쇠 - 전체 카운터 절반 (내림)")
+    void halve() {
+        // given
+        CountMinSketch sketch = new CountMinSketch(4, 2048);
+        IntStream.range(0, 11).forEach(i -> sketch.add("key"));
+
+        // when
+        sketch.halve();
+
+        // then
+        Assertions.assertEquals(5, sketch.estimate("key"));
+        sketch.halve();
+        sketch.halve();
+        sketch.halve();
+        Assertions.assertEquals(0, sketch.estimate("key"));
+    }
+
+    @Test
+    @DisplayName("생성 실패 - depth / width 는 양수")
+    void invalidSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 64));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(4, 0));
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.example.sample.common;
+
+import com.example.sample.annotation.Idempotent;
+import com.example.sample.dto.IdempotentResponse;
+import com.example.sample.repository.RedisUserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+
+    static final String _KEY = "idempotency:test:key-1";
+
+    @Mock
+    RedisUserRepository redisUserRepository;
+
+    @Mock
+    ProceedingJoinPoint pjp;
+
+    RedisValueCodec redisValueCodec = new JacksonRedisValueCodec(new ObjectMapper(), JacksonRedisValueCodec.Format.JSON, 0);
+    IdempotencyAspect idempotencyAspect;
+    MockHttpServletRequest request;
+    Idempotent idempotent;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.idempotencyAspect = new IdempotencyAspect(redisUserRepository, redisValueCodec, new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyAspect, "inFlightTtlMs", 60000L);
+        ReflectionTestUtils.setField(idempotencyAspect, "responseTtl", Duration.ofHours(24));
+        this.request = new MockHttpServletRequest("POST", "/api/v1/test");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        this.idempotent = IdempotencyAspectTest.class.getDeclaredMethod("handler").getAnnotation(Idempotent.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("첫 요청 - 예약 값과 같을 때만 응답 저장 (compare-and-set)")
+    void storeIfReserved() throws Throwable {
+        // given
+        when(pjp.getArgs()).thenReturn(new Object[]{Map.of("name", "A")});
+        when(redisUserRepository.setIfAbsent(eq(_KEY), any(), eq(60000L), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        when(pjp.proceed()).thenReturn(ResponseEntity.ok(1L));
+        when(redisUserRepository.setValueIfEquals(eq(_KEY), any(), any(), anyLong(), any())).thenReturn(true);
+
+        // when
+        Object result = idempotencyAspect.idempotent(pjp, idempotent);
+
+        // then
+        Assertions.assertEquals(ResponseEntity.ok(1L), result);
+        ArgumentCaptor<String> reserved = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> expected = ArgumentCaptor.forClass(String.class);
+        verify(redisUserRepository, times(1)).setIfAbsent(eq(_KEY), reserved.capture(), anyLong(), any());
+        verify(redisUserRepository, times(1)).setValueIfEquals(eq(_KEY), expected.capture(), any(IdempotentResponse.class),
+                eq(Duration.ofHours(24).toMillis()), eq(TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(reserved.getValue(), expected.getValue());
+        verify(redisUserRepository, never()).setValueWithTTL(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("키 범위 - 클라이언트 IP 는 키에 넣지 않고, 인증된 사용자가 있으면 사용자별로 분리")
+    void scopedByPrincipal() throws Throwable {
+        // given
+        when(pjp.getArgs()).thenReturn(new Object[]{Map.of("name", "A")});
+        when(redisUserRepository.setIfAbsent(any(), any(), anyLong(), any())).thenReturn(true);
+        when(pjp.proceed()).thenReturn(ResponseEntity.ok(1L));
+        when(redisUserRepository.setValueIfEquals(any(), any(), any(), anyLong(), any())).thenReturn(true);
+
+        // when - IP 가 바뀐 재시도, 인증된 사용자의 요청
+        request.setRemoteAddr("10.0.0.2");
+        idempotencyAspect.idempotent(pjp, idempotent);
+        request.setUserPrincipal(() -> "alice");
+        idempotencyAspect.idempotent(pjp, idempotent);
+
+        // then
+        verify(redisUserRepository, times(1)).setIfAbsent(eq(_KEY), any(), anyLong(), any());
+        verify(redisUserRepository, times(1)).setIfAbsent(eq("idempotency:test:user:alice:key-1"), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("핸들러 예외 - 예약을 해제하고 예외를 그대로 전달 (재시도가 다시 실행되도록)")
+    void releaseOnException() throws Throwable {
+        // given
+        IllegalStateException failure = new IllegalStateException("handler failed");
+        when(pjp.getArgs()).thenReturn(new Object[]{Map.of("name", "A")});
+        when(redisUserRepository.setIfAbsent(eq(_KEY), any(), anyLong(), any())).thenReturn(true);
+        when(pjp.proceed()).thenThrow(failure);
+
+        // when
+        IllegalStateException thrown = Assertions.assertThrows(IllegalStateException.class, () -> idempotencyAspect.idempotent(pjp, idempotent));
+
+        // then
+        Assertions.assertSame(failure, thrown);
+        ArgumentCaptor<String> reserved = ArgumentCaptor.forClass(String.class);
+        verify(redisUserRepository, times(1)).setIfAbsent(eq(_KEY), reserved.capture(), anyLong(), any());
+        verify(redisUserRepository, times(1)).deleteIfEquals(_KEY, reserved.getValue());
+        verify(redisUserRepository, never()).setValueIfEquals(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("재시도 - 같은 요청이면 저장된 응답 재생, 본문이 다르면 IDEMPOTENCY_KEY_MISMATCH")
+    void replayOrMismatch() throws Throwable {
+        // given - 첫 요청으로 저장된 응답
+        when(pjp.getArgs()).thenReturn(new Object[]{Map.of("name", "A")});
+        when(redisUserRepository.setIfAbsent(eq(_KEY), any(), anyLong(), any())).thenReturn(true, false);
+        when(pjp.proceed()).thenReturn(ResponseEntity.ok(1L));
+        when(redisUserRepository.setValueIfEquals(eq(_KEY), any(), any(), anyLong(), any())).thenReturn(true);
+        idempotencyAspect.idempotent(pjp, idempotent);
+        ArgumentCaptor<IdempotentResponse> stored = ArgumentCaptor.forClass(IdempotentResponse.class);
+        verify(redisUserRepository).setValueIfEquals(eq(_KEY), any(), stored.capture(), anyLong(), any());
+        when(redisUserRepository.getRawValue(_KEY)).thenReturn(redisValueCodec.encode(stored.getValue()));
+
+        // when
+        Object replayed = idempotencyAspect.idempotent(pjp, idempotent);
+        when(pjp.getArgs()).thenReturn(new Object[]{Map.of("name", "B")});
+        CustomException mismatch = Assertions.assertThrows(CustomException.class, () -> idempotencyAspect.idempotent(pjp, idempotent));
+
+        // then - 핸들러는 첫 요청 1회만 실행
+        ResponseEntity<?> response = (ResponseEntity<?>) replayed;
+        Assertions.assertEquals("true", response.getHeaders().getFirst(IdempotencyAspect.REPLAYED_HEADER));
+        Assertions.assertArrayEquals("1".getBytes(), (byte[]) response.getBody());
+        Assertions.assertEquals(ResponseCode.IDEMPOTENCY_KEY_MISMATCH.getHttpStatus().value(), mismatch.getErrorResponse().httpStatus());
+        verify(pjp, times(1)).proceed();
+    }
+
+    @Idempotent(name = "test")
+    private void handler() {
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.example.sample.common;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+class SingleFlightTest {
+
+    static final String _KEY = "key";
+    static final int _CALLERS = 4;
+
+    SimpleMeterRegistry meterRegistry;
+    String name;
+    SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setup() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        // 테스트마다 다른 name 을 사용해 전역 레지스트리의 카운터가 섞이지 않도록 함
+        this.name = "test-" + UUID.randomUUID();
+        this.singleFlight = new SingleFlight<>(name);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+        meterRegistry.close();
+    }
+
+    @Test
+    @DisplayName("동시 호출 : loader 1회 실행, 결과 공유, leader/shared 메트릭 집계")
+    void executeCoalesced() throws Exception {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        List<String> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(_CALLERS)) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(_KEY, () -> {
+                loads.incrementAndGet();
+                entered.countDown();
+                await(release);
+                return "value";
+            }));
+            entered.await();
+            List<Future<String>> followers = startFollowers(executor, loads);
+            release.countDown();
+            results.add(leader.get());
+            for (Future<String> follower : followers) {
+                results.add(follower.get());
+            }
+        }
+
+        // then
+        Assertions.assertEquals(1, loads.get());
+        results.forEach(result -> Assertions.assertEquals("value", result));
+        Assertions.assertEquals(1.0, count("leader"));
+        Assertions.assertEquals(_CALLERS - 1, count("shared"));
+        Assertions.assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("동시 호출 : leader 예외는 모든 대기 호출에 같은 예외로 전달되고 key 는 제거")
+    void executeFailureShared() throws Exception {
+        // given
+        IllegalStateException failure = new IllegalStateException("backend down");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        List<Throwable> errors = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(_CALLERS)) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(_KEY, () -> {
+                loads.incrementAndGet();
+                entered.countDown();
+                await(release);
+                throw failure;
+            }));
+            entered.await();
+            List<Future<String>> followers = startFollowers(executor, loads);
+            release.countDown();
+            errors.add(Assertions.assertThrows(ExecutionException.class, leader::get).getCause());
+            for (Future<String> follower : followers) {
+                errors.add(Assertions.assertThrows(ExecutionException.class, follower::get).getCause());
+            }
+        }
+
+        // then
+        Assertions.assertEquals(1, loads.get());
+        errors.forEach(error -> Assertions.assertSame(failure, error));
+        Assertions.assertEquals(1.0, count("leader"));
+        Assertions.assertEquals(_CALLERS - 1, count("shared"));
+        Assertions.assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("실패 후 재호출 : 결과를 캐시하지 않으므로 loader 를 다시 실행")
+    void executeAfterFailure() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> singleFlight.execute(_KEY, () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("backend down");
+        }));
+        String result = singleFlight.execute(_KEY, () -> {
+            loads.incrementAndGet();
+            return "value";
+        });
+
+        // then
+        Assertions.assertEquals("value", result);
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(2.0, count("leader"));
+        Assertions.assertEquals(0.0, count("shared"));
+        Assertions.assertEquals(0, singleFlight.inFlight());
+    }
+
+    /**
+     * leader 실행 중에 나머지 호출을 시작하고, 모두 shared 로 합류할 때까지 대기
+     * - shared 카운터는 대기 직전에 증가하므로 합류 여부 확인에 사용
+     * - follower 가 loader 를 실행하면 loads 가 증가하므로 검증에서 실패
+     */
+    private List<Future<String>> startFollowers(ExecutorService executor, AtomicInteger loads) throws InterruptedException {
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 1; i < _CALLERS; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute(_KEY, () -> {
+                loads.incrementAndGet();
+                return "follower";
+            })));
+        }
+        while (count("shared") < _CALLERS - 1) {
+            Thread.sleep(10);
+        }
+        return followers;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("single_flight_calls").tags("name", name, "result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
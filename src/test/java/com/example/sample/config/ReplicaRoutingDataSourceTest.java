@@ -0,0 +1,178 @@
+package com.example.sample.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    DataSource primary;
+
+    @Mock
+    Connection primaryConnection;
+
+    @Mock
+    HikariDataSource replica0;
+
+    @Mock
+    HikariDataSource replica1;
+
+    ReplicaRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.clearWriteScope();
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    @Test
+    @DisplayName("readOnly 커넥션은 replica, 쓰기 커넥션은 primary - 쓰기 직후 같은 스레드의 읽기는 primary")
+    void routeByReadOnly() throws SQLException {
+        // given
+        routingDataSource = routing(0L, 0L);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(ReplicaRoutingDataSource.writeTracking(primary));
+        dataSource.setReadOnlyDataSource(routingDataSource);
+        // 기본값을 지정해 기본값 확인용 primary 커넥션(= 쓰기로 기록됨)을 미리 열지 않도록 함
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        dataSource.afterPropertiesSet();
+
+        // when & then
+        Assertions.assertTrue(catalogOf(dataSource, true).startsWith("replica-"));
+        Assertions.assertEquals("primary", catalogOf(dataSource, false));
+        Assertions.assertEquals("primary", catalogOf(dataSource, true));
+    }
+
+    @Test
+    @DisplayName("정상 replica 가 없으면 (복제 중단 / 지연 초과) primary 로 fallback")
+    void fallbackWithoutHealthyReplica() throws SQLException {
+        // given - replica-0 복제 중단(null), replica-1 지연 10초 > 5초
+        routingDataSource = routing(null, 10L);
+
+        // when & then
+        Assertions.assertEquals("primary", catalogOf(routingDataSource));
+    }
+
+    @Test
+    @DisplayName("지연이 max-replication-lag 를 넘는 replica 는 분산 대상에서 제외")
+    void excludeLaggingReplica() throws SQLException {
+        // given - replica-0 지연 10초 > 5초
+        routingDataSource = routing(10L, 1L);
+
+        // when & then
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("replica-1", catalogOf(routingDataSource));
+        }
+    }
+
+    @Test
+    @DisplayName("ROUND_ROBIN - 정상 replica 에 번갈아 분산")
+    void roundRobin() throws SQLException {
+        // given
+        routingDataSource = routing(0L, 0L);
+
+        // when & then
+        Assertions.assertNotEquals(catalogOf(routingDataSource), catalogOf(routingDataSource));
+    }
+
+    @Test
+    @DisplayName("클라이언트 쓰기 범위 - 전달받은 쓰기 시각이 창 안이면 primary, 지났으면 replica")
+    void clientWriteScope() throws SQLException {
+        // given
+        routingDataSource = routing(0L, 0L);
+
+        // when & then
+        ReplicaRoutingDataSource.bindWriteScope(System.currentTimeMillis(), writeAt -> {
+        });
+        Assertions.assertEquals("primary", catalogOf(routingDataSource));
+
+        ReplicaRoutingDataSource.bindWriteScope(System.currentTimeMillis() - Duration.ofSeconds(10).toMillis(), writeAt -> {
+        });
+        Assertions.assertTrue(catalogOf(routingDataSource).startsWith("replica-"));
+    }
+
+    @Test
+    @DisplayName("별도 계정 커넥션 요청도 같은 규칙으로 위임")
+    void getConnectionWithCredentials() throws SQLException {
+        // given
+        Connection replicaConnection = replicaConnection("replica-0");
+        lenient().when(replica0.getConnection("user", "password")).thenReturn(replicaConnection);
+        lenient().when(replica1.getConnection("user", "password")).thenReturn(replicaConnection);
+        routingDataSource = routing(0L, 0L);
+
+        // when
+        try (Connection connection = routingDataSource.getConnection("user", "password")) {
+            // then
+            Assertions.assertEquals("replica-0", connection.getCatalog());
+        }
+    }
+
+    /**
+     * replica-0, replica-1 의 Seconds_Behind_Source 를 지정하고 지연 확인 1회 실행 (null 이면 복제 중단)
+     */
+    private ReplicaRoutingDataSource routing(Long lag0, Long lag1) throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(primaryConnection.getCatalog()).thenReturn("primary");
+        stubReplica(replica0, "replica-0", lag0);
+        stubReplica(replica1, "replica-1", lag1);
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties(true, DataSourceRoutingProperties.LoadBalance.ROUND_ROBIN,
+                Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofHours(1), 10, List.of());
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica0, replica1), properties);
+        dataSource.checkReplicationLag();
+        return dataSource;
+    }
+
+    private void stubReplica(HikariDataSource replica, String name, Long lagSeconds) throws SQLException {
+        Connection connection = replicaConnection(name);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        lenient().when(replica.getPoolName()).thenReturn(name);
+        lenient().when(replica.getConnection()).thenReturn(connection);
+        lenient().when(connection.createStatement()).thenReturn(statement);
+        lenient().when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(resultSet);
+        lenient().when(resultSet.next()).thenReturn(true);
+        lenient().when(resultSet.getObject("Seconds_Behind_Source")).thenReturn(lagSeconds);
+    }
+
+    private Connection replicaConnection(String name) throws SQLException {
+        Connection connection = mock(Connection.class);
+        lenient().when(connection.getCatalog()).thenReturn(name);
+        return connection;
+    }
+
+    private String catalogOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getCatalog();
+        }
+    }
+
+    private String catalogOf(LazyConnectionDataSourceProxy dataSource, boolean readOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            return connection.getCatalog();
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.example.sample.controller;
 
 import com.example.sample.domain.User;
+import com.example.sample.dto.ActiveUserCount;
+import com.example.sample.service.ActiveUserService;
 import com.example.sample.service.KafkaProducerService;
 import com.example.sample.service.MysqlService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,6 +18,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +27,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -35,6 +39,9 @@ class KafkaControllerTest {
     @Mock
     private KafkaProducerService kafkaProducerService; // 가짜 객체 생성
 
+    @Mock
+    private ActiveUserService activeUserService;
+
     @InjectMocks
     private KafkaController kafkaController; // Mock 객체를 주입받는 Controller
 
@@ -65,4 +72,22 @@ class KafkaControllerTest {
 
         verify(kafkaProducerService, times(1)).sendMessage(any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getActiveUsers() throws Exception {
+        // given
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+        given(activeUserService.countActive(from, to))
+                .willReturn(ActiveUserCount.builder().from(from).to(to).count(3L).build());
+
+        // when & then
+        mockMvc.perform(get("/api/v1/kafka/active-users")
+                .param("from", "2026-01-01")
+                .param("to", "2026-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3));
+
+        verify(activeUserService, times(1)).countActive(from, to);
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.sample.controller;
 
 import com.example.sample.domain.User;
+import com.example.sample.dto.BulkUserResult;
+import com.example.sample.dto.UserPageResponse;
 import com.example.sample.dto.UserRequestDto;
+import com.example.sample.dto.UserResponseDto;
+import com.example.sample.dto.UserUpsertResult;
 import com.example.sample.service.MysqlService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.navercorp.fixturemonkey.FixtureMonkey;
@@ -12,26 +16,40 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,14 +61,15 @@ class MysqlControllerTest {
     @InjectMocks
     private MysqlController mysqlController; // Mock 객체를 주입받는 Controller
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     private MockMvc mockMvc;
-    private ObjectMapper objectMapper;
     private FixtureMonkey fixtureMonkey;
 
     @BeforeEach
     void setup() {
         this.mockMvc = MockMvcBuilders.standaloneSetup(mysqlController).build();
-        this.objectMapper = new ObjectMapper();
         this.fixtureMonkey = FixtureMonkey.builder()
                 .objectIntrospector(BuilderArbitraryIntrospector.INSTANCE) // Builder 기반으로 생성
                 .build();
@@ -60,9 +79,9 @@ class MysqlControllerTest {
     @DisplayName("사용자 목록 조회 성공")
     void findAllUser() throws Exception {
         // given
-        List<User> users = List.of(
-                new User(1L, "홍길동", "hong@example.com"),
-                new User(2L, "김철수", "kim@example.com")
+        List<UserResponseDto> users = List.of(
+                new UserResponseDto(1L, "홍길동", "hong@example.com", 0L),
+                new UserResponseDto(2L, "김철수", "kim@example.com", 0L)
         );
 
         given(mysqlService.findAll()).willReturn(users);
@@ -79,12 +98,67 @@ class MysqlControllerTest {
         verify(mysqlService, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("사용자 목록 페이지 조회 성공")
+    void findUserPage() throws Exception {
+        // given
+        UserPageResponse page = UserPageResponse.builder()
+                .content(List.of(new UserResponseDto(1L, "홍길동", "hong@example.com", 0L)))
+                .nextCursor("MQ")
+                .hasNext(true)
+                .build();
+
+        given(mysqlService.findPage(null, 1)).willReturn(page);
+
+        // when & then
+        mockMvc.perform(get("/api/v1/mysql/page")
+                        .param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("MQ"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(mysqlService, times(1)).findPage(null, 1);
+    }
+
+    @Test
+    @DisplayName("사용자 목록 스트리밍 조회 성공")
+    void streamUsers() throws Exception {
+        // given
+        List<UserResponseDto> users = List.of(
+                new UserResponseDto(1L, "hong", "hong@example.com", 0L),
+                new UserResponseDto(2L, "kim", "kim@example.com", 0L)
+        );
+
+        doAnswer(invocation -> {
+            Consumer<UserResponseDto> consumer = invocation.getArgument(0);
+            users.forEach(consumer);
+            return null;
+        }).when(mysqlService).streamAll(any());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/mysql/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"hong\",\"email\":\"hong@example.com\",\"version\":0}\n"
+                                + "{\"id\":2,\"name\":\"kim\",\"email\":\"kim@example.com\",\"version\":0}\n"));
+
+        verify(mysqlService, times(1)).streamAll(any());
+    }
+
     @Test
     @DisplayName("사용자 상세 조회 성공")
     void findByUserId() throws Exception {
         // given
         Long userId = 1L;
-        User user = new User(userId, "홍길동", "hong@example.com");
+        UserResponseDto user = new UserResponseDto(userId, "홍길동", "hong@example.com", 3L);
 
         given(mysqlService.findOne(userId)).willReturn(user);
 
@@ -92,6 +166,7 @@ class MysqlControllerTest {
         mockMvc.perform(get("/api/v1/mysql/{id}", userId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(jsonPath("$.id").value(userId))
                 .andExpect(jsonPath("$.name").value("홍길동"))
                 .andExpect(jsonPath("$.email").value("hong@example.com"));
@@ -99,6 +174,25 @@ class MysqlControllerTest {
         verify(mysqlService, times(1)).findOne(userId);
     }
 
+    @Test
+    @DisplayName("사용자 상세 조회 : If-None-Match 가 현재 ETag 와 같으면 304")
+    void findByUserIdNotModified() throws Exception {
+        // given
+        Long userId = 1L;
+        UserResponseDto user = new UserResponseDto(userId, "홍길동", "hong@example.com", 3L);
+
+        given(mysqlService.findOne(userId)).willReturn(user);
+
+        // when & then
+        mockMvc.perform(get("/api/v1/mysql/{id}", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2\", \"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(mysqlService, times(1)).findOne(userId);
+    }
+
     @Test
     @DisplayName("사용자 생성 성공")
     void createUser() throws Exception {
@@ -123,25 +217,145 @@ class MysqlControllerTest {
     }
 
     @Test
-    @DisplayName("사용자 수정 성공")
+    @DisplayName("사용자 일괄 생성 성공 (JSON 배열)")
+    void createUsers() throws Exception {
+        // given
+        List<UserRequestDto> requestDtos = List.of(
+                new UserRequestDto("홍길동", "hong@example.com"),
+                new UserRequestDto("김철수", "hong@example.com")
+        );
+        List<BulkUserResult> results = List.of(
+                BulkUserResult.created(0, 1L),
+                BulkUserResult.duplicate(1, "hong@example.com")
+        );
+
+        given(mysqlService.saveAll(anyList())).willReturn(results);
+
+        // when & then
+        mockMvc.perform(post("/api/v1/mysql/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("DUPLICATE"));
+
+        verify(mysqlService, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("사용자 일괄 생성 성공 (NDJSON)")
+    void createUsersFromNdjson() throws Exception {
+        // given
+        String ndjson = "{\"name\":\"hong\",\"email\":\"hong@example.com\"}\n"
+                + "{\"name\":\"kim\",\"email\":\"kim@example.com\"}\n";
+        List<BulkUserResult> results = List.of(BulkUserResult.created(0, 1L), BulkUserResult.created(1, 2L));
+
+        List<UserRequestDto> received = new ArrayList<>();
+        given(mysqlService.saveAll(any(Iterator.class))).willAnswer(invocation -> {
+            invocation.<Iterator<UserRequestDto>>getArgument(0).forEachRemaining(received::add);
+            return results;
+        });
+
+        // when & then
+        mockMvc.perform(post("/api/v1/mysql/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[1].id").value(2L));
+
+        assertEquals(List.of(
+                new UserRequestDto("hong", "hong@example.com"),
+                new UserRequestDto("kim", "kim@example.com")), received);
+        verify(mysqlService, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("사용자 일괄 upsert 성공 (JSON 배열)")
+    void upsertUsers() throws Exception {
+        // given
+        List<UserRequestDto> requestDtos = List.of(
+                new UserRequestDto("홍길동", "hong@example.com"),
+                new UserRequestDto("김철수", "kim@example.com")
+        );
+
+        given(mysqlService.upsert(any())).willReturn(new UserUpsertResult(1, 1, 0, 0));
+
+        // when & then
+        mockMvc.perform(post("/api/v1/mysql/upsert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.unchanged").value(0));
+
+        verify(mysqlService, times(1)).upsert(any());
+    }
+
+    @Test
+    @DisplayName("사용자 일괄 upsert 성공 (NDJSON)")
+    void upsertUsersFromNdjson() throws Exception {
+        // given
+        String ndjson = "{\"name\":\"hong\",\"email\":\"hong@example.com\"}\n";
+
+        given(mysqlService.upsert(any())).willReturn(new UserUpsertResult(0, 0, 1, 0));
+
+        // when & then
+        mockMvc.perform(post("/api/v1/mysql/upsert")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unchanged").value(1));
+
+        verify(mysqlService, times(1)).upsert(any());
+    }
+
+    @Test
+    @DisplayName("사용자 수정 성공 : If-Match 없이도 새 ETag 반환")
     void updateUser() throws Exception {
         // given
         Long userId = 1L;
         UserRequestDto requestDto = new UserRequestDto("홍길동 수정", "hong.updated@example.com");
-        User updatedUser = new User(userId, "홍길동 수정", "hong.updated@example.com");
+        User updatedUser = new User(userId, "홍길동 수정", "hong.updated@example.com", 2L);
 
-        given(mysqlService.update(eq(userId), any(UserRequestDto.class))).willReturn(updatedUser);
+        given(mysqlService.update(eq(userId), any(UserRequestDto.class), isNull())).willReturn(updatedUser);
 
         // when & then
         mockMvc.perform(put("/api/v1/mysql/{id}", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestDto)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
                 .andExpect(jsonPath("$.id").value(userId))
                 .andExpect(jsonPath("$.name").value("홍길동 수정"))
-                .andExpect(jsonPath("$.email").value("hong.updated@example.com"));
+                .andExpect(jsonPath("$.email").value("hong.updated@example.com"))
+                .andExpect(jsonPath("$.version").value(2L));
+
+        verify(mysqlService, times(1)).update(eq(userId), any(UserRequestDto.class), isNull());
+    }
+
+    @Test
+    @DisplayName("사용자 수정 : If-Match 의 버전으로 조건부 수정 후 새 ETag 반환")
+    void updateUserIfMatch() throws Exception {
+        // given
+        Long userId = 1L;
+        UserRequestDto requestDto = new UserRequestDto("홍길동 수정", "hong.updated@example.com");
+        User updatedUser = new User(userId, "홍길동 수정", "hong.updated@example.com", 4L);
+
+        given(mysqlService.update(eq(userId), any(UserRequestDto.class), eq(3L))).willReturn(updatedUser);
+
+        // when & then
+        mockMvc.perform(put("/api/v1/mysql/{id}", userId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version").value(4L));
 
-        verify(mysqlService, times(1)).update(eq(userId), any(UserRequestDto.class));
+        verify(mysqlService, times(1)).update(eq(userId), any(UserRequestDto.class), eq(3L));
     }
 
     @Test
@@ -1,6 +1,14 @@
 package com.example.sample.controller;
 
+import com.example.sample.common.RateLimitAspect;
+import com.example.sample.common.RestExceptionHandler;
+import com.example.sample.common.TooManyRequestsException;
+import com.example.sample.dto.RedisKeyPage;
 import com.example.sample.dto.RedisUserDto;
+import com.example.sample.dto.TrendingItem;
+import com.example.sample.dto.UniqueViewRequest;
+import com.example.sample.dto.ViewCountMigrationResult;
+import com.example.sample.service.RateLimiter;
 import com.example.sample.service.RedisService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,28 +17,41 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,16 +60,22 @@ class RedisControllerTest {
     @Mock
     private RedisService redisService; // 가짜 객체 생성
 
+    @Mock
+    private RateLimiter rateLimiter;
+
     @InjectMocks
     private RedisController redisController; // Mock 객체를 주입받는 Controller
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     private MockMvc mockMvc;
-    private ObjectMapper objectMapper;
 
     @BeforeEach
     void setup() {
-        this.mockMvc = MockMvcBuilders.standaloneSetup(redisController).build();
-        this.objectMapper = new ObjectMapper();
+        this.mockMvc = MockMvcBuilders.standaloneSetup(redisController)
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
     }
 
     @Test
@@ -56,14 +83,15 @@ class RedisControllerTest {
     void getUser() throws Exception {
         // given
         String userId = "user123";
-        Map<String, Object> userData = Map.of(
-                "id", userId,
-                "username", "홍길동",
-                "email", "hong@example.com",
-                "age", 30
-        );
+        RedisUserDto userData = RedisUserDto.builder()
+                .id(userId)
+                .username("홍길동")
+                .email("hong@example.com")
+                .age(30)
+                .build();
+        byte[] storedJson = objectMapper.writeValueAsBytes(userData);
 
-        given(redisService.getUserById(userId)).willReturn(userData);
+        given(redisService.getUserJson(userId)).willReturn(storedJson);
 
         // when & then
         mockMvc.perform(get("/api/v1/redis/users/{userId}", userId)
@@ -72,9 +100,33 @@ class RedisControllerTest {
                 .andExpect(jsonPath("$.id").value(userId))
                 .andExpect(jsonPath("$.username").value("홍길동"))
                 .andExpect(jsonPath("$.email").value("hong@example.com"))
-                .andExpect(jsonPath("$.age").value(30));
+                .andExpect(jsonPath("$.age").value(30))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(storedJson));
+
+        verify(redisService, times(1)).getUserJson(userId);
+    }
 
-        verify(redisService, times(1)).getUserById(userId);
+    @Test
+    @DisplayName("사용자 일괄 조회 성공")
+    void getUsers() throws Exception {
+        // given
+        Map<String, RedisUserDto> users = new LinkedHashMap<>();
+        users.put("user123", new RedisUserDto("user123", "홍길동", "hong@example.com", 30));
+        users.put("user456", new RedisUserDto("user456", "김철수", "kim@example.com", 25));
+
+        given(redisService.getUsersByIds(List.of("user123", "user456", "user789"))).willReturn(users);
+
+        // when & then
+        mockMvc.perform(get("/api/v1/redis/users")
+                        .param("ids", "user123", "user456", "user789")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$.user123.username").value("홍길동"))
+                .andExpect(jsonPath("$.user789").doesNotExist());
+
+        verify(redisService, times(1)).getUsersByIds(List.of("user123", "user456", "user789"));
     }
 
     @Test
@@ -83,14 +135,14 @@ class RedisControllerTest {
         // given
         String userId = "user123";
 
-        given(redisService.getUserById(userId)).willReturn(null);
+        given(redisService.getUserJson(userId)).willReturn(null);
 
         // when & then
         mockMvc.perform(get("/api/v1/redis/users/{userId}", userId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-        verify(redisService, times(1)).getUserById(userId);
+        verify(redisService, times(1)).getUserJson(userId);
     }
 
     @Test
@@ -119,6 +171,27 @@ class RedisControllerTest {
         verify(redisService, times(1)).createUser(any(RedisUserDto.class));
     }
 
+    @Test
+    @DisplayName("사용자 일괄 생성 성공")
+    void createUsers() throws Exception {
+        // given
+        List<RedisUserDto> requestDtos = List.of(
+                new RedisUserDto("user123", "홍길동", "hong@example.com", 30),
+                new RedisUserDto("user456", "김철수", "kim@example.com", 25));
+
+        given(redisService.createUsers(anyList())).willReturn(requestDtos);
+
+        // when & then
+        mockMvc.perform(post("/api/v1/redis/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value("user456"));
+
+        verify(redisService, times(1)).createUsers(anyList());
+    }
+
     @Test
     @DisplayName("사용자 삭제 성공")
     void deleteUser() throws Exception {
@@ -249,41 +322,176 @@ class RedisControllerTest {
         verify(redisService, times(1)).incrementViewCount(itemId);
     }
 
+    @Test
+    @DisplayName("상품 조회수 증가 실패 - @RateLimit 으로 요청 수 제한 초과 시 429 + Retry-After, 서비스 호출 없음")
+    void incrementViewCountTooManyRequests() throws Exception {
+        // given - RateLimitAspect 를 적용한 controller proxy
+        String itemId = "product123";
+        willThrow(new TooManyRequestsException(2)).given(rateLimiter).acquire(eq("item-view"), eq("127.0.0.1"), eq(100L), eq(50.0));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(redisController);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new RateLimitAspect(rateLimiter));
+        MockMvc rateLimitedMockMvc = MockMvcBuilders.standaloneSetup((RedisController) proxyFactory.getProxy())
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+
+        // when & then
+        rateLimitedMockMvc.perform(post("/api/v1/redis/items/{itemId}/view", itemId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.httpStatus").value(429));
+
+        verify(rateLimiter, times(1)).acquire("item-view", "127.0.0.1", 100L, 50.0);
+        verify(redisService, never()).incrementViewCount(any());
+    }
+
+    @Test
+    @DisplayName("상품 고유 조회자 기록 성공")
+    void recordUniqueView() throws Exception {
+        // when & then
+        mockMvc.perform(post("/api/v1/redis/items/{itemId}/unique-view", "product123")
+                        .param("userId", "user123"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("고유 조회자가 기록되었습니다"));
+
+        verify(redisService, times(1)).recordUniqueView("product123", "user123");
+    }
+
+    @Test
+    @DisplayName("상품 고유 조회자 일괄 기록 성공")
+    void recordUniqueViews() throws Exception {
+        // given
+        List<UniqueViewRequest> views = List.of(
+                new UniqueViewRequest("product123", "user123"),
+                new UniqueViewRequest("product456", "user123"));
+
+        given(redisService.recordUniqueViews(views)).willReturn(2);
+
+        // when & then
+        mockMvc.perform(post("/api/v1/redis/items/unique-views")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(views)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        verify(redisService, times(1)).recordUniqueViews(views);
+    }
+
+    @Test
+    @DisplayName("상품 조회수 Hash 이동 성공")
+    void migrateViewCounts() throws Exception {
+        // given
+        given(redisService.migrateViewCountsToHash()).willReturn(new ViewCountMigrationResult(3, 2, 1000L, 400L));
+
+        // when & then
+        mockMvc.perform(post("/api/v1/redis/items/views/migrate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scanned").value(3))
+                .andExpect(jsonPath("$.migrated").value(2))
+                .andExpect(jsonPath("$.usedMemoryAfter").value(400));
+
+        verify(redisService, times(1)).migrateViewCountsToHash();
+    }
+
+    @Test
+    @DisplayName("인기 상품 조회 성공")
+    void getTrendingItems() throws Exception {
+        // given
+        given(redisService.getTrendingItems(2)).willReturn(List.of(new TrendingItem("product123", 12.5), new TrendingItem("product456", 3.0)));
+
+        // when & then
+        mockMvc.perform(get("/api/v1/redis/items/trending")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].itemId").value("product123"))
+                .andExpect(jsonPath("$[0].score").value(12.5));
+
+        verify(redisService, times(1)).getTrendingItems(2);
+    }
+
+    @Test
+    @DisplayName("상품 고유 조회자 수 조회 성공")
+    void getUniqueViewCount() throws Exception {
+        // given
+        given(redisService.getUniqueViewCount("product123", 7)).willReturn(1234L);
+
+        // when & then
+        mockMvc.perform(get("/api/v1/redis/items/{itemId}/unique-views", "product123")
+                        .param("days", "7"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1234"));
+
+        verify(redisService, times(1)).getUniqueViewCount("product123", 7);
+    }
+
     @Test
     @DisplayName("Redis 전체 키 목록 조회 성공")
     void searchKeys() throws Exception {
         // given
         String pattern = "user:*";
-        Set<String> keys = new HashSet<>(Arrays.asList("user:123", "user:456", "user:789"));
+        RedisKeyPage keyPage = new RedisKeyPage(List.of("user:123", "user:456", "user:789"), "24", false);
 
-        given(redisService.searchKeys(pattern)).willReturn(keys);
+        given(redisService.searchKeys(pattern, "12", 50)).willReturn(keyPage);
 
         // when & then
         mockMvc.perform(get("/api/v1/redis/keys")
                         .param("pattern", pattern)
+                        .param("cursor", "12")
+                        .param("count", "50")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(3))
-                .andExpect(jsonPath("$[0]").isString());
+                .andExpect(jsonPath("$.keys.length()").value(3))
+                .andExpect(jsonPath("$.keys[0]").isString())
+                .andExpect(jsonPath("$.cursor").value("24"))
+                .andExpect(jsonPath("$.finished").value(false));
 
-        verify(redisService, times(1)).searchKeys(pattern);
+        verify(redisService, times(1)).searchKeys(pattern, "12", 50);
     }
 
     @Test
     @DisplayName("Redis 전체 키 목록 조회 성공 - 기본 패턴")
     void getRedisInfo() throws Exception {
         // given
-        Set<String> keys = new HashSet<>(Arrays.asList("user:123", "item:456", "cart:789"));
+        RedisKeyPage keyPage = new RedisKeyPage(List.of("user:123", "item:456", "cart:789"), "0", true);
 
-        given(redisService.searchKeys("*")).willReturn(keys);
+        given(redisService.searchKeys("*", "0", 100)).willReturn(keyPage);
 
         // when & then
         mockMvc.perform(get("/api/v1/redis/keys")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(3));
+                .andExpect(jsonPath("$.keys.length()").value(3))
+                .andExpect(jsonPath("$.finished").value(true));
+
+        verify(redisService, times(1)).searchKeys("*", "0", 100);
+    }
+
+    @Test
+    @DisplayName("Redis 키 목록 스트리밍 조회 성공 (NDJSON)")
+    void streamKeys() throws Exception {
+        // given
+        String pattern = "user:*";
+        willAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(2);
+            List.of("user:123", "user:456").forEach(consumer);
+            return null;
+        }).given(redisService).streamKeys(eq(pattern), eq(1000), any());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/redis/keys/stream")
+                        .param("pattern", pattern))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("\"user:123\"\n\"user:456\"\n"));
 
-        verify(redisService, times(1)).searchKeys("*");
+        verify(redisService, times(1)).streamKeys(eq(pattern), eq(1000), any());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.example.sample.integration;
+
+import com.example.sample.repository.RedisUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 활성 사용자 (일 단위 Bitmap - SETBIT 파이프라인 / BITCOUNT / BITOP OR)
+ */
+class ActiveUserIT extends IntegrationTestSupport {
+
+    @Autowired
+    RedisUserRepository redisUserRepository;
+
+    @Autowired
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Test
+    @DisplayName("Bitmap - 날짜별 SETBIT 후 하루는 BITCOUNT, 기간은 BITOP OR 합집합 BITCOUNT")
+    void countActiveUsers() {
+        // given - 1, 2 는 이틀 모두 활성
+        List<String> keys = List.of("active-it:20260101", "active-it:20260102");
+        redisTemplate.delete(keys);
+        redisUserRepository.setBits(Map.of(
+                keys.get(0), Set.of(1L, 2L, 3L),
+                keys.get(1), Set.of(1L, 2L, 100_000L)), 1, TimeUnit.DAYS);
+
+        // when
+        Long firstDay = redisUserRepository.countBits(keys.get(0));
+        Long range = redisUserRepository.mergeBits("active-it:20260101-20260102", keys, 1, TimeUnit.MINUTES);
+
+        // then
+        assertEquals(3L, firstDay);
+        assertEquals(4L, range);
+        assertEquals(0L, redisUserRepository.countBits("active-it:missing"));
+        assertTrue(redisTemplate.getExpire(keys.get(1)) > 0);
+        assertTrue(redisTemplate.getExpire("active-it:20260101-20260102") > 0);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.sample.integration;
+
+import com.example.sample.common.IdempotencyAspect;
+import com.example.sample.common.ResponseCode;
+import com.example.sample.dto.UserResponseDto;
+import com.example.sample.service.ElasticsearchService;
+import com.example.sample.service.MysqlService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Idempotency-Key (POST /api/v1/mysql, POST /api/v1/elasticsearch)
+ */
+class IdempotencyIT extends IntegrationTestSupport {
+
+    @Autowired
+    WebApplicationContext webApplicationContext;
+
+    @Autowired
+    MysqlService mysqlService;
+
+    @Autowired
+    ElasticsearchService elasticsearchService;
+
+    @Autowired
+    RedisTemplate<String, Object> redisTemplate;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key - 같은 키 재시도는 핸들러 없이 저장된 응답 재생")
+    void replay() throws Exception {
+        // given
+        String idempotencyKey = UUID.randomUUID().toString();
+        String email = idempotencyKey + "@test.com";
+        String body = "{\"name\":\"IDEMPOTENT\",\"email\":\"" + email + "\"}";
+
+        // when
+        MvcResult first = mockMvc.perform(post("/api/v1/mysql")
+                        .header(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult retry = mockMvc.perform(post("/api/v1/mysql")
+                        .header(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyAspect.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        // then - 사용자는 1건만 생성
+        assertNull(first.getResponse().getHeader(IdempotencyAspect.REPLAYED_HEADER));
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, retry.getResponse().getContentType());
+        long created = mysqlService.findAll().stream().map(UserResponseDto::email).filter(email::equals).count();
+        assertEquals(1, created);
+
+        mysqlService.delete(Long.valueOf(first.getResponse().getContentAsString()));
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key - 첫 요청이 처리 중이면 DUPLICATE_REQUEST")
+    void inFlight() throws Exception {
+        // given - 다른 노드가 처리 중인 예약
+        String idempotencyKey = UUID.randomUUID().toString();
+        String key = "idempotency:mysql-create-user:" + idempotencyKey;
+        redisTemplate.opsForValue().set(key, "in-flight:other", Duration.ofMinutes(1));
+
+        // when-then
+        mockMvc.perform(post("/api/v1/mysql")
+                        .header(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"IDEMPOTENT\",\"email\":\"" + idempotencyKey + "@test.com\"}"))
+                .andExpect(status().is(ResponseCode.DUPLICATE_REQUEST.getHttpStatus().value()))
+                .andExpect(jsonPath("$.errorCode").value(ResponseCode.DUPLICATE_REQUEST.getCode()));
+
+        redisTemplate.delete(key);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key - 상품 생성 재시도는 저장된 응답(생성된 id) 재생, 본문이 다르면 422")
+    void replayElasticsearch() throws Exception {
+        // given - id 를 보내지 않으면 저장할 때마다 새 id 가 생성됨
+        String idempotencyKey = UUID.randomUUID().toString();
+        String body = "{\"name\":\"IDEMPOTENT\",\"category\":\"cloth\",\"price\":1000.0}";
+
+        // when
+        MvcResult first = mockMvc.perform(post("/api/v1/elasticsearch")
+                        .header(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult retry = mockMvc.perform(post("/api/v1/elasticsearch")
+                        .header(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyAspect.REPLAYED_HEADER, "true"))
+                .andReturn();
+        mockMvc.perform(post("/api/v1/elasticsearch")
+                        .header(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("1000.0", "2000.0")))
+                .andExpect(status().is(ResponseCode.IDEMPOTENCY_KEY_MISMATCH.getHttpStatus().value()))
+                .andExpect(jsonPath("$.errorCode").value(ResponseCode.IDEMPOTENCY_KEY_MISMATCH.getCode()));
+
+        // then - 같은 id 응답, 상품은 1건만 생성
+        String id = first.getResponse().getContentAsString();
+        assertEquals(id, retry.getResponse().getContentAsString());
+        assertNotNull(elasticsearchService.findById(id));
+
+        elasticsearchService.delete(id);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key - 재시도 사이에 클라이언트 IP 가 바뀌어도 저장된 응답 재생")
+    void replayAfterClientIpChange() throws Exception {
+        // given
+        String idempotencyKey = UUID.randomUUID().toString();
+        String body = "{\"name\":\"IDEMPOTENT\",\"category\":\"cloth\",\"price\":1000.0}";
+
+        // when - 셀룰러 -> wifi 전환 등으로 재시도의 접속 주소가 바뀜
+        MvcResult first = mockMvc.perform(post("/api/v1/elasticsearch")
+                        .header(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult retry = mockMvc.perform(post("/api/v1/elasticsearch")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        })
+                        .header(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyAspect.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        // then
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+
+        elasticsearchService.delete(first.getResponse().getContentAsString());
+    }
+
+}
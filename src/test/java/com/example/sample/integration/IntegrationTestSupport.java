@@ -0,0 +1,75 @@
+package com.example.sample.integration;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.lifecycle.Startables;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 통합 테스트 공통 TestContainer 설정 (MySQL, Elasticsearch, Kafka, Redis)
+ * - singleton container: JVM 당 1회 시작하고 클래스별로 멈추지 않음 (Spring context 가 IT 클래스 간에 캐시되므로
+ *   클래스마다 멈추면 다음 클래스가 이미 멈춘 컨테이너 포트로 접속), 종료는 Testcontainers(Ryuk) 가 JVM 종료 시 처리
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+abstract class IntegrationTestSupport {
+
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0")
+            .withInitScript("init-db.sql")
+            .withDatabaseName("appdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withEnv("MYSQL_ROOT_PASSWORD", "test")
+            .withUrlParam("rewriteBatchedStatements", "true")
+            .withUrlParam("useCursorFetch", "true")
+            .waitingFor(Wait.forListeningPort());
+
+    static ElasticsearchContainer elasticsearchContainer = new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:7.17.28")
+            .withEnv("discovery.type", "single-node")
+            .withEnv("ES_JAVA_OPTS", "-Xms512m -Xmx512m")
+            .withEnv("node.name", "local-node")
+            .withEnv("cluster.name", "local-cluster")
+            .withEnv("xpack.security.enabled", "false")
+            .waitingFor(Wait.forListeningPort());
+
+    static KafkaContainer kafkaContainer = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.3.0"))
+            .waitingFor(Wait.forListeningPort());
+
+    static GenericContainer redisContainer = new GenericContainer(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379)
+            .waitingFor(Wait.forListeningPort());
+
+    static {
+        Startables.deepStart(mySQLContainer, elasticsearchContainer, kafkaContainer, redisContainer).join();
+    }
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry) {
+        // MySQL 설정
+        registry.add("spring.datasource.driver-class-name", mySQLContainer::getDriverClassName);
+        registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+
+        // Elasticsearch 설정
+        registry.add("spring.elasticsearch.uris", () -> "http://" + elasticsearchContainer.getHost() + ":" + elasticsearchContainer.getMappedPort(9200));
+        registry.add("spring.elasticsearch.connection-timeout", () -> "60s");
+        registry.add("spring.elasticsearch.socket-timeout", () -> "60s");
+
+        // Kafka 설정
+        registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+
+        // Redis 설정
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", () -> String.valueOf(redisContainer.getMappedPort(6379)));
+        registry.add("spring.data.redis.timeout", () -> "60s");
+    }
+
+}
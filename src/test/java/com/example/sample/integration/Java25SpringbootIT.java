@@ -2,16 +2,20 @@ package com.example.sample.integration;
 
 import com.example.sample.domain.ProductDoc;
 import com.example.sample.domain.User;
+import com.example.sample.dto.RedisKeyPage;
 import com.example.sample.dto.RedisUserDto;
+import com.example.sample.dto.TrendingItem;
 import com.example.sample.dto.UserRequestDto;
+import com.example.sample.dto.UserResponseDto;
+import com.example.sample.dto.UserUpsertResult;
 import com.example.sample.service.ElasticsearchService;
 import com.example.sample.service.KafkaProducerService;
 import com.example.sample.service.MysqlService;
 import com.example.sample.service.RedisService;
+import com.example.sample.service.TrendingService;
 import com.navercorp.fixturemonkey.FixtureMonkey;
 import com.navercorp.fixturemonkey.api.introspector.BuilderArbitraryIntrospector;
 import lombok.extern.slf4j.Slf4j;
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -20,19 +24,10 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.DynamicPropertyRegistry;
-import org.springframework.test.context.DynamicPropertySource;
-import org.testcontainers.containers.GenericContainer;
-import org.testcontainers.containers.KafkaContainer;
-import org.testcontainers.containers.MySQLContainer;
-import org.testcontainers.containers.wait.strategy.Wait;
-import org.testcontainers.elasticsearch.ElasticsearchContainer;
-import org.testcontainers.junit.jupiter.Container;
-import org.testcontainers.junit.jupiter.Testcontainers;
-import org.testcontainers.utility.DockerImageName;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -45,11 +40,8 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Slf4j
-@Testcontainers
-@ActiveProfiles("test")
-@SpringBootTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
-class Java25SpringbootIT {
+class Java25SpringbootIT extends IntegrationTestSupport {
 
     static final Long _ID = 1L;
     static final String _NAME = "DEAN";
@@ -68,6 +60,9 @@ class Java25SpringbootIT {
     @Autowired
     RedisService redisService;
 
+    @Autowired
+    TrendingService trendingService;
+
     @Autowired
     KafkaProducerService kafkaProducerService;
 
@@ -76,78 +71,13 @@ class Java25SpringbootIT {
 
     static FixtureMonkey fixtureMonkey;
 
-    @Container
-    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0")
-            .withInitScript("init-db.sql")
-            .withDatabaseName("appdb")
-            .withUsername("test")
-            .withPassword("test")
-            .withEnv("MYSQL_ROOT_PASSWORD", "test")
-            .withReuse(true)
-            .waitingFor(Wait.forListeningPort());
-
-    @Container
-    static ElasticsearchContainer elasticsearchContainer = new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:7.17.28")
-            .withEnv("discovery.type", "single-node")
-            .withEnv("ES_JAVA_OPTS", "-Xms512m -Xmx512m")
-            .withEnv("node.name", "local-node")
-            .withEnv("cluster.name", "local-cluster")
-            .withEnv("xpack.security.enabled", "false")
-            .withReuse(true)
-            .waitingFor(Wait.forListeningPort());
-
-    @Container
-    static KafkaContainer kafkaContainer = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.3.0"))
-            .withReuse(true)
-            .waitingFor(Wait.forListeningPort());
-
-    @Container
-    static GenericContainer redisContainer = new GenericContainer(DockerImageName.parse("redis:7-alpine"))
-            .withExposedPorts(6379)
-            .withReuse(true)
-            .waitingFor(Wait.forListeningPort());
-
-    @DynamicPropertySource
-    static void dynamicProperties(DynamicPropertyRegistry registry) {
-        // MySQL 설정
-        registry.add("spring.datasource.driver-class-name", mySQLContainer::getDriverClassName);
-        registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
-        registry.add("spring.datasource.username", mySQLContainer::getUsername);
-        registry.add("spring.datasource.password", mySQLContainer::getPassword);
-
-        // Elasticsearch 설정
-        registry.add("spring.elasticsearch.uris", () -> "http://" + elasticsearchContainer.getHost() + ":" + elasticsearchContainer.getMappedPort(9200));
-        registry.add("spring.elasticsearch.connection-timeout", () -> "60s");
-        registry.add("spring.elasticsearch.socket-timeout", () -> "60s");
-
-        // Kafka 설정
-        registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
-
-        // Redis 설정
-        registry.add("spring.data.redis.host", redisContainer::getHost);
-        registry.add("spring.data.redis.port", () -> String.valueOf(redisContainer.getMappedPort(6379)));
-        registry.add("spring.data.redis.timeout", () -> "60s");
-    }
-
     @BeforeAll
     static void beforeAll() {
-        mySQLContainer.start();
-        elasticsearchContainer.start();
-        kafkaContainer.start();
-        redisContainer.start();
         fixtureMonkey = FixtureMonkey.builder()
                 .objectIntrospector(BuilderArbitraryIntrospector.INSTANCE) // Builder 기반으로 생성
                 .build();
     }
 
-    @AfterAll
-    static void afterAll() {
-        mySQLContainer.stop();
-        elasticsearchContainer.stop();
-        kafkaContainer.stop();
-        redisContainer.stop();
-    }
-
     /**
      * TestContainer 정상 체크
      */
@@ -224,7 +154,7 @@ class Java25SpringbootIT {
     @DisplayName("사용자 전체 검색")
     void findAll() {
         // when
-        List<User> list = mysqlService.findAll();
+        List<UserResponseDto> list = mysqlService.findAll();
 
         // then
         Assertions.assertNotNull(list);
@@ -237,11 +167,11 @@ class Java25SpringbootIT {
     @DisplayName("사용자 아이디 검색")
     void findOne() {
         // when
-        User user = mysqlService.findOne(_ID);
+        UserResponseDto user = mysqlService.findOne(_ID);
 
         // then
         Assertions.assertNotNull(user);
-        Assertions.assertEquals(_NAME, user.getName());
+        Assertions.assertEquals(_NAME, user.name());
     }
 
     @Test
@@ -260,6 +190,7 @@ class Java25SpringbootIT {
         Assertions.assertNotNull(savedUser);
         Assertions.assertEquals(modifyName, savedUser.getName());
         Assertions.assertEquals(modifyEmail, savedUser.getEmail());
+        Assertions.assertEquals(mysqlService.findOne(_ID).version(), savedUser.getVersion());
     }
 
     @Test
@@ -268,12 +199,34 @@ class Java25SpringbootIT {
     void delete() {
         // when
         mysqlService.delete(_ID);
-        List<User> list = mysqlService.findAll();
+        List<UserResponseDto> list = mysqlService.findAll();
 
         // then
         assertEquals(0, list.size());
     }
 
+    @Test
+    @Order(15)
+    @DisplayName("사용자 upsert : 신규 생성 후 변경/동일/청크 내 중복 건수 집계, 이후 JPA 생성 id 와 겹치지 않음")
+    void upsert() {
+        // given
+        List<UserRequestDto> inserts = List.of(new UserRequestDto(_NAME, "upsert1@test.com"), new UserRequestDto("FIRST", "upsert2@test.com"), new UserRequestDto(_NAME, "upsert2@test.com"));
+        List<UserRequestDto> updates = List.of(new UserRequestDto("CHANGED", "upsert1@test.com"), new UserRequestDto(_NAME, "upsert2@test.com"));
+
+        // when
+        UserUpsertResult inserted = mysqlService.upsert(inserts.iterator());
+        UserUpsertResult updated = mysqlService.upsert(updates.iterator());
+        mysqlService.save(new UserRequestDto(_NAME, "upsert3@test.com"));
+
+        // then
+        Assertions.assertEquals(new UserUpsertResult(2, 0, 0, 1), inserted);
+        Assertions.assertEquals(new UserUpsertResult(0, 1, 1, 0), updated);
+        List<UserResponseDto> users = mysqlService.findAll();
+        assertThat(users).extracting("name", "email")
+                .containsExactlyInAnyOrder(tuple("CHANGED", "upsert1@test.com"), tuple(_NAME, "upsert2@test.com"), tuple(_NAME, "upsert3@test.com"));
+        assertThat(users).extracting("id").doesNotHaveDuplicates();
+    }
+
     /**
      * kafka 테스트
      */
@@ -324,10 +277,11 @@ class Java25SpringbootIT {
     @DisplayName("사용자 ID 조회")
     void getUserById() {
         // when
-        Object returnObject = redisService.getUserById(String.valueOf(_ID));
+        RedisUserDto returnObject = redisService.getUserById(String.valueOf(_ID));
 
         // then
         Assertions.assertNotNull(returnObject);
+        Assertions.assertEquals(String.valueOf(_ID), returnObject.id());
     }
 
     @Test
@@ -336,7 +290,7 @@ class Java25SpringbootIT {
     void deleteUser() {
         // when
         redisService.deleteUser(String.valueOf(_ID));
-        Object returnObject = redisService.getUserById(String.valueOf(_ID));
+        RedisUserDto returnObject = redisService.getUserById(String.valueOf(_ID));
 
         // then
         Assertions.assertNull(returnObject);
@@ -352,10 +306,20 @@ class Java25SpringbootIT {
 
         // when
         redisService.createUser(redisUserDto);
-        Set<String> keySet = redisService.searchKeys(pattern);
+        Set<String> keySet = new HashSet<>();
+        String cursor = "0";
+        RedisKeyPage keyPage;
+        do {
+            keyPage = redisService.searchKeys(pattern, cursor, 10);
+            keySet.addAll(keyPage.keys());
+            cursor = keyPage.cursor();
+        } while (!keyPage.finished());
+        List<String> streamed = new ArrayList<>();
+        redisService.streamKeys(pattern, 10, streamed::add);
 
         // then
-        Assertions.assertNotNull(keySet);
+        Assertions.assertTrue(keySet.contains("user:" + redisUserDto.id()));
+        Assertions.assertTrue(streamed.contains("user:" + redisUserDto.id()));
     }
 
     @Test
@@ -432,6 +396,24 @@ class Java25SpringbootIT {
         Assertions.assertEquals(3L, resultViewCount);
     }
 
+    @Test
+    @Order(41)
+    @DisplayName("인기 상품 조회 - 조회수 이벤트 기반 감쇠 합산")
+    void getTrendingItems() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            redisService.incrementViewCount("PRD-TRENDING");
+        }
+
+        // when
+        trendingService.aggregate(Instant.now());
+        List<String> itemIds = redisService.getTrendingItems(100).stream().map(TrendingItem::itemId).toList();
+
+        // then - 같은 컨테이너를 쓰는 다른 테스트의 상품이 섞일 수 있으므로 상대 순서만 확인
+        assertThat(itemIds).contains("PRD-TRENDING", _PRD_ID);
+        assertThat(itemIds.indexOf("PRD-TRENDING")).isLessThan(itemIds.indexOf(_PRD_ID));
+    }
+
     /**
      * elasticsearch 테스트
      */
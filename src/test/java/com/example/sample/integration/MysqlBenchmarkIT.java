@@ -0,0 +1,214 @@
+package com.example.sample.integration;
+
+import com.example.sample.common.CustomException;
+import com.example.sample.dto.BulkUserResult;
+import com.example.sample.dto.UserRequestDto;
+import com.example.sample.repository.MysqlUserRepository;
+import com.example.sample.service.MysqlService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MySQL 경로별 성능 비교 (hibernate statistics 의 statement 수 + 소요 시간)
+ */
+@Slf4j
+class MysqlBenchmarkIT extends IntegrationTestSupport {
+
+    static final int _ROWS = 2000;
+
+    @Autowired
+    MysqlService mysqlService;
+
+    @Autowired
+    MysqlUserRepository mysqlUserRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        mysqlUserRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("단건 생성 vs 벌크 생성")
+    void singleInsertVersusBulkInsert() {
+        // given
+        List<UserRequestDto> singles = users("single", _ROWS);
+        List<UserRequestDto> bulk = users("bulk", _ROWS);
+
+        // when
+        long singleStart = System.nanoTime();
+        singles.forEach(mysqlService::save);
+        long singleElapsedMs = (System.nanoTime() - singleStart) / 1_000_000;
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        long bulkStart = System.nanoTime();
+        List<BulkUserResult> results = mysqlService.saveAll(bulk);
+        long bulkElapsedMs = (System.nanoTime() - bulkStart) / 1_000_000;
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        log.info("[benchmark] single insert - rows: {}, statements: {}, elapsed: {}ms", _ROWS, singleStatements, singleElapsedMs);
+        log.info("[benchmark] bulk insert   - rows: {}, statements: {}, elapsed: {}ms", _ROWS, bulkStatements, bulkElapsedMs);
+
+        // then
+        assertEquals(_ROWS, results.size());
+        assertTrue(results.stream().allMatch(result -> result.status() == BulkUserResult.Status.CREATED));
+        assertEquals(_ROWS * 2L, mysqlUserRepository.count());
+        assertTrue(bulkStatements < singleStatements);
+    }
+
+    @Test
+    @DisplayName("단건 반복 조회 - 2차 캐시 적중 / 수정, 삭제 시 무효화")
+    void secondLevelCache() {
+        // given
+        Long id = mysqlService.save(new UserRequestDto("cache", "cache@bench.com"));
+        mysqlService.findOne(id);
+        statistics.clear();
+
+        // when
+        long start = System.nanoTime();
+        IntStream.range(0, _ROWS).forEach(i -> mysqlService.findOne(id));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+
+        log.info("[benchmark] cached findOne - reads: {}, statements: {}, L2 hits: {}, elapsed: {}ms",
+                _ROWS, statements, statistics.getSecondLevelCacheHitCount(), elapsedMs);
+
+        // then
+        assertEquals(0, statements);
+        assertEquals(_ROWS, statistics.getSecondLevelCacheHitCount());
+
+        mysqlService.update(id, new UserRequestDto("cache-updated", "cache@bench.com"));
+        assertEquals("cache-updated", mysqlService.findOne(id).name());
+
+        mysqlService.delete(id);
+        assertThrows(CustomException.class, () -> mysqlService.findOne(id));
+    }
+
+    @Test
+    @DisplayName("수정/삭제 - 조회 후 변경 vs 단일 statement")
+    void selectThenModifyVersusSingleStatement() {
+        // given
+        Long legacyId = mysqlService.save(new UserRequestDto("legacy", "legacy@bench.com"));
+        Long singleId = mysqlService.save(new UserRequestDto("single", "single@bench.com"));
+        entityManagerFactory.getCache().evictAll();  // 2차 캐시 적중 없이 비교
+
+        // when
+        long legacyUpdate = countStatements(() -> mysqlUserRepository.findById(legacyId).orElseThrow()
+                .update("legacy-updated", "legacy@bench.com"));
+        long legacyDelete = countStatements(() -> mysqlUserRepository.findById(legacyId)
+                .ifPresent(user -> mysqlUserRepository.deleteById(user.getId())));
+        long singleUpdate = countStatements(() -> mysqlService.update(singleId, new UserRequestDto("single-updated", "single@bench.com")));
+        long singleDelete = countStatements(() -> mysqlService.delete(singleId));
+
+        log.info("[benchmark] select-then-modify - update statements: {}, delete statements: {}", legacyUpdate, legacyDelete);
+        log.info("[benchmark] single statement   - update statements: {}, delete statements: {}", singleUpdate, singleDelete);
+
+        // then
+        assertTrue(singleUpdate < legacyUpdate);
+        assertTrue(singleDelete < legacyDelete);
+        assertEquals(0, mysqlUserRepository.count());
+    }
+
+    @Test
+    @DisplayName("목록 조회 - 엔티티 vs projection 할당량")
+    void entityVersusProjectionAllocation() {
+        // given
+        mysqlService.saveAll(users("list", _ROWS));
+        entityManagerFactory.getCache().evictAll();
+        readEntities();
+        mysqlService.findAll();  // warm-up
+
+        // when
+        long entityBytes = allocatedBytes(this::readEntities);
+        long projectionBytes = allocatedBytes(() -> assertEquals(_ROWS, mysqlService.findAll().size()));
+
+        log.info("[benchmark] list entity     - rows: {}, allocated: {} KB", _ROWS, entityBytes / 1024);
+        log.info("[benchmark] list projection - rows: {}, allocated: {} KB", _ROWS, projectionBytes / 1024);
+
+        // then
+        assertTrue(projectionBytes < entityBytes);
+    }
+
+    /**
+     * 이전 목록 조회 경로 (관리 상태 엔티티 + dirty checking 스냅샷)
+     */
+    private void readEntities() {
+        transactionTemplate.executeWithoutResult(status -> assertEquals(_ROWS, mysqlUserRepository.findAll().size()));
+    }
+
+    /**
+     * 현재 스레드가 work 실행 중 할당한 바이트 수
+     */
+    private long allocatedBytes(Runnable work) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        work.run();
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    /**
+     * 한 트랜잭션(같은 커넥션) 안에서 실행된 SELECT/UPDATE/DELETE 수 (MySQL 세션 상태 변수 기준)
+     */
+    private long countStatements(Runnable work) {
+        return transactionTemplate.execute(status -> {
+            long before = sessionStatementCount();
+            work.run();
+            entityManager.flush();
+            return sessionStatementCount() - before;
+        });
+    }
+
+    private long sessionStatementCount() {
+        return jdbcTemplate.queryForList("show session status where variable_name in ('Com_select', 'Com_update', 'Com_delete')")
+                .stream()
+                .mapToLong(row -> Long.parseLong(String.valueOf(row.get("Value"))))
+                .sum();
+    }
+
+    private List<UserRequestDto> users(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new UserRequestDto(prefix + i, prefix + i + "@bench.com"))
+                .toList();
+    }
+
+}
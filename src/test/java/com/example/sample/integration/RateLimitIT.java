@@ -0,0 +1,78 @@
+package com.example.sample.integration;
+
+import com.example.sample.common.CustomException;
+import com.example.sample.dto.RateLimitGrant;
+import com.example.sample.repository.RedisUserRepository;
+import com.example.sample.service.RateLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 요청 수 제한 (Redis token bucket Lua 스크립트 + 로컬 토큰 임대)
+ */
+class RateLimitIT extends IntegrationTestSupport {
+
+    @Autowired
+    RedisUserRepository redisUserRepository;
+
+    @Autowired
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Test
+    @DisplayName("token bucket - capacity 까지 획득, 부족하면 남은 만큼만, 비면 거절 + 다음 토큰까지 남은 시간")
+    void acquireTokens() {
+        // given
+        String key = "rate:it-bucket:127.0.0.1";
+        redisTemplate.delete(key);
+
+        // when
+        RateLimitGrant first = redisUserRepository.acquireTokens(key, 10, 1.0, 7);
+        RateLimitGrant partial = redisUserRepository.acquireTokens(key, 10, 1.0, 7);
+        RateLimitGrant empty = redisUserRepository.acquireTokens(key, 10, 1.0, 7);
+
+        // then
+        assertEquals(7, first.granted());
+        assertEquals(3, partial.granted());
+        assertEquals(0, empty.granted());
+        assertTrue(empty.retryAfterMillis() > 0 && empty.retryAfterMillis() <= 1000);
+        assertTrue(redisTemplate.getExpire(key) > 0);
+    }
+
+    @Test
+    @DisplayName("요청 수 제한 - 여러 노드가 토큰을 나눠 가져도 전체 허용 수는 capacity 이내")
+    void acquireAcrossNodes() {
+        // given - 노드 2개, 보충은 사실상 없음
+        redisTemplate.delete("rate:it-nodes:127.0.0.1");
+        List<RateLimiter> nodes = IntStream.range(0, 2).mapToObj(i -> {
+            RateLimiter node = new RateLimiter(redisUserRepository);
+            ReflectionTestUtils.setField(node, "leaseRatio", 0.3);
+            ReflectionTestUtils.setField(node, "leaseTtlMs", 60000L);
+            return node;
+        }).toList();
+
+        // when
+        long allowed = IntStream.range(0, 40).filter(i -> {
+            try {
+                nodes.get(i % 2).acquire("it-nodes", "127.0.0.1", 20, 0.001);
+                return true;
+            } catch (CustomException e) {
+                return false;
+            }
+        }).count();
+
+        // then
+        assertEquals(20, allowed);
+        assertThrows(CustomException.class, () -> nodes.getFirst().acquire("it-nodes", "127.0.0.1", 20, 0.001));
+    }
+
+}
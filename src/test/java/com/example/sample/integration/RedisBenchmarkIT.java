@@ -0,0 +1,346 @@
+package com.example.sample.integration;
+
+import com.example.sample.dto.RedisUserDto;
+import com.example.sample.dto.UniqueViewRequest;
+import com.example.sample.repository.RedisUserRepository;
+import com.example.sample.service.RedisService;
+import com.example.sample.service.TrendingService;
+import com.example.sample.service.ViewCountBuffer;
+import com.example.sample.service.ViewCountKeys;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Redis 경로별 성능 비교 (서버가 처리한 read 이벤트 수 = 네트워크 왕복 수 근사치 + 소요 시간)
+ */
+@Slf4j
+class RedisBenchmarkIT extends IntegrationTestSupport {
+
+    static final int _USERS = 50;
+
+    @Autowired
+    RedisService redisService;
+
+    @Autowired
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    RedisUserRepository redisUserRepository;
+
+    @Autowired
+    TrendingService trendingService;
+
+    @Test
+    @DisplayName("단건 반복 생성/조회 vs 파이프라인 생성 / MGET 조회")
+    void serialVersusBatch() {
+        // given
+        List<RedisUserDto> singles = users("single");
+        List<RedisUserDto> batch = users("batch");
+
+        // when
+        long singleWriteReads = readsProcessed();
+        long singleWriteStart = System.nanoTime();
+        singles.forEach(redisService::createUser);
+        long singleWriteElapsedUs = (System.nanoTime() - singleWriteStart) / 1_000;
+        long singleWriteRoundTrips = readsProcessed() - singleWriteReads - 1;
+
+        long batchWriteReads = readsProcessed();
+        long batchWriteStart = System.nanoTime();
+        redisService.createUsers(batch);
+        long batchWriteElapsedUs = (System.nanoTime() - batchWriteStart) / 1_000;
+        long batchWriteRoundTrips = readsProcessed() - batchWriteReads - 1;
+
+        long singleReadReads = readsProcessed();
+        long singleReadStart = System.nanoTime();
+        long singleFound = singles.stream().map(user -> redisService.getUserById(user.id())).filter(Objects::nonNull).count();
+        long singleReadElapsedUs = (System.nanoTime() - singleReadStart) / 1_000;
+        long singleReadRoundTrips = readsProcessed() - singleReadReads - 1;
+
+        long batchReadReads = readsProcessed();
+        long batchReadStart = System.nanoTime();
+        Map<String, RedisUserDto> batchFound = redisService.getUsersByIds(batch.stream().map(RedisUserDto::id).toList());
+        long batchReadElapsedUs = (System.nanoTime() - batchReadStart) / 1_000;
+        long batchReadRoundTrips = readsProcessed() - batchReadReads - 1;
+
+        log.info("[benchmark] serial SET EX  - users: {}, round trips: {}, elapsed: {}us", _USERS, singleWriteRoundTrips, singleWriteElapsedUs);
+        log.info("[benchmark] pipelined SET  - users: {}, round trips: {}, elapsed: {}us", _USERS, batchWriteRoundTrips, batchWriteElapsedUs);
+        log.info("[benchmark] serial GET     - users: {}, round trips: {}, elapsed: {}us", _USERS, singleReadRoundTrips, singleReadElapsedUs);
+        log.info("[benchmark] MGET           - users: {}, round trips: {}, elapsed: {}us", _USERS, batchReadRoundTrips, batchReadElapsedUs);
+
+        // then
+        assertEquals(_USERS, singleFound);
+        assertEquals(_USERS, batchFound.size());
+        assertTrue(redisTemplate.getExpire("user:" + batch.getFirst().id()) > 0);
+        assertTrue(batchWriteRoundTrips < singleWriteRoundTrips);
+        assertTrue(batchReadRoundTrips < singleReadRoundTrips);
+    }
+
+    @Test
+    @DisplayName("사용자 상세 응답 - 역직렬화 후 재직렬화 vs 저장된 JSON 그대로 전달")
+    void transcodeVersusPassthrough() throws Exception {
+        // given
+        RedisUserDto user = users("passthrough").getFirst();
+        redisService.createUser(user);
+        byte[] expected = redisService.getUserJson(user.id());
+
+        // when
+        long transcodeAllocated = allocatedBytes(() -> IntStream.range(0, _USERS).forEach(i -> {
+            try {
+                objectMapper.writeValueAsBytes(redisService.getUserById(user.id()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        long passthroughAllocated = allocatedBytes(() -> IntStream.range(0, _USERS).forEach(i -> redisService.getUserJson(user.id())));
+
+        log.info("[benchmark] decode + encode - reads: {}, allocated: {} bytes/op", _USERS, transcodeAllocated / _USERS);
+        log.info("[benchmark] passthrough     - reads: {}, allocated: {} bytes/op", _USERS, passthroughAllocated / _USERS);
+
+        // then
+        assertEquals(user, objectMapper.readValue(expected, RedisUserDto.class));
+        assertTrue(passthroughAllocated < transcodeAllocated);
+    }
+
+    @Test
+    @DisplayName("조회수 증가 - 건마다 INCR vs 로컬 버퍼 + INCRBY 파이프라인")
+    void viewCountIncrVersusBuffered() {
+        // given
+        List<String> itemIds = List.of("bench-a", "bench-b", "bench-c");
+        int views = itemIds.size() * 2000;
+        redisTemplate.delete(itemIds.stream().map(itemId -> "views:" + itemId).toList());
+        ViewCountBuffer viewCountBuffer = new ViewCountBuffer(redisUserRepository, trendingService, new ViewCountKeys(ViewCountKeys.Storage.KEY, 1000));
+        ReflectionTestUtils.setField(viewCountBuffer, "flushThreshold", Long.MAX_VALUE);
+
+        // when
+        long serialReads = readsProcessed();
+        IntStream.range(0, views).forEach(i -> redisService.incrementViewCount(itemIds.get(i % itemIds.size())));
+        long serialRoundTrips = readsProcessed() - serialReads - 1;
+
+        long bufferedReads = readsProcessed();
+        IntStream.range(0, views).forEach(i -> viewCountBuffer.increment(itemIds.get(i % itemIds.size())));
+        viewCountBuffer.flush();
+        long bufferedRoundTrips = readsProcessed() - bufferedReads - 1;
+
+        log.info("[benchmark] INCR per view   - views: {}, round trips: {}", views, serialRoundTrips);
+        log.info("[benchmark] buffered INCRBY - views: {}, round trips: {}", views, bufferedRoundTrips);
+
+        // then - 두 경로 합산 결과가 모두 반영됨
+        itemIds.forEach(itemId -> assertEquals(String.valueOf(2L * views / itemIds.size()), redisTemplate.opsForValue().get("views:" + itemId)));
+        assertTrue(bufferedRoundTrips * 100 < serialRoundTrips);
+    }
+
+    @Test
+    @DisplayName("조회수 카운터 메모리 - 상품별 키 vs 1000개 단위 Hash 버킷(listpack) + 이동 스크립트")
+    void viewCountKeyVersusHashMemory() {
+        // given - 카운터 10만 개, 버킷 필드 수(1000)가 listpack 한도 이내가 되도록 설정
+        int counters = 100_000;
+        long firstId = 900_000_000L;
+        ViewCountKeys viewCountKeys = new ViewCountKeys(ViewCountKeys.Storage.HASH, 1000);
+        List<String> itemIds = LongStream.range(firstId, firstId + counters).mapToObj(String::valueOf).toList();
+        List<String> keys = itemIds.stream().map(itemId -> viewCountKeys.legacy(itemId).key()).toList();
+        List<ViewCountKeys.Location> locations = itemIds.stream().map(viewCountKeys::locate).toList();
+        List<String> hashKeys = locations.stream().map(ViewCountKeys.Location::key).distinct().toList();
+        redisTemplate.delete(keys);
+        redisTemplate.delete(hashKeys);
+        Properties config = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().getConfig("hash-max-listpack-entries"));
+        String listpackEntries = Objects.requireNonNull(config).getProperty("hash-max-listpack-entries", "128");
+        setConfig("hash-max-listpack-entries", "1024");
+        try {
+            // when - 상품별 키로 저장 후 Hash 버킷으로 이동 (500개씩)
+            for (int from = 0; from < counters; from += 10_000) {
+                Map<String, Long> deltas = new HashMap<>();
+                keys.subList(from, from + 10_000).forEach(key -> deltas.put(key, 7L));
+                redisUserRepository.incrementBy(deltas);
+            }
+            long keyBytes = memoryUsage(keys);
+            long usedMemoryBefore = redisUserRepository.usedMemory();
+            long moved = 0;
+            for (int from = 0; from < counters; from += 500) {
+                List<ViewCountKeys.Location> page = locations.subList(from, from + 500);
+                moved += redisUserRepository.moveToHashFields(keys.subList(from, from + 500),
+                        page.stream().map(ViewCountKeys.Location::key).toList(),
+                        page.stream().map(ViewCountKeys.Location::field).toList());
+            }
+            long hashBytes = memoryUsage(hashKeys);
+            long usedMemoryAfter = redisUserRepository.usedMemory();
+            String encoding = redisTemplate.execute((RedisCallback<String>) connection -> new String((byte[]) connection.execute("OBJECT",
+                    "ENCODING".getBytes(StandardCharsets.UTF_8), hashKeys.getFirst().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+
+            log.info("[benchmark] view counters per key     - counters: {}, memory: {} bytes ({} bytes/counter)",
+                    counters, keyBytes, keyBytes / counters);
+            log.info("[benchmark] view counters hash bucket - buckets: {}, memory: {} bytes ({} bytes/counter), encoding: {}",
+                    hashKeys.size(), hashBytes, hashBytes / counters, encoding);
+            log.info("[benchmark] view counters migration   - moved: {}, used_memory: {} -> {} bytes", moved, usedMemoryBefore, usedMemoryAfter);
+
+            // then - 값 보존, 원본 키 삭제, listpack 유지
+            assertEquals(counters, moved);
+            assertEquals("7", redisTemplate.opsForHash().get(locations.getLast().key(), locations.getLast().field()));
+            assertEquals(Boolean.FALSE, redisTemplate.hasKey(keys.getFirst()));
+            assertEquals("listpack", encoding);
+            assertTrue(hashBytes * 4 < keyBytes);
+        } finally {
+            setConfig("hash-max-listpack-entries", listpackEntries);
+            redisTemplate.delete(keys);
+            redisTemplate.delete(hashKeys);
+        }
+    }
+
+    @Test
+    @DisplayName("고유 조회자 - HyperLogLog 오차 / 키 메모리 / 일 버킷 병합")
+    void uniqueViewers() {
+        // given
+        int viewers = 20_000;
+        String itemId = "hll-bench";
+        List<UniqueViewRequest> views = IntStream.range(0, viewers)
+                .mapToObj(i -> new UniqueViewRequest(itemId, "viewer-" + i))
+                .toList();
+        String todayKey = "uv:" + itemId + ":" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+        String yesterdayKey = "uv:" + itemId + ":" + LocalDate.now().minusDays(1).format(DateTimeFormatter.BASIC_ISO_DATE);
+        String mergedKey = "uv:" + itemId + ":" + LocalDate.now().minusDays(1).format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+        redisTemplate.delete(List.of(todayKey, yesterdayKey, mergedKey));
+
+        // when - 1000건씩 일괄 기록 (같은 조회자 반복 포함)
+        long reads = readsProcessed();
+        for (int from = 0; from < viewers; from += 1000) {
+            redisService.recordUniqueViews(views.subList(from, from + 1000));
+        }
+        redisService.recordUniqueViews(views.subList(0, 1000));
+        long roundTrips = readsProcessed() - reads - 1;
+        redisTemplate.opsForHyperLogLog().add(yesterdayKey, "viewer-0", "viewer-yesterday");
+
+        Long today = redisService.getUniqueViewCount(itemId, 1);
+        Long twoDays = redisService.getUniqueViewCount(itemId, 2);
+        // 병합 결과 보관 중에는 새 조회자가 추가돼도 다시 병합하지 않고 보관된 결과로 응답
+        redisService.recordUniqueView(itemId, "viewer-late");
+        Long twoDaysCached = redisService.getUniqueViewCount(itemId, 2);
+        Long memoryBytes = redisTemplate.execute((RedisCallback<Long>) connection ->
+                (Long) connection.execute("MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), todayKey.getBytes(StandardCharsets.UTF_8)));
+
+        log.info("[benchmark] unique viewers - actual: {}, estimated: {}, 2 days: {}, key memory: {} bytes, round trips: {}",
+                viewers, today, twoDays, memoryBytes, roundTrips);
+
+        // then - 표준 오차 0.81%, 키당 약 12KB
+        assertTrue(Math.abs(today - viewers) < viewers * 0.03);
+        assertTrue(twoDays >= today);
+        assertEquals(twoDays, twoDaysCached);
+        assertTrue(redisTemplate.getExpire(mergedKey) > 0);
+        assertTrue(memoryBytes < 16 * 1024);
+        assertTrue(roundTrips <= 2L * (viewers / 1000 + 1));
+        assertTrue(redisTemplate.getExpire(todayKey) > 0);
+    }
+
+    @Test
+    @DisplayName("최근상품 동시 추가 - 최대 개수 유지, 다시 본 항목은 맨 앞으로")
+    void recentItemsConcurrent() {
+        // given
+        String userId = "recent-bench";
+        redisTemplate.delete("recent:" + userId);
+
+        // when
+        long reads = readsProcessed();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, _USERS).forEach(i -> executor.submit(() -> redisService.addToRecentItems(userId, "item-" + i)));
+        }
+        long roundTrips = readsProcessed() - reads - 1;
+        redisService.addToRecentItems(userId, "item-" + (_USERS - 1));
+        List<Object> recentItems = redisService.getRecentItems(userId);
+
+        log.info("[benchmark] recent items - adds: {}, round trips: {}", _USERS, roundTrips);
+
+        // then
+        assertEquals(10, redisTemplate.opsForList().size("recent:" + userId));
+        assertEquals(10, recentItems.size());
+        assertEquals(10, recentItems.stream().distinct().count());
+        assertEquals("item-" + (_USERS - 1), recentItems.getFirst());
+        assertTrue(roundTrips <= _USERS);
+    }
+
+    @Test
+    @DisplayName("만료 임박 인기 키 동시 조회 - 조회는 TTL 을 연장하지 않음 (저장 시점 기준 수명 유지)")
+    void userReadKeepsTtl() {
+        // given - 만료 60초 전 상태의 사용자
+        RedisUserDto user = users("ttl").getFirst();
+        redisService.createUser(user);
+        redisTemplate.expire("user:" + user.id(), Duration.ofSeconds(60));
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            IntStream.range(0, 1000).forEach(i -> executor.submit(() -> redisService.getUserById(user.id())));
+        }
+
+        // then
+        assertTrue(redisTemplate.getExpire("user:" + user.id()) <= 60);
+    }
+
+    /**
+     * 현재 스레드가 work 실행 중 할당한 바이트 수
+     */
+    private long allocatedBytes(Runnable work) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        work.run();
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    /**
+     * 서버가 클라이언트 소켓에서 read 를 처리한 누적 횟수 (INFO stats total_reads_processed)
+     * - 파이프라인으로 한 번에 flush 된 명령은 1회(또는 소수)의 read 로 처리됨
+     * - 이 조회 자체도 1회 포함되므로 호출 측에서 1을 뺀다
+     */
+    private long memoryUsage(List<String> keys) {
+        List<Object> usages = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.execute("MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
+        return usages.stream().filter(Objects::nonNull).mapToLong(usage -> ((Number) usage).longValue()).sum();
+    }
+
+    private void setConfig(String parameter, String value) {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().setConfig(parameter, value);
+            return null;
+        });
+    }
+
+    private long readsProcessed() {
+        Properties stats = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().info("stats"));
+        return Long.parseLong(stats.getProperty("total_reads_processed"));
+    }
+
+    private List<RedisUserDto> users(String prefix) {
+        return IntStream.range(0, _USERS)
+                .mapToObj(i -> new RedisUserDto(prefix + "-" + i, "bench" + i, prefix + i + "@bench.com", 20 + i % 50))
+                .toList();
+    }
+
+}
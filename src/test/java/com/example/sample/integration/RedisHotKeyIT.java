@@ -0,0 +1,116 @@
+package com.example.sample.integration;
+
+import com.example.sample.config.HotKeyEndpoint;
+import com.example.sample.dto.HotKey;
+import com.example.sample.repository.HotKeyDetector;
+import com.example.sample.repository.RedisUserRepository;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 핫 키 감지 / 로컬 승격 (샘플링 100%, 임계치 = 2 x 1rps x 5s = 10)
+ * - 감쇠는 테스트에서 직접 호출하므로 주기 작업(@Scheduled decay)은 끔
+ */
+@Slf4j
+@TestPropertySource(properties = {
+        "app.scheduling.enabled=false",
+        "app.redis.hot-keys.enabled=true",
+        "app.redis.hot-keys.sample-rate=1.0",
+        "app.redis.hot-keys.min-requests-per-second=1",
+        "app.redis.hot-keys.decay-interval-ms=5000",
+        "app.redis.hot-keys.local-ttl-ms=60000",
+        "app.redis.hot-keys.top-k=2"
+})
+class RedisHotKeyIT extends IntegrationTestSupport {
+
+    @Autowired
+    RedisUserRepository redisUserRepository;
+
+    @Autowired
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    HotKeyDetector hotKeyDetector;
+
+    @Autowired
+    HotKeyEndpoint hotKeyEndpoint;
+
+    @BeforeEach
+    void setUp() {
+        // 다른 테스트에서 승격된 키가 식도록 충분히 감쇠
+        IntStream.range(0, 10).forEach(i -> hotKeyDetector.decay());
+    }
+
+    @Test
+    @DisplayName("핫 키 승격 - 임계치를 넘으면 로컬 캐시에서 응답, 이 노드의 쓰기는 즉시 반영")
+    void promote() {
+        // given
+        String key = "views:hot-promote";
+        redisTemplate.opsForValue().set(key, "1");
+        double hits = hits();
+
+        // when
+        IntStream.range(0, 50).forEach(i -> redisUserRepository.getValue(key));
+        redisTemplate.opsForValue().set(key, "2");  // 다른 노드의 변경 (로컬 무효화 없음)
+        Object cached = redisUserRepository.getValue(key);
+        redisUserRepository.setValue(key, "3");     // 이 노드의 변경
+        Object written = redisUserRepository.getValue(key);
+
+        // then
+        assertTrue(hotKeyEndpoint.hotKeys().stream().map(HotKey::key).anyMatch(key::equals));
+        assertTrue(hits() - hits >= 30);
+        assertEquals("1", cached);
+        assertEquals("3", written);
+    }
+
+    @Test
+    @DisplayName("핫 키 강등 - 감쇠로 임계치 아래가 되면 로컬 캐시 제거")
+    void demote() {
+        // given
+        String key = "views:hot-demote";
+        redisTemplate.opsForValue().set(key, "1");
+        IntStream.range(0, 20).forEach(i -> redisUserRepository.getValue(key));
+        assertTrue(hotKeyDetector.hotKeys().stream().map(HotKey::key).anyMatch(key::equals));
+
+        // when
+        IntStream.range(0, 10).forEach(i -> hotKeyDetector.decay());
+        redisTemplate.opsForValue().set(key, "2");
+
+        // then
+        assertFalse(hotKeyDetector.hotKeys().stream().map(HotKey::key).anyMatch(key::equals));
+        assertEquals("2", redisUserRepository.getValue(key));
+    }
+
+    @Test
+    @DisplayName("핫 키 top-K - 더 뜨거운 키가 들어오면 가장 식은 키를 교체")
+    void topK() {
+        // given
+        IntStream.range(0, 12).forEach(i -> redisUserRepository.getValue("views:hot-a"));
+        IntStream.range(0, 14).forEach(i -> redisUserRepository.getValue("views:hot-b"));
+
+        // when
+        IntStream.range(0, 30).forEach(i -> redisUserRepository.getValue("views:hot-c"));
+
+        // then
+        assertEquals(2, hotKeyDetector.hotKeys().size());
+        assertEquals("views:hot-c", hotKeyDetector.hotKeys().getFirst().key());
+        assertFalse(hotKeyDetector.hotKeys().stream().map(HotKey::key).anyMatch("views:hot-a"::equals));
+    }
+
+    private double hits() {
+        return Metrics.globalRegistry.counter("redis_hot_key_cache_requests", "result", "hit").count();
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.example.sample.integration;
+
+import com.example.sample.repository.RedisUserRepository;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * RESP3 client-side tracking near-cache (app.redis.near-cache.enabled=true)
+ */
+@Slf4j
+@TestPropertySource(properties = "app.redis.near-cache.enabled=true")
+class RedisNearCacheIT extends IntegrationTestSupport {
+
+    @Autowired
+    RedisUserRepository redisUserRepository;
+
+    @Autowired
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Test
+    @DisplayName("near-cache 히트 - 첫 조회 이후는 로컬 캐시에서 반환")
+    void hit() {
+        // given
+        String key = "user:near-cache-hit";
+        redisUserRepository.setValueWithTTL(key, Map.of("id", "near-cache-hit"), 1, TimeUnit.MINUTES);
+        byte[] expected = redisUserRepository.getRawValue(key);
+        double hits = hits();
+
+        // when
+        int reads = 10_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            assertArrayEquals(expected, redisUserRepository.getRawValue(key));
+        }
+        long elapsedNs = System.nanoTime() - start;
+        log.info("[benchmark] near-cache hit - reads: {}, avg: {}ns", reads, elapsedNs / reads);
+
+        // then
+        assertEquals(reads, hits() - hits);
+    }
+
+    @Test
+    @DisplayName("near-cache 무효화 - 다른 커넥션에서 변경하면 invalidate push 로 최신 값 조회")
+    void invalidatedByServerPush() throws InterruptedException {
+        // given
+        String key = "user:near-cache-invalidate";
+        redisUserRepository.setValue(key, "before");
+        assertEquals("before", redisUserRepository.getValue(key));
+        assertEquals("before", redisUserRepository.getValue(key));
+
+        // when - 리포지토리를 거치지 않은 쓰기 (로컬 무효화 없음)
+        redisTemplate.opsForValue().set(key, "after");
+
+        // then
+        Object value = redisUserRepository.getValue(key);
+        for (int i = 0; i < 100 && !"after".equals(value); i++) {
+            Thread.sleep(10);
+            value = redisUserRepository.getValue(key);
+        }
+        assertEquals("after", value);
+    }
+
+    @Test
+    @DisplayName("near-cache Hash 필드 - 필드 변경 시 키 단위로 무효화")
+    void hashField() throws InterruptedException {
+        // given
+        String key = "user:near-cache-hash";
+        redisUserRepository.setHash(key, Map.of("name", "before", "age", "30"));
+        assertEquals("before", redisUserRepository.getHashField(key, "name"));
+        assertEquals("30", redisUserRepository.getHashField(key, "age"));
+
+        // when
+        redisTemplate.opsForHash().put(key, "age", "31");
+
+        // then
+        Object age = redisUserRepository.getHashField(key, "age");
+        for (int i = 0; i < 100 && !"31".equals(age); i++) {
+            Thread.sleep(10);
+            age = redisUserRepository.getHashField(key, "age");
+        }
+        assertEquals("31", age);
+        assertEquals("before", redisUserRepository.getHashField(key, "name"));
+    }
+
+    @Test
+    @DisplayName("near-cache 대상이 아닌 키는 매번 Redis 조회")
+    void notCacheable() {
+        // given
+        String key = "views:near-cache";
+        redisTemplate.opsForValue().set(key, "1");
+        double hits = hits();
+
+        // when
+        redisUserRepository.getValue(key);
+        redisUserRepository.getValue(key);
+
+        // then
+        assertEquals(0, hits() - hits);
+        assertEquals("1", redisUserRepository.getValue(key));
+    }
+
+    private double hits() {
+        return Metrics.globalRegistry.counter("redis_near_cache_requests", "result", "hit").count();
+    }
+
+}
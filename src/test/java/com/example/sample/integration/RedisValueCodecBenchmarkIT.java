@@ -0,0 +1,74 @@
+package com.example.sample.integration;
+
+import com.example.sample.common.JacksonRedisValueCodec;
+import com.example.sample.config.JacksonConfig;
+import com.example.sample.dto.RedisUserDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Redis 값 codec 비교 (저장 바이트 수 + encode/decode ns/op) - 컨테이너 없이 실행
+ * - JMH 대신 warmup 후 반복 측정하는 단순 루프 (상대 비교용)
+ */
+@Slf4j
+class RedisValueCodecBenchmarkIT {
+
+    static final int _WARMUP = 20_000;
+    static final int _ITERATIONS = 100_000;
+
+    final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    final RedisUserDto user = new RedisUserDto("user-12345", "benchmark-user", "benchmark-user@bench.com", 31);
+    final List<RedisUserDto> users = IntStream.range(0, 100)
+            .mapToObj(i -> new RedisUserDto("user-" + i, "benchmark-user-" + i, "benchmark-user-" + i + "@bench.com", 20 + i % 50))
+            .toList();
+
+    @Test
+    @DisplayName("JSON vs SMILE vs 압축 - 저장 바이트 수 / encode, decode ns/op")
+    void compareCodecs() throws Exception {
+        // given
+        byte[] legacy = objectMapper.writeValueAsString(user).getBytes(StandardCharsets.UTF_8);
+        List<JacksonRedisValueCodec> codecs = List.of(
+                new JacksonRedisValueCodec(objectMapper, JacksonRedisValueCodec.Format.JSON, 0),
+                new JacksonRedisValueCodec(objectMapper, JacksonRedisValueCodec.Format.SMILE, 0),
+                new JacksonRedisValueCodec(objectMapper, JacksonRedisValueCodec.Format.JSON, 1),
+                new JacksonRedisValueCodec(objectMapper, JacksonRedisValueCodec.Format.SMILE, 1));
+
+        for (JacksonRedisValueCodec codec : codecs) {
+            // when
+            byte[] single = codec.encode(user);
+            byte[] list = codec.encode(users);
+            double encodeNs = nsPerOp(() -> codec.encode(user));
+            double decodeNs = nsPerOp(() -> codec.decode(single, RedisUserDto.class));
+
+            log.info("[benchmark] codec {} (gzip: {}) - user: {} bytes, 100 users: {} bytes, encode: {} ns/op, decode: {} ns/op",
+                    codec.format(), single[0] == (byte) 0x1f, single.length, list.length,
+                    String.format("%.0f", encodeNs), String.format("%.0f", decodeNs));
+
+            // then - 어떤 설정으로 써도 기존(JSON 문자열) 키를 포함한 모든 형식을 읽을 수 있어야 함
+            assertEquals(user, codec.decode(single, RedisUserDto.class));
+            assertEquals(user, codec.decode(legacy, RedisUserDto.class));
+            codecs.forEach(other -> assertEquals(user, other.decode(single, RedisUserDto.class)));
+        }
+        byte[] json = codecs.get(0).encode(users);
+        assertTrue(codecs.get(1).encode(users).length < json.length);
+        assertTrue(codecs.get(2).encode(users).length < json.length);
+    }
+
+    private double nsPerOp(Supplier<?> operation) {
+        IntStream.range(0, _WARMUP).forEach(i -> operation.get());
+        long start = System.nanoTime();
+        IntStream.range(0, _ITERATIONS).forEach(i -> operation.get());
+        return (System.nanoTime() - start) / (double) _ITERATIONS;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.example.sample.repository;
+
+import com.example.sample.dto.HotKey;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 샘플링 100%, 최소 1rps, 감쇠 주기 5초 -> 승격 임계치 = 2 x 1 x 5 = 10, 강등 임계치 = 5
+ */
+class HotKeyDetectorTest {
+
+    static final String _KEY = "views:hot";
+
+    HotKeyDetector hotKeyDetector;
+    AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        this.hotKeyDetector = new HotKeyDetector(1.0, 2, 1, 60000, 5000, 4, 2048);
+        this.loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("일정한 유입 - 최소 유입 이상을 유지하면 감쇠 후에도 강등되지 않음, 유입이 끊기면 강등")
+    void steadyRate() {
+        // given - 주기당 6회 (1.2rps): 감쇠 직전 추정치 6 -> 9 -> 10 에서 승격
+        int promotedAt = -1;
+        for (int interval = 0; interval < 5 && promotedAt < 0; interval++) {
+            read(6);
+            if (isHot()) {
+                promotedAt = interval;
+            }
+            hotKeyDetector.decay();
+        }
+        Assertions.assertEquals(2, promotedAt);
+
+        // when - 같은 유입을 유지 (감쇠 직후 추정치 5 = 강등 임계치)
+        for (int interval = 0; interval < 20; interval++) {
+            read(6);
+            hotKeyDetector.decay();
+            // then
+            Assertions.assertTrue(isHot(), "interval " + interval);
+        }
+
+        // when - 유입이 끊기면 5 -> 2 로 식어 강등
+        hotKeyDetector.decay();
+
+        // then
+        Assertions.assertFalse(isHot());
+    }
+
+    @Test
+    @DisplayName("핫 키 조회 - 승격 후에는 loader 대신 로컬 캐시에서 응답, 무효화하면 다시 loader")
+    void localCache() {
+        // given
+        read(10);
+        Assertions.assertTrue(isHot());
+        int loadsBefore = loads.get();
+
+        // when
+        read(5);
+        hotKeyDetector.invalidate(_KEY);
+        read(1);
+
+        // then - 승격 후 조회는 캐시 hit, 무효화 후 1회만 다시 적재
+        Assertions.assertEquals(loadsBefore + 1, loads.get());
+    }
+
+    @Test
+    @DisplayName("임계치 미만 - 승격하지 않고 매번 loader 실행")
+    void belowThreshold() {
+        // when
+        read(9);
+
+        // then
+        Assertions.assertFalse(isHot());
+        Assertions.assertEquals(9, loads.get());
+    }
+
+    private void read(int count) {
+        IntStream.range(0, count).forEach(i -> hotKeyDetector.get(_KEY, "string", () -> {
+            loads.incrementAndGet();
+            return "value";
+        }));
+    }
+
+    private boolean isHot() {
+        return hotKeyDetector.hotKeys().stream().map(HotKey::key).anyMatch(_KEY::equals);
+    }
+
+}
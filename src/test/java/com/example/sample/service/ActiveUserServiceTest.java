@@ -0,0 +1,186 @@
+package com.example.sample.service;
+
+import com.example.sample.common.CustomException;
+import com.example.sample.dto.ActiveUserCount;
+import com.example.sample.dto.UserEventMessage;
+import com.example.sample.repository.RedisUserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveUserServiceTest {
+
+    @Mock
+    RedisUserRepository redisUserRepository;
+
+    ActiveUserService activeUserService;
+
+    @BeforeEach
+    void setUp() {
+        this.activeUserService = new ActiveUserService(redisUserRepository);
+        ReflectionTestUtils.setField(activeUserService, "retentionDays", 30);
+        ReflectionTestUtils.setField(activeUserService, "zone", ZoneOffset.UTC);
+        ReflectionTestUtils.setField(activeUserService, "maxUserId", 1000L);
+    }
+
+    @Test
+    @DisplayName("활성 사용자 일괄 기록 - 날짜별로 userId 를 묶어 SETBIT 파이프라인 1회, 잘못된 이벤트는 건너뜀")
+    void recordActive() {
+        // given
+        Instant now = Instant.now();
+        Instant yesterday = now.minus(Duration.ofDays(1));
+        List<UserEventMessage> events = Arrays.asList(
+                UserEventMessage.builder().userId(1L).action("login").timestamp(now).build(),
+                UserEventMessage.builder().userId(2L).action("login").timestamp(now).build(),
+                UserEventMessage.builder().userId(1L).action("view").timestamp(now).build(),
+                UserEventMessage.builder().userId(3L).action("login").timestamp(yesterday).build(),
+                UserEventMessage.builder().userId(null).action("login").timestamp(now).build(),
+                UserEventMessage.builder().userId(-1L).action("login").timestamp(now).build(),
+                UserEventMessage.builder().userId(1001L).action("login").timestamp(now).build(),
+                UserEventMessage.builder().userId(4L).action("login").timestamp(now.minus(Duration.ofDays(60))).build(),
+                null);
+
+        // when
+        activeUserService.recordActive(events);
+
+        // then
+        verify(redisUserRepository, times(1)).setBits(Map.of(
+                        "active:" + day(now), Set.of(1L, 2L),
+                        "active:" + day(yesterday), Set.of(3L)),
+                30L, TimeUnit.DAYS);
+    }
+
+    @Test
+    @DisplayName("활성 사용자 일괄 기록 - 같은 topic 의 outbox 변경 이벤트(CREATED/UPDATED/DELETED)는 기록하지 않음")
+    void recordActiveIgnoresOutboxEvents() {
+        // given
+        Instant now = Instant.now();
+        List<UserEventMessage> events = List.of(
+                UserEventMessage.builder().userId(1L).action("CREATED").timestamp(now).build(),
+                UserEventMessage.builder().userId(2L).action("UPDATED").timestamp(now).build(),
+                UserEventMessage.builder().userId(3L).action("DELETED").timestamp(now).build(),
+                UserEventMessage.builder().userId(4L).action("login").timestamp(now).build());
+
+        // when
+        activeUserService.recordActive(events);
+
+        // then
+        verify(redisUserRepository, times(1)).setBits(Map.of("active:" + day(now), Set.of(4L)), 30L, TimeUnit.DAYS);
+    }
+
+    @Test
+    @DisplayName("활성 사용자 일괄 기록 - max-user-id 를 넘는 userId 는 설정값이 SETBIT 상한(2^32-1)보다 커도 건너뜀")
+    void recordActiveAboveMaxUserId() {
+        // given
+        ReflectionTestUtils.setField(activeUserService, "maxUserId", Long.MAX_VALUE);
+        Instant now = Instant.now();
+        List<UserEventMessage> events = List.of(
+                UserEventMessage.builder().userId((1L << 32) - 1).action("login").timestamp(now).build(),
+                UserEventMessage.builder().userId(1L << 32).action("login").timestamp(now).build());
+
+        // when
+        activeUserService.recordActive(events);
+
+        // then
+        verify(redisUserRepository, times(1)).setBits(Map.of("active:" + day(now), Set.of((1L << 32) - 1)), 30L, TimeUnit.DAYS);
+    }
+
+    @Test
+    @DisplayName("활성 사용자 일괄 기록 - 오늘 이후 날짜의 이벤트는 건너뜀")
+    void recordActiveFutureDay() {
+        // given
+        Instant now = Instant.now();
+        List<UserEventMessage> events = List.of(
+                UserEventMessage.builder().userId(1L).action("login").timestamp(now).build(),
+                UserEventMessage.builder().userId(2L).action("login").timestamp(now.plus(Duration.ofDays(2))).build());
+
+        // when
+        activeUserService.recordActive(events);
+
+        // then
+        verify(redisUserRepository, times(1)).setBits(Map.of("active:" + day(now), Set.of(1L)), 30L, TimeUnit.DAYS);
+    }
+
+    @Test
+    @DisplayName("활성 사용자 일괄 기록 - 기록할 이벤트가 없으면 Redis 호출 없음")
+    void recordActiveEmpty() {
+        // when
+        activeUserService.recordActive(List.of(UserEventMessage.builder().action("login").build()));
+
+        // then
+        verify(redisUserRepository, never()).setBits(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("활성 사용자 수 - 하루는 BITCOUNT")
+    void countActiveOneDay() {
+        // given
+        LocalDate day = LocalDate.of(2026, 1, 15);
+        when(redisUserRepository.countBits("active:20260115")).thenReturn(42L);
+
+        // when
+        ActiveUserCount result = activeUserService.countActive(day, day);
+
+        // then
+        Assertions.assertEquals(42L, result.count());
+        verify(redisUserRepository, never()).mergeBits(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("활성 사용자 수 - 여러 날은 BITOP OR 후 BITCOUNT")
+    void countActiveRange() {
+        // given
+        LocalDate from = LocalDate.of(2026, 1, 30);
+        LocalDate to = LocalDate.of(2026, 2, 1);
+        when(redisUserRepository.mergeBits(eq("active:20260130-20260201"),
+                eq(List.of("active:20260130", "active:20260131", "active:20260201")), eq(10L), eq(TimeUnit.MINUTES)))
+                .thenReturn(7L);
+
+        // when
+        ActiveUserCount result = activeUserService.countActive(from, to);
+
+        // then
+        Assertions.assertEquals(ActiveUserCount.builder().from(from).to(to).count(7L).build(), result);
+    }
+
+    @Test
+    @DisplayName("활성 사용자 수 - 시작일이 종료일보다 늦거나 보관 기간을 넘으면 예외")
+    void countActiveInvalidRange() {
+        // given
+        LocalDate day = LocalDate.of(2026, 1, 15);
+
+        // when & then
+        Assertions.assertThrows(CustomException.class, () -> activeUserService.countActive(day, day.minusDays(1)));
+        Assertions.assertThrows(CustomException.class, () -> activeUserService.countActive(day, day.plusDays(30)));
+        verify(redisUserRepository, never()).mergeBits(any(), any(), anyLong(), any());
+    }
+
+    private String day(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC).format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
@@ -13,8 +13,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.navercorp.fixturemonkey.api.experimental.JavaGetterMethodPropertySelector.javaGetter;
 import static org.mockito.ArgumentMatchers.any;
@@ -112,9 +118,55 @@ class ElasticsearchServiceTest {
         Assertions.assertNotNull(searchProduct);
         Assertions.assertEquals(productDoc.getId(), searchProduct.getId());
         Assertions.assertEquals(productDoc.getName(), searchProduct.getName());
+        Assertions.assertNotSame(productDoc, searchProduct);
         verify(elasticsearchProductRepository, times(1)).findById(any());
     }
 
+    @Test
+    @DisplayName("상품 아이디 검색 : 동시 요청은 조회 1회로 합치고 호출자마다 별도 복사본 반환")
+    void findByIdCoalesced() throws Exception {
+        // given
+        final int callers = 4;
+        ProductDoc productDoc = ProductDoc.builder().id(_ID).name(_NAME).price(_PRICE).build();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(elasticsearchProductRepository.findById(_ID)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return Optional.of(productDoc);
+        });
+
+        // when
+        List<ProductDoc> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            Future<ProductDoc> leader = executor.submit(() -> elasticsearchService.findById(_ID));
+            entered.await();
+            List<Thread> waiters = new CopyOnWriteArrayList<>();
+            List<Future<ProductDoc>> followers = new ArrayList<>();
+            for (int i = 1; i < callers; i++) {
+                followers.add(executor.submit(() -> {
+                    waiters.add(Thread.currentThread());
+                    return elasticsearchService.findById(_ID);
+                }));
+            }
+            while (waiters.size() < callers - 1 || waiters.stream().anyMatch(t -> t.getState() != Thread.State.WAITING)) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            results.add(leader.get());
+            for (Future<ProductDoc> follower : followers) {
+                results.add(follower.get());
+            }
+        }
+        results.getFirst().update("CHANGED", 1.0);
+
+        // then
+        verify(elasticsearchProductRepository, times(1)).findById(_ID);
+        Assertions.assertEquals(callers, results.stream().map(System::identityHashCode).distinct().count());
+        results.stream().skip(1).forEach(result -> Assertions.assertEquals(_NAME, result.getName()));
+        Assertions.assertEquals(_NAME, productDoc.getName());
+    }
+
     @Test
     @DisplayName("상품 이름 검색")
     void searchByName() {
@@ -3,6 +3,7 @@ package com.example.sample.service;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import com.example.sample.dto.UserEventMessage;
 import com.example.sample.log.MemoryAppender;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,9 +16,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
 @Slf4j
 @ExtendWith(MockitoExtension.class)
 class KafkaConsumerServiceTest {
@@ -27,13 +35,16 @@ class KafkaConsumerServiceTest {
     private KafkaConsumerService kafkaConsumerService;
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ActiveUserService activeUserService;
+
     @BeforeEach
     void setUp() {
         this.objectMapper = new ObjectMapper()
                 .registerModule(new JavaTimeModule())
                 .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        this.kafkaConsumerService = new KafkaConsumerService(objectMapper);
+        this.kafkaConsumerService = new KafkaConsumerService(objectMapper, activeUserService);
         Logger logger = (Logger) LoggerFactory.getLogger(LOGGER_NAME);
         logger.setLevel(Level.DEBUG);
         memoryAppender = new MemoryAppender();
@@ -55,7 +66,7 @@ class KafkaConsumerServiceTest {
         final String testMessage = "{\"id\": 1, \"event\": \"TEST_EVENT\"}";
 
         // when
-        kafkaConsumerService.consume(testMessage);
+        kafkaConsumerService.consume(List.of(testMessage));
 
         // then
         Assertions.assertEquals(2, memoryAppender.getSize());
@@ -69,11 +80,31 @@ class KafkaConsumerServiceTest {
         final String testMessage = null;
 
         // when
-        kafkaConsumerService.consume(testMessage);
+        kafkaConsumerService.consume(Collections.singletonList(testMessage));
 
         // then
         Assertions.assertEquals(2, memoryAppender.getSize());
         Assertions.assertTrue(memoryAppender.contains("Error processing message", Level.ERROR));
+        verify(activeUserService, times(1)).recordActive(List.of());
+    }
+
+    @Test
+    @DisplayName("poll 1회분 소비시 파싱된 이벤트만 모아 활성 사용자 1회 기록")
+    void consumeBatch() {
+        // given
+        final List<String> testMessages = List.of(
+                "{\"userId\": 1, \"action\": \"login\"}",
+                "not-json",
+                "{\"userId\": 2, \"action\": \"view\"}");
+
+        // when
+        kafkaConsumerService.consume(testMessages);
+
+        // then
+        verify(activeUserService, times(1)).recordActive(List.of(
+                UserEventMessage.builder().userId(1L).action("login").build(),
+                UserEventMessage.builder().userId(2L).action("view").build()));
+        Assertions.assertTrue(memoryAppender.contains("Error processing message", Level.ERROR));
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.sample.service;
 
+import com.example.sample.dto.UserEventMessage;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.producer.RecordMetadata;
@@ -14,9 +15,12 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -155,4 +159,41 @@ class KafkaProducerServiceTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("카프카 일괄 퍼블리쉬 : userId 를 key 로 전송 후 flush")
+    void sendMessages_Success() throws JsonProcessingException {
+        // given
+        List<UserEventMessage> messages = List.of(
+                new UserEventMessage(1L, "CREATED", Instant.now()),
+                new UserEventMessage(2L, "UPDATED", Instant.now()));
+
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(mock(SendResult.class));
+        when(kafkaTemplate.send(eq(TEST_TOPIC), anyString(), anyString())).thenReturn(future);
+
+        // when
+        CompletableFuture<Void> result = kafkaProducerService.sendMessages(messages);
+
+        // then
+        assertTrue(result.isDone());
+        verify(kafkaTemplate, times(1)).send(TEST_TOPIC, "1", "{}");
+        verify(kafkaTemplate, times(1)).send(TEST_TOPIC, "2", "{}");
+        verify(kafkaTemplate, times(1)).flush();
+    }
+
+    @Test
+    @DisplayName("카프카 일괄 퍼블리쉬 : 일부 전송 실패 시 예외로 완료")
+    void sendMessages_WhenSendFails_ShouldCompleteExceptionally() throws JsonProcessingException {
+        // given
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(kafkaTemplate.send(eq(TEST_TOPIC), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("카프카 전송 실패")));
+
+        // when
+        CompletableFuture<Void> result = kafkaProducerService.sendMessages(List.of(new UserEventMessage(1L, "CREATED", Instant.now())));
+
+        // then
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+}
@@ -3,28 +3,57 @@ package com.example.sample.service;
 import com.example.sample.common.CustomException;
 import com.example.sample.common.ResponseCode;
 import com.example.sample.domain.User;
+import com.example.sample.domain.UserOutbox;
+import com.example.sample.dto.BulkUserResult;
+import com.example.sample.dto.UserPageResponse;
 import com.example.sample.dto.UserRequestDto;
+import com.example.sample.dto.UserResponseDto;
+import com.example.sample.dto.UserUpsertResult;
+import com.example.sample.repository.MysqlUserJdbcRepository;
 import com.example.sample.repository.MysqlUserRepository;
+import com.example.sample.repository.UserOutboxRepository;
 import com.navercorp.fixturemonkey.FixtureMonkey;
 import com.navercorp.fixturemonkey.api.introspector.BuilderArbitraryIntrospector;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.navercorp.fixturemonkey.api.experimental.JavaGetterMethodPropertySelector.javaGetter;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,6 +67,18 @@ class MysqlServiceTest {
     @Mock
     MysqlUserRepository mysqlUserRepository;
 
+    @Mock
+    MysqlUserJdbcRepository mysqlUserJdbcRepository;
+
+    @Mock
+    UserOutboxRepository userOutboxRepository;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
     FixtureMonkey fixtureMonkey;
 
     final Long _ID1 = 1L;
@@ -74,6 +115,142 @@ class MysqlServiceTest {
         assertNotNull(savedUserId);
         assertEquals(savedUserId, _ID1);
         verify(mysqlUserRepository, times(1)).save(any());
+        verify(userOutboxRepository, times(1)).append(List.of(_ID1), UserOutbox.Action.CREATED);
+    }
+
+    @Test
+    @DisplayName("사용자 벌크 저장 : 행별 결과 반환")
+    void saveAll() {
+        // given
+        List<UserRequestDto> dtos = List.of(
+                new UserRequestDto(_NAME, _EMAIL),
+                new UserRequestDto(_NAME2, "exists@test.com"),
+                new UserRequestDto(_NAME2, _EMAIL),
+                new UserRequestDto(null, "blank@test.com")
+        );
+        when(mysqlUserRepository.findEmailsByEmailIn(anyCollection())).thenReturn(List.of("exists@test.com"));
+
+        // when
+        List<BulkUserResult> results = mysqlService.saveAll(dtos);
+
+        // then
+        assertEquals(dtos.size(), results.size());
+        assertEquals(BulkUserResult.Status.CREATED, results.get(0).status());
+        assertEquals(BulkUserResult.Status.DUPLICATE, results.get(1).status());
+        assertEquals(BulkUserResult.Status.DUPLICATE, results.get(2).status());
+        assertEquals(BulkUserResult.Status.INVALID, results.get(3).status());
+        verify(mysqlUserRepository, times(1)).saveAll(anyCollection());
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    @DisplayName("사용자 벌크 저장 : 청크 단위로 나누어 저장")
+    void saveAllChunked() {
+        // given
+        List<UserRequestDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            dtos.add(new UserRequestDto(_NAME, "user" + i + "@test.com"));
+        }
+        when(mysqlUserRepository.findEmailsByEmailIn(anyCollection())).thenReturn(List.of());
+
+        // when
+        List<BulkUserResult> results = mysqlService.saveAll(dtos);
+
+        // then
+        assertEquals(dtos.size(), results.size());
+        assertTrue(results.stream().allMatch(result -> result.status() == BulkUserResult.Status.CREATED));
+        verify(mysqlUserRepository, times(2)).findEmailsByEmailIn(anyCollection());
+        verify(mysqlUserRepository, times(2)).saveAll(anyCollection());
+        verify(entityManager, times(2)).flush();
+    }
+
+    @Test
+    @DisplayName("사용자 벌크 저장 (스트림) : 청크별 트랜잭션으로 저장하고 청크를 넘는 중복 이메일도 검출")
+    void saveAllFromIterator() {
+        // given
+        List<UserRequestDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            dtos.add(new UserRequestDto(_NAME, "user" + i + "@test.com"));
+        }
+        dtos.add(new UserRequestDto(_NAME, "user0@test.com"));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(mysqlUserRepository.findEmailsByEmailIn(anyCollection())).thenReturn(List.of());
+
+        // when
+        List<BulkUserResult> results = mysqlService.saveAll(dtos.iterator());
+
+        // then
+        assertEquals(dtos.size(), results.size());
+        assertEquals(BulkUserResult.Status.CREATED, results.get(499).status());
+        assertEquals(BulkUserResult.Status.DUPLICATE, results.get(500).status());
+        assertEquals(500, results.get(500).index());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(mysqlUserRepository, times(2)).saveAll(anyCollection());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("사용자 벌크 upsert : 신규/변경/동일/스킵 건수 집계")
+    void upsert() {
+        // given
+        ReflectionTestUtils.setField(mysqlService, "upsertBatchSize", 2);
+        List<UserRequestDto> dtos = List.of(
+                new UserRequestDto(_NAME, "new@test.com"),
+                new UserRequestDto(_NAME2, "changed@test.com"),
+                new UserRequestDto(_NAME, "same@test.com"),
+                new UserRequestDto(" ", "blank@test.com")
+        );
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(mysqlUserJdbcRepository.findAllByEmails(anyCollection())).thenReturn(
+                Map.of("changed@test.com", new User(2L, _NAME, "changed@test.com")),
+                Map.of("same@test.com", new User(3L, _NAME, "same@test.com")));
+        when(mysqlUserJdbcRepository.nextIds(anyInt())).thenReturn(List.of(100L), List.of());
+
+        // when
+        UserUpsertResult result = mysqlService.upsert(dtos.iterator());
+
+        // then
+        assertEquals(new UserUpsertResult(1, 1, 1, 1), result);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(mysqlUserJdbcRepository, times(2)).findAllByEmails(anyCollection());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mysqlUserJdbcRepository, times(2)).upsert(captor.capture());
+        List<User> upserted = captor.getAllValues().getFirst();
+        assertEquals(List.of(100L, 2L), upserted.stream().map(User::getId).toList());
+        assertEquals(List.of(_NAME, _NAME2), upserted.stream().map(User::getName).toList());
+        assertTrue(captor.getAllValues().getLast().isEmpty());
+        verify(userOutboxRepository, times(1)).append(List.of(100L), UserOutbox.Action.CREATED);
+        verify(userOutboxRepository, times(1)).append(List.of(2L), UserOutbox.Action.UPDATED);
+    }
+
+    @Test
+    @DisplayName("사용자 벌크 upsert : 같은 청크 안의 중복 이메일은 마지막 행만 반영하고 skipped 로 집계")
+    void upsertDuplicateEmailInChunk() {
+        // given
+        ReflectionTestUtils.setField(mysqlService, "upsertBatchSize", 10);
+        List<UserRequestDto> dtos = List.of(
+                new UserRequestDto(_NAME, "dup@test.com"),
+                new UserRequestDto(_NAME2, "dup@test.com")
+        );
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(mysqlUserJdbcRepository.findAllByEmails(anyCollection())).thenReturn(Map.of());
+        when(mysqlUserJdbcRepository.nextIds(1)).thenReturn(List.of(100L));
+
+        // when
+        UserUpsertResult result = mysqlService.upsert(dtos.iterator());
+
+        // then
+        assertEquals(new UserUpsertResult(1, 0, 0, 1), result);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mysqlUserJdbcRepository, times(1)).upsert(captor.capture());
+        assertEquals(List.of(100L), captor.getValue().stream().map(User::getId).toList());
+        assertEquals(List.of(_NAME2), captor.getValue().stream().map(User::getName).toList());
     }
 
     @Test
@@ -81,16 +258,76 @@ class MysqlServiceTest {
     void findAll() {
         // given
         final int docSize = 5;
-        List<User> userInfos = fixtureMonkey.giveMe(User.class, docSize);
-        when(mysqlUserRepository.findAll()).thenReturn(userInfos);
+        List<UserResponseDto> userInfos = fixtureMonkey.giveMe(UserResponseDto.class, docSize);
+        when(mysqlUserRepository.findAllProjectedBy()).thenReturn(userInfos);
 
         // when
-        List<User> list = mysqlService.findAll();
+        List<UserResponseDto> list = mysqlService.findAll();
 
         // then
         assertNotNull(list);
         assertEquals(docSize, list.size());
-        verify(mysqlUserRepository, times(1)).findAll();
+        verify(mysqlUserRepository, times(1)).findAllProjectedBy();
+        verify(mysqlUserRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("사용자 페이지 조회 : 다음 페이지가 있는 경우 커서 반환")
+    void findPage() {
+        // given
+        final int size = 2;
+        List<UserResponseDto> users = List.of(new UserResponseDto(11L, _NAME, _EMAIL, 0L), new UserResponseDto(12L, _NAME, _EMAIL, 0L), new UserResponseDto(13L, _NAME, _EMAIL, 0L));
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("10".getBytes(StandardCharsets.UTF_8));
+        when(mysqlUserRepository.findProjectedByIdGreaterThan(eq(10L), any(Limit.class))).thenReturn(users);
+
+        // when
+        UserPageResponse page = mysqlService.findPage(cursor, size);
+
+        // then
+        assertEquals(size, page.content().size());
+        assertTrue(page.hasNext());
+        assertEquals("12", new String(Base64.getUrlDecoder().decode(page.nextCursor()), StandardCharsets.UTF_8));
+        verify(mysqlUserRepository, times(1)).findProjectedByIdGreaterThan(eq(10L), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("사용자 페이지 조회 : 마지막 페이지")
+    void findPageLast() {
+        // given
+        List<UserResponseDto> users = List.of(new UserResponseDto(_ID1, _NAME, _EMAIL, 0L));
+        when(mysqlUserRepository.findProjectedByIdGreaterThan(eq(0L), any(Limit.class))).thenReturn(users);
+
+        // when
+        UserPageResponse page = mysqlService.findPage(null, 100);
+
+        // then
+        assertEquals(1, page.content().size());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("사용자 페이지 조회 : 잘못된 커서 요청 시 예외 발생")
+    void findPageInvalidCursor() {
+        // when & then
+        CustomException exception = assertThrows(CustomException.class, () -> mysqlService.findPage("!!invalid!!", 10));
+
+        assertEquals(ResponseCode.BAD_REQUEST.getHttpStatus().value(), exception.getErrorResponse().httpStatus());
+    }
+
+    @Test
+    @DisplayName("사용자 스트리밍 조회")
+    void streamAll() {
+        // given
+        List<UserResponseDto> users = List.of(new UserResponseDto(1L, _NAME, _EMAIL, 0L), new UserResponseDto(2L, _NAME2, "test2@test.com", 0L));
+        when(mysqlUserRepository.streamAllBy()).thenReturn(users.stream());
+        List<UserResponseDto> received = new ArrayList<>();
+
+        // when
+        mysqlService.streamAll(received::add);
+
+        // then
+        assertEquals(users, received);
     }
 
     @Test
@@ -105,11 +342,12 @@ class MysqlServiceTest {
         when(mysqlUserRepository.findById(anyLong())).thenReturn(Optional.of(user));
 
         // when
-        User findedUser = mysqlService.findOne(_ID1);
+        UserResponseDto findedUser = mysqlService.findOne(_ID1);
 
         // then
         assertNotNull(user);
-        assertEquals(_ID1, findedUser.getId());
+        assertEquals(_ID1, findedUser.id());
+        assertEquals(_NAME, findedUser.name());
         verify(mysqlUserRepository, times(1)).findById(anyLong());
     }
 
@@ -128,71 +366,142 @@ class MysqlServiceTest {
     }
 
     @Test
-    @DisplayName("사용자 수정")
+    @DisplayName("특정 사용자 검색 : 같은 id 동시 요청은 한 번만 조회하고 결과 공유")
+    void findOneCoalesced() throws Exception {
+        // given
+        final int callers = 8;
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mysqlUserRepository.findById(_ID1)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return Optional.of(new User(_ID1, _NAME, _EMAIL));
+        });
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            Future<UserResponseDto> leader = executor.submit(() -> mysqlService.findOne(_ID1));
+            entered.await();
+            List<Thread> waiters = new CopyOnWriteArrayList<>();
+            List<Future<UserResponseDto>> followers = new ArrayList<>();
+            for (int i = 1; i < callers; i++) {
+                followers.add(executor.submit(() -> {
+                    waiters.add(Thread.currentThread());
+                    return mysqlService.findOne(_ID1);
+                }));
+            }
+            // 모든 후속 호출이 leader 결과를 기다리는 상태가 될 때까지 대기 후 해제
+            while (waiters.size() < callers - 1 || waiters.stream().anyMatch(t -> t.getState() != Thread.State.WAITING)) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            // then
+            assertEquals(_NAME, leader.get().name());
+            for (Future<UserResponseDto> follower : followers) {
+                assertEquals(_NAME, follower.get().name());
+            }
+        }
+        verify(mysqlUserRepository, times(1)).findById(_ID1);
+    }
+
+    @Test
+    @DisplayName("사용자 수정 : 조회 없이 단일 UPDATE, 수정 후 버전 반환")
     void update() {
         // given
-        User user = fixtureMonkey.giveMeBuilder(User.class)
-                .set(javaGetter(User::getId), _ID1)
-                .set(javaGetter(User::getName), _NAME)
-                .set(javaGetter(User::getEmail), _EMAIL)
-                .sample();
         UserRequestDto userRequestDto = fixtureMonkey.giveMeBuilder(UserRequestDto.class)
                 .set(javaGetter(UserRequestDto::name), _NAME2)
                 .set(javaGetter(UserRequestDto::email), _EMAIL)
                 .sample();
-        when(mysqlUserRepository.findById(any())).thenReturn(Optional.of(user));
+        when(mysqlUserJdbcRepository.update(_ID1, _NAME2, _EMAIL, null)).thenReturn(8L);
 
         // when
         User savedUser = mysqlService.update(_ID1, userRequestDto);
 
         // then
         assertNotNull(savedUser);
+        assertEquals(_ID1, savedUser.getId());
         assertEquals(_NAME2, savedUser.getName());
-        verify(mysqlUserRepository, times(1)).findById(any());
+        assertEquals(8L, savedUser.getVersion());
+        verify(mysqlUserJdbcRepository, times(1)).update(_ID1, _NAME2, _EMAIL, null);
+        verify(mysqlUserRepository, never()).findById(any());
+        verify(userOutboxRepository, times(1)).append(List.of(_ID1), UserOutbox.Action.UPDATED);
     }
 
     @Test
-    @DisplayName("사용자 수정 : 존재하지 않는 사용자 검색 시 예외 발생")
+    @DisplayName("사용자 수정 : 기대 버전과 일치하면 수정 후 다음 버전 반환")
+    void updateWithExpectedVersion() {
+        // given
+        UserRequestDto userRequestDto = new UserRequestDto(_NAME2, _EMAIL);
+        when(mysqlUserJdbcRepository.update(_ID1, _NAME2, _EMAIL, 3L)).thenReturn(4L);
+
+        // when
+        User savedUser = mysqlService.update(_ID1, userRequestDto, 3L);
+
+        // then
+        assertEquals(4L, savedUser.getVersion());
+        verify(mysqlUserJdbcRepository, times(1)).update(_ID1, _NAME2, _EMAIL, 3L);
+    }
+
+    @Test
+    @DisplayName("사용자 수정 : 버전 불일치 시 예외 발생")
+    void updateVersionMismatchException() {
+        // given
+        UserRequestDto userRequestDto = new UserRequestDto(_NAME2, _EMAIL);
+        when(mysqlUserJdbcRepository.update(_ID1, _NAME2, _EMAIL, 3L)).thenReturn(null);
+        when(mysqlUserRepository.existsById(_ID1)).thenReturn(true);
+
+        // when & then
+        CustomException exception = assertThrows(CustomException.class, () -> mysqlService.update(_ID1, userRequestDto, 3L));
+
+        assertEquals(ResponseCode.PRECONDITION_FAILED.getHttpStatus().value(), exception.getErrorResponse().httpStatus());
+        verify(mysqlUserRepository, times(1)).existsById(_ID1);
+    }
+
+    @Test
+    @DisplayName("사용자 수정 : 존재하지 않는 사용자 수정 시 예외 발생")
     void updateNotFoundException() {
         // given
         Long invalidId = 999L;
         UserRequestDto userRequestDto = fixtureMonkey.giveMeOne(UserRequestDto.class);
-        when(mysqlUserRepository.findById(invalidId)).thenReturn(Optional.empty());
+        when(mysqlUserJdbcRepository.update(eq(invalidId), any(), any(), isNull())).thenReturn(null);
 
         // when & then
         CustomException exception = assertThrows(CustomException.class, () -> mysqlService.update(invalidId, userRequestDto));
 
         assertEquals("해당 사용자가 없습니다. id=999", exception.getErrorResponse().message());
-        verify(mysqlUserRepository, times(1)).findById(invalidId);
+        verify(mysqlUserJdbcRepository, times(1)).update(eq(invalidId), any(), any(), isNull());
     }
 
     @Test
-    @DisplayName("사용자 삭제")
+    @DisplayName("사용자 삭제 : 조회 없이 단일 DELETE")
     void delete() {
         // given
-        User user = fixtureMonkey.giveMeOne(User.class);
-        when(mysqlUserRepository.findById(any())).thenReturn(Optional.of(user));
+        when(mysqlUserJdbcRepository.deleteById(_ID1)).thenReturn(1);
 
         // when
         mysqlService.delete(_ID1);
 
         // then
-        verify(mysqlUserRepository, times(1)).findById(any());
-        verify(mysqlUserRepository, times(1)).deleteById(any());
+        verify(mysqlUserJdbcRepository, times(1)).deleteById(_ID1);
+        verify(mysqlUserRepository, never()).findById(any());
+        verify(mysqlUserRepository, never()).deleteById(any());
+        verify(userOutboxRepository, times(1)).append(List.of(_ID1), UserOutbox.Action.DELETED);
     }
 
     @Test
-    @DisplayName("사용자 삭제 : 존재하지 않는 사용자 검색 시 예외 발생")
+    @DisplayName("사용자 삭제 : 존재하지 않는 사용자 삭제 시 예외 발생")
     void deleteNotFoundException() {
         // given
         Long invalidId = 999L;
-        when(mysqlUserRepository.findById(invalidId)).thenReturn(Optional.empty());
+        when(mysqlUserJdbcRepository.deleteById(invalidId)).thenReturn(0);
 
         // when & then
         CustomException exception = assertThrows(CustomException.class, () -> mysqlService.delete(invalidId));
 
         assertEquals("해당 사용자가 없습니다. id=999", exception.getErrorResponse().message());
-        verify(mysqlUserRepository, times(1)).findById(invalidId);
+        verify(mysqlUserJdbcRepository, times(1)).deleteById(invalidId);
+        verify(userOutboxRepository, never()).append(any(), any());
     }
 
 }
\ No newline at end of file
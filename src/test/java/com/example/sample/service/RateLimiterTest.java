@@ -0,0 +1,109 @@
+package com.example.sample.service;
+
+import com.example.sample.common.ResponseCode;
+import com.example.sample.common.TooManyRequestsException;
+import com.example.sample.dto.RateLimitGrant;
+import com.example.sample.repository.RedisUserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimiterTest {
+
+    @Mock
+    RedisUserRepository redisUserRepository;
+
+    RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        this.rateLimiter = new RateLimiter(redisUserRepository);
+        ReflectionTestUtils.setField(rateLimiter, "leaseRatio", 0.1);
+        ReflectionTestUtils.setField(rateLimiter, "leaseTtlMs", 60000L);
+    }
+
+    @Test
+    @DisplayName("요청 수 제한 - Redis 1회로 capacity x lease-ratio 개를 가져와 로컬에서 소진")
+    void acquireLease() {
+        // given
+        when(redisUserRepository.acquireTokens("rate:test:127.0.0.1", 100, 50.0, 10)).thenReturn(new RateLimitGrant(10, 0));
+
+        // when
+        IntStream.range(0, 10).forEach(i -> rateLimiter.acquire("test", "127.0.0.1", 100, 50.0));
+
+        // then
+        verify(redisUserRepository, times(1)).acquireTokens(anyString(), anyLong(), anyDouble(), anyLong());
+    }
+
+    @Test
+    @DisplayName("요청 수 제한 - 로컬 토큰을 다 쓰면 다시 Redis 에서 가져옴")
+    void acquireLeaseExhausted() {
+        // given
+        when(redisUserRepository.acquireTokens("rate:test:127.0.0.1", 100, 50.0, 10)).thenReturn(new RateLimitGrant(3, 0));
+
+        // when
+        IntStream.range(0, 4).forEach(i -> rateLimiter.acquire("test", "127.0.0.1", 100, 50.0));
+
+        // then
+        verify(redisUserRepository, times(2)).acquireTokens(anyString(), anyLong(), anyDouble(), anyLong());
+    }
+
+    @Test
+    @DisplayName("요청 수 제한 - 거절되면 429, 다음 토큰 보충 전까지 Redis 호출 없이 거절")
+    void acquireRejected() {
+        // given
+        when(redisUserRepository.acquireTokens("rate:test:127.0.0.1", 100, 50.0, 10)).thenReturn(new RateLimitGrant(0, 1500));
+
+        // when
+        TooManyRequestsException first = Assertions.assertThrows(TooManyRequestsException.class, () -> rateLimiter.acquire("test", "127.0.0.1", 100, 50.0));
+        TooManyRequestsException second = Assertions.assertThrows(TooManyRequestsException.class, () -> rateLimiter.acquire("test", "127.0.0.1", 100, 50.0));
+
+        // then
+        Assertions.assertEquals(ResponseCode.TOO_MANY_REQUESTS.getHttpStatus().value(), first.getErrorResponse().httpStatus());
+        Assertions.assertEquals(ResponseCode.TOO_MANY_REQUESTS.getHttpStatus().value(), second.getErrorResponse().httpStatus());
+        Assertions.assertTrue(first.getErrorResponse().message().contains("2초"));
+        Assertions.assertEquals(2, first.getRetryAfterSeconds());
+        verify(redisUserRepository, times(1)).acquireTokens(anyString(), anyLong(), anyDouble(), anyLong());
+    }
+
+    @Test
+    @DisplayName("요청 수 제한 - Redis 오류 시 허용 (fail-open)")
+    void acquireFailOpen() {
+        // given
+        when(redisUserRepository.acquireTokens(anyString(), anyLong(), anyDouble(), anyLong())).thenThrow(new IllegalStateException("redis down"));
+
+        // when-then
+        Assertions.assertDoesNotThrow(() -> rateLimiter.acquire("test", "127.0.0.1", 100, 50.0));
+    }
+
+    @Test
+    @DisplayName("요청 수 제한 - 클라이언트별로 따로 제한, 임대 크기는 최소 1")
+    void acquirePerClient() {
+        // given
+        when(redisUserRepository.acquireTokens(anyString(), anyLong(), anyDouble(), anyLong())).thenReturn(new RateLimitGrant(1, 0));
+
+        // when
+        rateLimiter.acquire("test", "10.0.0.1", 5, 1.0);
+        rateLimiter.acquire("test", "10.0.0.2", 5, 1.0);
+
+        // then
+        verify(redisUserRepository, times(1)).acquireTokens("rate:test:10.0.0.1", 5, 1.0, 1);
+        verify(redisUserRepository, times(1)).acquireTokens("rate:test:10.0.0.2", 5, 1.0, 1);
+    }
+
+}
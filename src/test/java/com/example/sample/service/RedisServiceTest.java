@@ -1,8 +1,15 @@
 package com.example.sample.service;
 
+import com.example.sample.common.CustomException;
+import com.example.sample.common.JacksonRedisValueCodec;
+import com.example.sample.common.ResponseCode;
+import com.example.sample.dto.RedisKeyPage;
 import com.example.sample.dto.RedisUserDto;
+import com.example.sample.dto.TrendingItem;
+import com.example.sample.dto.UniqueViewRequest;
+import com.example.sample.dto.ViewCountMigrationResult;
 import com.example.sample.repository.RedisUserRepository;
-import com.google.gson.JsonObject;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.navercorp.fixturemonkey.FixtureMonkey;
 import com.navercorp.fixturemonkey.api.introspector.BuilderArbitraryIntrospector;
 import org.junit.jupiter.api.Assertions;
@@ -10,16 +17,33 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import static com.navercorp.fixturemonkey.api.experimental.JavaGetterMethodPropertySelector.javaGetter;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,6 +55,8 @@ class RedisServiceTest {
     final String _USERNAME = "USERNAME";
     final String _EMAIL = "EMAIL@EMAIL.COM";
     final int _AGE = 30;
+    // JVM 기본 시간대와 날짜가 다를 수 있는 시간대 (버킷 날짜가 설정 시간대를 따르는지 확인)
+    final ZoneId _ZONE = ZoneId.of("Pacific/Kiritimati");
 
     RedisService redisService;
     FixtureMonkey fixtureMonkey;
@@ -38,9 +64,18 @@ class RedisServiceTest {
     @Mock
     RedisUserRepository redisUserRepository;
 
+    @Mock
+    TrendingService trendingService;
+
+    ViewCountKeys viewCountKeys = new ViewCountKeys(ViewCountKeys.Storage.KEY, 1000);
+
     @BeforeEach
     void setUp() {
-        this.redisService = new RedisService(redisUserRepository);
+        this.redisService = new RedisService(redisUserRepository,
+                new JacksonRedisValueCodec(new ObjectMapper(), JacksonRedisValueCodec.Format.JSON, 0), Optional.empty(), trendingService, viewCountKeys);
+        ReflectionTestUtils.setField(redisService, "recentMaxSize", 10);
+        ReflectionTestUtils.setField(redisService, "uniqueViewRetentionDays", 90);
+        ReflectionTestUtils.setField(redisService, "uniqueViewZone", _ZONE);
         this.fixtureMonkey = FixtureMonkey.builder()
                 .objectIntrospector(BuilderArbitraryIntrospector.INSTANCE) // Builder 기반으로 생성
                 .build();
@@ -71,22 +106,133 @@ class RedisServiceTest {
     }
 
     @Test
-    @DisplayName("사용자 ID 조회")
+    @DisplayName("사용자 생성 - TTL 은 1시간 + jitter")
+    void createUserTtlJitter() {
+        // given
+        ReflectionTestUtils.setField(redisService, "userTtlJitter", 0.1);
+        final RedisUserDto redisUserDto = new RedisUserDto(_ID, _USERNAME, _EMAIL, _AGE);
+
+        // when
+        redisService.createUser(redisUserDto);
+
+        // then
+        ArgumentCaptor<Long> captor = ArgumentCaptor.forClass(Long.class);
+        verify(redisUserRepository, times(1)).setValueWithTTL(eq("user:" + _ID), any(), captor.capture(), eq(TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(captor.getValue() >= TimeUnit.HOURS.toMillis(1));
+        Assertions.assertTrue(captor.getValue() <= TimeUnit.MINUTES.toMillis(66));
+    }
+
+    @Test
+    @DisplayName("사용자 일괄 생성 - 파이프라인 1회")
+    void createUsers() {
+        // given
+        final List<RedisUserDto> users = List.of(
+                new RedisUserDto("u1", _USERNAME, _EMAIL, _AGE),
+                new RedisUserDto("u2", _USERNAME, _EMAIL, _AGE));
+
+        // when
+        List<RedisUserDto> savedUsers = redisService.createUsers(users);
+
+        // then
+        Assertions.assertEquals(users, savedUsers);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(redisUserRepository, times(1)).setValuesWithTTL(captor.capture(), any(), eq(TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(List.of("user:u1", "user:u2"), List.copyOf(captor.getValue().keySet()));
+        verify(redisUserRepository, never()).setValueWithTTL(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("사용자 일괄 생성 실패 - 최대 건수 초과")
+    void createUsersTooMany() {
+        // given
+        final List<RedisUserDto> users = IntStream.range(0, 1001)
+                .mapToObj(i -> new RedisUserDto("u" + i, _USERNAME, _EMAIL, _AGE))
+                .toList();
+
+        // when
+        CustomException exception = Assertions.assertThrows(CustomException.class, () -> redisService.createUsers(users));
+
+        // then
+        Assertions.assertEquals(ResponseCode.BAD_REQUEST.getHttpStatus().value(), exception.getErrorResponse().httpStatus());
+        verify(redisUserRepository, never()).setValuesWithTTL(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("사용자 일괄 조회 - MGET 1회, 없는 사용자 제외")
+    void getUsersByIds() {
+        // given
+        final RedisUserDto u1 = new RedisUserDto("u1", _USERNAME, _EMAIL, _AGE);
+        final RedisUserDto u3 = new RedisUserDto("u3", _USERNAME, _EMAIL, _AGE);
+        when(redisUserRepository.multiGet(List.of("user:u1", "user:u2", "user:u3"), RedisUserDto.class))
+                .thenReturn(Arrays.asList(u1, null, u3));
+
+        // when
+        Map<String, RedisUserDto> users = redisService.getUsersByIds(List.of("u1", "u2", "u3", "u1"));
+
+        // then
+        Assertions.assertEquals(List.of("u1", "u3"), List.copyOf(users.keySet()));
+        Assertions.assertEquals(u3, users.get("u3"));
+        verify(redisUserRepository, times(1)).multiGet(any(), eq(RedisUserDto.class));
+        verify(redisUserRepository, never()).getValue(any(), any());
+    }
+
+    @Test
+    @DisplayName("사용자 ID 조회 - 조회는 TTL 을 바꾸지 않음")
     void getUserById() {
         // given
-        JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("id", _ID);
-        jsonObject.addProperty("username", _USERNAME);
-        jsonObject.addProperty("email", _EMAIL);
-        jsonObject.addProperty("age", _AGE);
+        final RedisUserDto redisUserDto = new RedisUserDto(_ID, _USERNAME, _EMAIL, _AGE);
 
         // when
-        when(redisUserRepository.getValue(any())).thenReturn(jsonObject);
-        Object returnObject = redisService.getUserById(_ID);
+        when(redisUserRepository.getValue("user:" + _ID, RedisUserDto.class)).thenReturn(redisUserDto);
+        RedisUserDto returnObject = redisService.getUserById(_ID);
 
         // then
         Assertions.assertNotNull(returnObject);
-        verify(redisUserRepository, times(1)).getValue(any());
+        Assertions.assertEquals(_USERNAME, returnObject.username());
+        Assertions.assertEquals(_AGE, returnObject.age());
+        verify(redisUserRepository, times(1)).getValue(any(), eq(RedisUserDto.class));
+        verify(redisUserRepository, never()).setExpire(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("사용자 JSON 조회 - 저장된 JSON 은 그대로 전달")
+    void getUserJsonPassthrough() {
+        // given
+        final byte[] storedJson = "{\"id\":\"USERID\",\"username\":\"USERNAME\"}".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        when(redisUserRepository.getRawValue("user:" + _ID)).thenReturn(storedJson);
+        byte[] json = redisService.getUserJson(_ID);
+
+        // then - 복사/재인코딩 없이 같은 배열
+        Assertions.assertSame(storedJson, json);
+        verify(redisUserRepository, never()).getValue(any(), any());
+    }
+
+    @Test
+    @DisplayName("사용자 JSON 조회 - SMILE/gzip 으로 저장된 값은 JSON 으로 변환")
+    void getUserJsonTranscoded() throws Exception {
+        // given
+        final RedisUserDto redisUserDto = new RedisUserDto(_ID, _USERNAME, _EMAIL, _AGE);
+        final byte[] stored = new JacksonRedisValueCodec(new ObjectMapper(), JacksonRedisValueCodec.Format.SMILE, 1).encode(redisUserDto);
+
+        // when
+        when(redisUserRepository.getRawValue("user:" + _ID)).thenReturn(stored);
+        byte[] json = redisService.getUserJson(_ID);
+
+        // then
+        Assertions.assertEquals(redisUserDto, new ObjectMapper().readValue(json, RedisUserDto.class));
+    }
+
+    @Test
+    @DisplayName("사용자 JSON 조회 - 없으면 null")
+    void getUserJsonNotFound() {
+        // when
+        when(redisUserRepository.getRawValue(any())).thenReturn(null);
+
+        // then
+        Assertions.assertNull(redisService.getUserJson(_ID));
     }
 
     @Test
@@ -108,16 +254,67 @@ class RedisServiceTest {
     void searchKeys() {
         // given
         final String pattern = "*";
-        final Set<String> result = Set.of("user:abc1", "user:abc2", "user:abc3");
+        final RedisKeyPage result = new RedisKeyPage(List.of("user:abc1", "user:abc2", "user:abc3"), "17", false);
+
+        // when
+        when(redisUserRepository.scanKeys(pattern, "0", 100L)).thenReturn(result);
+        RedisKeyPage keyPage = redisService.searchKeys(pattern, null, 100);
+
+        // then
+        Assertions.assertNotNull(keyPage);
+        Assertions.assertEquals(result.keys().size(), keyPage.keys().size());
+        Assertions.assertEquals("17", keyPage.cursor());
+        Assertions.assertFalse(keyPage.finished());
+        verify(redisUserRepository, times(1)).scanKeys(pattern, "0", 100L);
+    }
+
+    @Test
+    @DisplayName("키 패턴 조회 - count 는 1 ~ 1000 으로 제한")
+    void searchKeysCountClamped() {
+        // given
+        final String pattern = "user:*";
+        final RedisKeyPage result = new RedisKeyPage(List.of(), "0", true);
 
         // when
-        when(redisUserRepository.getKeys(any())).thenReturn(result);
-        Set<String> keySet = redisService.searchKeys(pattern);
+        when(redisUserRepository.scanKeys(eq(pattern), eq("42"), anyLong())).thenReturn(result);
+        redisService.searchKeys(pattern, "42", 100_000);
+        redisService.searchKeys(pattern, "42", 0);
 
         // then
-        Assertions.assertNotNull(keySet);
-        Assertions.assertEquals(result.size(), keySet.size());
-        verify(redisUserRepository, times(1)).getKeys(any());
+        verify(redisUserRepository, times(1)).scanKeys(pattern, "42", 1000L);
+        verify(redisUserRepository, times(1)).scanKeys(pattern, "42", 1L);
+    }
+
+    @Test
+    @DisplayName("키 패턴 조회 실패 - 잘못된 cursor")
+    void searchKeysInvalidCursor() {
+        // when
+        CustomException exception = Assertions.assertThrows(CustomException.class,
+                () -> redisService.searchKeys("*", "abc", 100));
+
+        // then
+        Assertions.assertEquals(ResponseCode.BAD_REQUEST.getHttpStatus().value(), exception.getErrorResponse().httpStatus());
+        verify(redisUserRepository, never()).scanKeys(any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("키 스트리밍 조회")
+    void streamKeys() {
+        // given
+        final String pattern = "user:*";
+        final List<String> keys = List.of("user:abc1", "user:abc2");
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(2);
+            keys.forEach(consumer);
+            return null;
+        }).when(redisUserRepository).scanKeys(eq(pattern), eq(500L), any());
+
+        // when
+        List<String> streamed = new ArrayList<>();
+        redisService.streamKeys(pattern, 500, streamed::add);
+
+        // then
+        Assertions.assertEquals(keys, streamed);
     }
 
     @Test
@@ -126,37 +323,33 @@ class RedisServiceTest {
         // given
         final String userId = "abc1";
         final String itemId = "100";
-        final List<Object> objects = List.of("user:abc1", "user:abc2", "user:abc3");
 
         // when
-        when(redisUserRepository.leftPush(any(), any())).thenReturn(1L);
-        when(redisUserRepository.getListRange(any(), anyLong(), anyLong())).thenReturn(objects);
+        when(redisUserRepository.leftPushDistinct(any(), any(), anyLong())).thenReturn(3L);
         redisService.addToRecentItems(userId, itemId);
 
-        // then
-        verify(redisUserRepository, times(1)).leftPush(any(), any());
-        verify(redisUserRepository, times(1)).getListRange(any(), anyLong(), anyLong());
+        // then - 스크립트 1회로 추가/중복 제거/크기 제한, 목록 전체 조회나 pop 없음
+        verify(redisUserRepository, times(1)).leftPushDistinct("recent:abc1", itemId, 10L);
+        verify(redisUserRepository, never()).leftPush(any(), any());
+        verify(redisUserRepository, never()).getListRange(any(), anyLong(), anyLong());
+        verify(redisUserRepository, never()).rightPop(any());
     }
 
     @Test
-    @DisplayName("최근상품 추가")
+    @DisplayName("최근상품 추가 - 최대 개수 설정")
     void addToRecentItemsUpTenElement() {
         // given
         final String userId = "abc1";
         final String itemId = "100";
-        final List<Object> objects = List.of("user:abc1", "user:abc2", "user:abc3", "user:abc4", "user:abc5",
-                "user:abc6", "user:abc7", "user:abc8", "user:abc9", "user:abc10", "user:abc11");
+        ReflectionTestUtils.setField(redisService, "recentMaxSize", 20);
 
         // when
-        when(redisUserRepository.leftPush(any(), any())).thenReturn(1L);
-        when(redisUserRepository.getListRange(any(), anyLong(), anyLong())).thenReturn(objects);
-        when(redisUserRepository.rightPop(any())).thenReturn(itemId);
+        when(redisUserRepository.leftPushDistinct(any(), any(), anyLong())).thenReturn(20L);
         redisService.addToRecentItems(userId, itemId);
 
         // then
-        verify(redisUserRepository, times(1)).leftPush(any(), any());
-        verify(redisUserRepository, times(1)).getListRange(any(), anyLong(), anyLong());
-        verify(redisUserRepository, times(1)).rightPop(any());
+        verify(redisUserRepository, times(1)).leftPushDistinct("recent:abc1", itemId, 20L);
+        verify(redisUserRepository, never()).rightPop(any());
     }
 
     @Test
@@ -172,7 +365,7 @@ class RedisServiceTest {
         // then
         Assertions.assertNotNull(recentItems);
         Assertions.assertEquals(objects.size(), recentItems.size());
-        verify(redisUserRepository, times(1)).getListRange(any(), anyLong(), anyLong());
+        verify(redisUserRepository, times(1)).getListRange("recent:" + _ID, 0, 9);
     }
 
     @Test
@@ -223,20 +416,120 @@ class RedisServiceTest {
     }
 
     @Test
-    @DisplayName("조회수 증가")
+    @DisplayName("조회수 증가 - 인기 상품 버킷도 같은 파이프라인으로 기록")
     void incrementViewCount() {
         // given
         final String itemId = "abc1";
         final Long viewCount = 100L;
+        when(trendingService.bucketKey(any())).thenReturn("trending:1");
+        when(trendingService.bucketTtl()).thenReturn(Duration.ofHours(1));
 
         // when
-        when(redisUserRepository.increment(any())).thenReturn(viewCount);
+        when(redisUserRepository.incrementWithScore("views:" + itemId, "trending:1", itemId, 3600L, TimeUnit.SECONDS)).thenReturn(viewCount);
         Long resultViewCount = redisService.incrementViewCount(itemId);
 
         // then
         Assertions.assertNotNull(resultViewCount);
         Assertions.assertEquals(viewCount, resultViewCount);
-        verify(redisUserRepository, times(1)).increment(any());
+        verify(redisUserRepository, times(1)).incrementWithScore(any(), any(), any(), anyLong(), any());
+        verify(redisUserRepository, never()).increment(any());
+    }
+
+    @Test
+    @DisplayName("조회수 증가 - Hash 모드는 views-hash:{itemId / 1000} 의 필드 {itemId % 1000} 에 HINCRBY 하고 이동 전 views:{itemId} 값을 더해 반환")
+    void incrementViewCountHash() {
+        // given
+        RedisService hashService = hashService();
+        when(trendingService.bucketKey(any())).thenReturn("trending:1");
+        when(trendingService.bucketTtl()).thenReturn(Duration.ofHours(1));
+        when(redisUserRepository.incrementHashWithScore("views-hash:12", "345", "views:12345", "trending:1", "12345", 3600L, TimeUnit.SECONDS)).thenReturn(7L);
+
+        // when
+        Long viewCount = hashService.incrementViewCount("12345");
+
+        // then
+        Assertions.assertEquals(7L, viewCount);
+        verify(redisUserRepository, never()).incrementWithScore(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("조회수 가져오기 - Hash 모드는 Hash 필드 + 이동 전 views:{itemId} 합계, 숫자가 아닌 itemId 는 기존 키")
+    void getViewCountHash() {
+        // given
+        RedisService hashService = hashService();
+        when(redisUserRepository.sumHashFieldAndValue("views-hash:0", "42", "views:42")).thenReturn(3L);
+        when(redisUserRepository.getValue("views:abc1")).thenReturn("5");
+
+        // when
+        Long numeric = hashService.getViewCount("42");
+        Long nonNumeric = hashService.getViewCount("abc1");
+
+        // then
+        Assertions.assertEquals(3L, numeric);
+        Assertions.assertEquals(5L, nonNumeric);
+    }
+
+    @Test
+    @DisplayName("조회수 Hash 이동 - 숫자 itemId 키만 Lua 스크립트로 이동")
+    void migrateViewCountsToHash() {
+        // given
+        RedisService hashService = hashService();
+        when(redisUserRepository.usedMemory()).thenReturn(1000L, 400L);
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(2);
+            List.of("views:1", "views:1001", "views:abc1").forEach(consumer);
+            return null;
+        }).when(redisUserRepository).scanKeys(eq("views:*"), anyLong(), any());
+        when(redisUserRepository.moveToHashFields(List.of("views:1", "views:1001"), List.of("views-hash:0", "views-hash:1"), List.of("1", "1")))
+                .thenReturn(2L);
+
+        // when
+        ViewCountMigrationResult result = hashService.migrateViewCountsToHash();
+
+        // then
+        Assertions.assertEquals(new ViewCountMigrationResult(3, 2, 1000L, 400L), result);
+    }
+
+    @Test
+    @DisplayName("조회수 Hash 이동 - KEY 모드면 BAD_REQUEST")
+    void migrateViewCountsToHashKeyStorage() {
+        // when
+        CustomException exception = Assertions.assertThrows(CustomException.class, () -> redisService.migrateViewCountsToHash());
+
+        // then
+        Assertions.assertEquals(ResponseCode.BAD_REQUEST.getHttpStatus().value(), exception.getErrorResponse().httpStatus());
+        verify(redisUserRepository, never()).moveToHashFields(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("조회수 버킷 크기 확인 - HASH 모드에서만 hash-max-listpack-entries 조회")
+    void checkViewCountBucketSize() {
+        // given
+        RedisService hashService = hashService();
+        when(redisUserRepository.getConfig("hash-max-listpack-entries")).thenReturn(Optional.of("128"));
+
+        // when
+        redisService.checkViewCountBucketSize();
+        hashService.checkViewCountBucketSize();
+
+        // then
+        verify(redisUserRepository, times(1)).getConfig("hash-max-listpack-entries");
+        Assertions.assertFalse(new ViewCountKeys(ViewCountKeys.Storage.HASH, 1000).fitsListpack(128));
+        Assertions.assertTrue(new ViewCountKeys(ViewCountKeys.Storage.HASH, 128).fitsListpack(128));
+    }
+
+    @Test
+    @DisplayName("인기 상품 조회")
+    void getTrendingItems() {
+        // given
+        List<TrendingItem> trendingItems = List.of(new TrendingItem("abc1", 10.5), new TrendingItem("abc2", 3.0));
+
+        // when
+        when(trendingService.getTrending(2)).thenReturn(trendingItems);
+        List<TrendingItem> result = redisService.getTrendingItems(2);
+
+        // then
+        Assertions.assertEquals(trendingItems, result);
     }
 
     @Test
@@ -256,6 +549,27 @@ class RedisServiceTest {
         verify(redisUserRepository, times(1)).getValue(any());
     }
 
+    @Test
+    @DisplayName("조회수 증가 - 버퍼 모드는 Redis 호출 없음")
+    void incrementViewCountBuffered() {
+        // given
+        final String itemId = "abc1";
+        ViewCountBuffer viewCountBuffer = new ViewCountBuffer(redisUserRepository, trendingService, viewCountKeys);
+        ReflectionTestUtils.setField(viewCountBuffer, "flushThreshold", 1000L);
+        RedisService bufferedService = new RedisService(redisUserRepository,
+                new JacksonRedisValueCodec(new ObjectMapper(), JacksonRedisValueCodec.Format.JSON, 0), Optional.of(viewCountBuffer), trendingService, viewCountKeys);
+
+        // when
+        IntStream.range(0, 5).forEach(i -> bufferedService.incrementViewCount(itemId));
+        when(redisUserRepository.getValue("views:" + itemId)).thenReturn("100");
+        Long viewCount = bufferedService.getViewCount(itemId);
+
+        // then - Redis 값 + 미반영 증가분
+        Assertions.assertEquals(105L, viewCount);
+        verify(redisUserRepository, never()).increment(any());
+        verify(redisUserRepository, never()).incrementBy(any());
+    }
+
     @Test
     @DisplayName("조회수 가져오기 (NULL 리턴 케이스)")
     void getViewCountReturnNull() {
@@ -273,4 +587,86 @@ class RedisServiceTest {
         verify(redisUserRepository, times(1)).getValue(any());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("고유 조회자 일괄 기록 - 상품별로 묶어 파이프라인 1회")
+    void recordUniqueViews() {
+        // given
+        final String today = LocalDate.now(_ZONE).format(DateTimeFormatter.BASIC_ISO_DATE);
+        final List<UniqueViewRequest> views = List.of(
+                new UniqueViewRequest("item1", "u1"),
+                new UniqueViewRequest("item2", "u1"),
+                new UniqueViewRequest("item1", "u2"));
+
+        // when
+        int recorded = redisService.recordUniqueViews(views);
+
+        // then
+        Assertions.assertEquals(3, recorded);
+        verify(redisUserRepository, times(1)).addToHyperLogLogs(
+                Map.of("uv:item1:" + today, List.of("u1", "u2"), "uv:item2:" + today, List.of("u1")), 91L, TimeUnit.DAYS);
+    }
+
+    @Test
+    @DisplayName("고유 조회자 기록 - 빈 목록은 Redis 호출 없음")
+    void recordUniqueViewsEmpty() {
+        // when
+        int recorded = redisService.recordUniqueViews(List.of());
+
+        // then
+        Assertions.assertEquals(0, recorded);
+        verify(redisUserRepository, never()).addToHyperLogLogs(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("고유 조회자 수 - 오늘")
+    void getUniqueViewCountToday() {
+        // given
+        final String today = LocalDate.now(_ZONE).format(DateTimeFormatter.BASIC_ISO_DATE);
+        when(redisUserRepository.countHyperLogLog("uv:item1:" + today)).thenReturn(42L);
+
+        // when
+        Long count = redisService.getUniqueViewCount("item1", 1);
+
+        // then
+        Assertions.assertEquals(42L, count);
+        verify(redisUserRepository, never()).mergeHyperLogLogs(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("고유 조회자 수 - 최근 7일 버킷 PFMERGE")
+    void getUniqueViewCountMerged() {
+        // given
+        final LocalDate today = LocalDate.now(_ZONE);
+        final List<String> sourceKeys = IntStream.rangeClosed(0, 6)
+                .mapToObj(i -> "uv:item1:" + today.minusDays(6 - i).format(DateTimeFormatter.BASIC_ISO_DATE))
+                .toList();
+        final String mergedKey = "uv:item1:" + today.minusDays(6).format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "-" + today.format(DateTimeFormatter.BASIC_ISO_DATE);
+        when(redisUserRepository.mergeHyperLogLogs(mergedKey, sourceKeys, 10L, TimeUnit.MINUTES)).thenReturn(100L);
+
+        // when
+        Long count = redisService.getUniqueViewCount("item1", 7);
+
+        // then
+        Assertions.assertEquals(100L, count);
+        verify(redisUserRepository, never()).countHyperLogLog(any());
+    }
+
+    @Test
+    @DisplayName("고유 조회자 수 실패 - 기간 범위 초과")
+    void getUniqueViewCountInvalidDays() {
+        // when
+        CustomException exception = Assertions.assertThrows(CustomException.class, () -> redisService.getUniqueViewCount("item1", 91));
+
+        // then
+        Assertions.assertEquals(ResponseCode.BAD_REQUEST.getHttpStatus().value(), exception.getErrorResponse().httpStatus());
+        Assertions.assertThrows(CustomException.class, () -> redisService.getUniqueViewCount("item1", 0));
+    }
+
+    private RedisService hashService() {
+        return new RedisService(redisUserRepository,
+                new JacksonRedisValueCodec(new ObjectMapper(), JacksonRedisValueCodec.Format.JSON, 0), Optional.empty(), trendingService,
+                new ViewCountKeys(ViewCountKeys.Storage.HASH, 1000));
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.example.sample.service;
+
+import com.example.sample.dto.TrendingItem;
+import com.example.sample.repository.RedisUserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+    // 5분 버킷 기준 버킷 번호 100
+    final Instant _NOW = Instant.ofEpochMilli(Duration.ofMinutes(5).toMillis() * 100 + 1234);
+
+    @Mock
+    RedisUserRepository redisUserRepository;
+
+    TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        this.trendingService = new TrendingService(redisUserRepository);
+        ReflectionTestUtils.setField(trendingService, "bucket", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(trendingService, "buckets", 3);
+        ReflectionTestUtils.setField(trendingService, "halfLife", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(trendingService, "refreshIntervalMs", 60000L);
+    }
+
+    @Test
+    @DisplayName("버킷 키 / 보관 기간")
+    void bucketKey() {
+        Assertions.assertEquals("trending:100", trendingService.bucketKey(_NOW));
+        Assertions.assertEquals(Duration.ofMinutes(20), trendingService.bucketTtl());
+    }
+
+    @Test
+    @DisplayName("조회수 일괄 기록 - 현재 버킷에 ZINCRBY 파이프라인 1회")
+    void recordViews() {
+        // when
+        trendingService.recordViews(Map.of("a", 3L, "b", 1L));
+        trendingService.recordViews(Map.of());
+
+        // then
+        verify(redisUserRepository, times(1)).incrementScores(any(), eq(Map.of("a", 3.0, "b", 1.0)), eq(1200L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("합산 - 최근 버킷부터 half-life 기준 감쇠 가중치")
+    void aggregate() {
+        // when
+        trendingService.aggregate(_NOW);
+
+        // then
+        verify(redisUserRepository, times(1)).unionWithWeights("trending:now",
+                List.of("trending:100", "trending:99", "trending:98"), List.of(1.0, 0.5, 0.25), 120000L, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @DisplayName("주기적 합산 - 다른 노드가 락을 잡고 있으면 건너뜀")
+    void refreshSkippedWhenLocked() {
+        // given
+        when(redisUserRepository.setIfAbsent(eq("trending:lock"), any(), anyLong(), any())).thenReturn(false);
+
+        // when
+        trendingService.refresh();
+
+        // then
+        verify(redisUserRepository, never()).unionWithWeights(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("인기 상품 조회 - 합산 결과가 없으면 락을 잡고 즉시 합산, limit 최대 100")
+    void getTrending() {
+        // given
+        Set<ZSetOperations.TypedTuple<Object>> tuples = new LinkedHashSet<>();
+        tuples.add(new DefaultTypedTuple<>("a", 7.5));
+        tuples.add(new DefaultTypedTuple<>("b", 2.0));
+        when(redisUserRepository.hasKey("trending:now")).thenReturn(false);
+        when(redisUserRepository.setIfAbsent("trending:lock", "1", 59900L, TimeUnit.MILLISECONDS)).thenReturn(true);
+        when(redisUserRepository.getTopWithScores("trending:now", 100)).thenReturn(tuples);
+
+        // when
+        List<TrendingItem> trendingItems = trendingService.getTrending(1000);
+
+        // then
+        Assertions.assertEquals(List.of(new TrendingItem("a", 7.5), new TrendingItem("b", 2.0)), trendingItems);
+        verify(redisUserRepository, times(1)).unionWithWeights(eq("trending:now"), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("인기 상품 조회 - 합산 결과가 없어도 다른 요청이 락을 잡고 있으면 합산하지 않고 빈 목록")
+    void getTrendingWhileLocked() {
+        // given
+        when(redisUserRepository.hasKey("trending:now")).thenReturn(false);
+        when(redisUserRepository.setIfAbsent(eq("trending:lock"), any(), anyLong(), any())).thenReturn(false);
+        when(redisUserRepository.getTopWithScores("trending:now", 10)).thenReturn(Set.of());
+
+        // when
+        List<TrendingItem> trendingItems = trendingService.getTrending(10);
+
+        // then
+        Assertions.assertEquals(List.of(), trendingItems);
+        verify(redisUserRepository, never()).unionWithWeights(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("인기 상품 조회 - 합산 결과가 있으면 락 없이 바로 조회")
+    void getTrendingCached() {
+        // given
+        when(redisUserRepository.hasKey("trending:now")).thenReturn(true);
+        when(redisUserRepository.getTopWithScores("trending:now", 10)).thenReturn(Set.of(new DefaultTypedTuple<>("a", 1.0)));
+
+        // when
+        List<TrendingItem> trendingItems = trendingService.getTrending(10);
+
+        // then
+        Assertions.assertEquals(List.of(new TrendingItem("a", 1.0)), trendingItems);
+        verify(redisUserRepository, never()).setIfAbsent(any(), any(), anyLong(), any());
+    }
+
+}
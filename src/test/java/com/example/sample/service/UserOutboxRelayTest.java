@@ -0,0 +1,163 @@
+package com.example.sample.service;
+
+import com.example.sample.domain.UserOutbox;
+import com.example.sample.dto.UserEventMessage;
+import com.example.sample.repository.UserOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserOutboxRelayTest {
+
+    @InjectMocks
+    UserOutboxRelay userOutboxRelay;
+
+    @Mock
+    UserOutboxRepository userOutboxRepository;
+
+    @Mock
+    KafkaProducerService kafkaProducerService;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    final Instant _CREATED_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userOutboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(userOutboxRelay, "lease", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(userOutboxRelay, "sendTimeout", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(userOutboxRelay, "purgeRetention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(userOutboxRelay, "purgeBatchSize", 2);
+    }
+
+    @Test
+    @DisplayName("outbox 발행 : 배치가 가득 차면 연속 처리 후 일괄 발행 표시")
+    void relay() {
+        // given
+        when(userOutboxRepository.claimPending(anyString(), any(), any(), eq(2))).thenReturn(
+                List.of(outbox(1L, 10L, UserOutbox.Action.CREATED), outbox(2L, 10L, UserOutbox.Action.UPDATED)),
+                List.of(outbox(3L, 20L, UserOutbox.Action.DELETED)));
+        when(kafkaProducerService.sendMessages(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        userOutboxRelay.relay();
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserEventMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(kafkaProducerService, times(2)).sendMessages(captor.capture());
+        assertEquals(List.of(
+                new UserEventMessage(10L, "CREATED", _CREATED_AT),
+                new UserEventMessage(10L, "UPDATED", _CREATED_AT)), captor.getAllValues().getFirst());
+        verify(userOutboxRepository, times(1)).markPublished(eq(List.of(1L, 2L)), any());
+        verify(userOutboxRepository, times(1)).markPublished(eq(List.of(3L)), any());
+    }
+
+    @Test
+    @DisplayName("outbox 발행 : 전송 실패 시 발행 표시하지 않음 (다음 주기에 재시도)")
+    void relaySendFailure() {
+        // given
+        when(userOutboxRepository.claimPending(anyString(), any(), any(), anyInt())).thenReturn(List.of(outbox(1L, 10L, UserOutbox.Action.CREATED)));
+        when(kafkaProducerService.sendMessages(any())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("카프카 전송 실패")));
+
+        // when
+        userOutboxRelay.relay();
+
+        // then
+        verify(userOutboxRepository, never()).markPublished(any(), any());
+    }
+
+    @Test
+    @DisplayName("outbox 발행 : 미발행 이벤트가 없으면 전송하지 않음")
+    void relayEmpty() {
+        // given
+        when(userOutboxRepository.claimPending(anyString(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // when
+        userOutboxRelay.relay();
+
+        // then
+        verify(kafkaProducerService, never()).sendMessages(any());
+    }
+
+    @Test
+    @DisplayName("outbox 발행 : 전송이 send-timeout 안에 끝나지 않으면 발행 표시하지 않음 (트랜잭션 밖에서 대기)")
+    void relaySendTimeout() {
+        // given
+        when(userOutboxRepository.claimPending(anyString(), any(), any(), anyInt())).thenReturn(List.of(outbox(1L, 10L, UserOutbox.Action.CREATED)));
+        when(kafkaProducerService.sendMessages(any())).thenReturn(new CompletableFuture<>());
+
+        // when
+        userOutboxRelay.relay();
+
+        // then
+        verify(userOutboxRepository, never()).markPublished(any(), any());
+    }
+
+    @Test
+    @DisplayName("outbox 선점 : 선점 기간은 현재 + lease")
+    void relayClaimLease() {
+        // given
+        when(userOutboxRepository.claimPending(anyString(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // when
+        userOutboxRelay.relay();
+
+        // then
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> claimedUntil = ArgumentCaptor.forClass(Instant.class);
+        verify(userOutboxRepository).claimPending(anyString(), now.capture(), claimedUntil.capture(), eq(2));
+        assertEquals(Duration.ofSeconds(30), Duration.between(now.getValue(), claimedUntil.getValue()));
+    }
+
+    @Test
+    @DisplayName("outbox 정리 : 보관 기간이 지난 발행 완료 이벤트를 batch 단위로 반복 삭제")
+    void purge() {
+        // given
+        when(userOutboxRepository.deletePublishedBefore(any(), eq(2))).thenReturn(2, 1);
+
+        // when
+        userOutboxRelay.purge();
+
+        // then
+        ArgumentCaptor<Instant> before = ArgumentCaptor.forClass(Instant.class);
+        verify(userOutboxRepository, times(2)).deletePublishedBefore(before.capture(), eq(2));
+        assertTrue(before.getValue().isBefore(Instant.now().minus(Duration.ofDays(7)).plusSeconds(1)));
+    }
+
+    private UserOutbox outbox(Long id, Long userId, UserOutbox.Action action) {
+        return UserOutbox.builder()
+                .id(id)
+                .userId(userId)
+                .action(action)
+                .createdAt(_CREATED_AT)
+                .build();
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.example.sample.service;
+
+import com.example.sample.repository.RedisUserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountBufferTest {
+
+    @Mock
+    RedisUserRepository redisUserRepository;
+
+    @Mock
+    TrendingService trendingService;
+
+    ViewCountBuffer viewCountBuffer;
+
+    @BeforeEach
+    void setUp() {
+        this.viewCountBuffer = new ViewCountBuffer(redisUserRepository, trendingService, new ViewCountKeys(ViewCountKeys.Storage.KEY, 1000));
+        ReflectionTestUtils.setField(viewCountBuffer, "flushThreshold", 1000L);
+    }
+
+    @Test
+    @DisplayName("조회수 버퍼 flush - INCRBY 파이프라인 1회, 반영 후 미반영분 0")
+    void flush() {
+        // given
+        IntStream.range(0, 3).forEach(i -> viewCountBuffer.increment("a"));
+        viewCountBuffer.increment("b");
+        when(redisUserRepository.incrementBy(Map.of("views:a", 3L, "views:b", 1L))).thenReturn(Map.of("views:a", 13L, "views:b", 1L));
+
+        // when
+        viewCountBuffer.flush();
+
+        // then - 반영 후 조회수 = 마지막 INCRBY 결과 + 미반영분
+        verify(redisUserRepository, times(1)).incrementBy(any());
+        verify(trendingService, times(1)).recordViews(Map.of("a", 3L, "b", 1L));
+        Assertions.assertEquals(0L, viewCountBuffer.pendingDelta("a"));
+        Assertions.assertEquals(14L, viewCountBuffer.increment("a"));
+    }
+
+    @Test
+    @DisplayName("조회수 버퍼 flush - Hash 모드는 숫자 itemId 를 HINCRBY, 나머지는 INCRBY (이동 전 views:{itemId} 값 포함)")
+    void flushHash() {
+        // given
+        ViewCountBuffer hashBuffer = new ViewCountBuffer(redisUserRepository, trendingService, new ViewCountKeys(ViewCountKeys.Storage.HASH, 1000));
+        ReflectionTestUtils.setField(hashBuffer, "flushThreshold", 1000L);
+        IntStream.range(0, 2).forEach(i -> hashBuffer.increment("1001"));
+        hashBuffer.increment("abc");
+        when(redisUserRepository.incrementBy(Map.of("views:abc", 1L))).thenReturn(Map.of("views:abc", 4L));
+        when(redisUserRepository.incrementHashBy(Map.of("views-hash:1", Map.of("1", 2L)))).thenReturn(Map.of("views-hash:1", Map.of("1", 12L)));
+        when(redisUserRepository.getCounters(List.of("views:1001"))).thenReturn(Map.of("views:1001", 10L));
+
+        // when
+        hashBuffer.flush();
+
+        // then
+        verify(trendingService, times(1)).recordViews(Map.of("1001", 2L, "abc", 1L));
+        Assertions.assertEquals(23L, hashBuffer.increment("1001"));
+        Assertions.assertEquals(5L, hashBuffer.increment("abc"));
+    }
+
+    @Test
+    @DisplayName("조회수 버퍼 flush - Hash 반영만 실패하면 Hash 증가분만 재시도")
+    void flushHashFailure() {
+        // given
+        ViewCountBuffer hashBuffer = new ViewCountBuffer(redisUserRepository, trendingService, new ViewCountKeys(ViewCountKeys.Storage.HASH, 1000));
+        ReflectionTestUtils.setField(hashBuffer, "flushThreshold", 1000L);
+        hashBuffer.increment("1001");
+        hashBuffer.increment("abc");
+        when(redisUserRepository.incrementBy(Map.of("views:abc", 1L))).thenReturn(Map.of("views:abc", 1L));
+        when(redisUserRepository.incrementHashBy(any())).thenThrow(new IllegalStateException("redis down"));
+
+        // when
+        hashBuffer.flush();
+
+        // then
+        Assertions.assertEquals(1L, hashBuffer.pendingDelta("1001"));
+        Assertions.assertEquals(0L, hashBuffer.pendingDelta("abc"));
+        verify(trendingService, times(1)).recordViews(Map.of("abc", 1L));
+    }
+
+    @Test
+    @DisplayName("조회수 버퍼 flush - 인기 상품 기록 실패는 조회수 재반영 없음")
+    void flushTrendingFailure() {
+        // given
+        IntStream.range(0, 3).forEach(i -> viewCountBuffer.increment("a"));
+        when(redisUserRepository.incrementBy(Map.of("views:a", 3L))).thenReturn(Map.of("views:a", 3L));
+        doThrow(new IllegalStateException("redis down")).when(trendingService).recordViews(any());
+
+        // when
+        viewCountBuffer.flush();
+        viewCountBuffer.flush();
+
+        // then
+        Assertions.assertEquals(0L, viewCountBuffer.pendingDelta("a"));
+        verify(redisUserRepository, times(1)).incrementBy(any());
+    }
+
+    @Test
+    @DisplayName("조회수 버퍼 flush 실패 - 증가분 유지 후 재시도")
+    void flushFailure() {
+        // given
+        IntStream.range(0, 3).forEach(i -> viewCountBuffer.increment("a"));
+        when(redisUserRepository.incrementBy(any()))
+                .thenThrow(new IllegalStateException("redis down"))
+                .thenReturn(Map.of("views:a", 3L));
+
+        // when
+        viewCountBuffer.flush();
+        long pendingAfterFailure = viewCountBuffer.pendingDelta("a");
+        viewCountBuffer.flush();
+
+        // then
+        Assertions.assertEquals(3L, pendingAfterFailure);
+        Assertions.assertEquals(0L, viewCountBuffer.pendingDelta("a"));
+        verify(redisUserRepository, times(2)).incrementBy(Map.of("views:a", 3L));
+        verify(trendingService, times(1)).recordViews(Map.of("a", 3L));
+    }
+
+    @Test
+    @DisplayName("조회수 버퍼 - 임계치 도달 시 즉시 flush")
+    void flushOnThreshold() {
+        // given
+        ReflectionTestUtils.setField(viewCountBuffer, "flushThreshold", 3L);
+        when(redisUserRepository.incrementBy(Map.of("views:a", 3L))).thenReturn(Map.of("views:a", 3L));
+
+        // when
+        IntStream.range(0, 3).forEach(i -> viewCountBuffer.increment("a"));
+
+        // then
+        verify(redisUserRepository, times(1)).incrementBy(Map.of("views:a", 3L));
+        Assertions.assertEquals(0L, viewCountBuffer.pendingDelta("a"));
+    }
+
+    @Test
+    @DisplayName("조회수 버퍼 - 종료 시 남은 증가분 flush")
+    void flushOnDestroy() {
+        // given
+        viewCountBuffer.increment("a");
+        when(redisUserRepository.incrementBy(Map.of("views:a", 1L))).thenReturn(Map.of("views:a", 1L));
+
+        // when
+        viewCountBuffer.destroy();
+
+        // then
+        verify(redisUserRepository, times(1)).incrementBy(Map.of("views:a", 1L));
+    }
+
+    @Test
+    @DisplayName("조회수 버퍼 - 기준값이 없으면(첫 증가, 유휴 후) Redis 현재 값을 1회 조회해 더함")
+    void incrementWithoutBaseline() {
+        // given
+        when(redisUserRepository.getValue("views:a")).thenReturn("1000000", "1000005");
+        when(redisUserRepository.incrementBy(Map.of("views:a", 2L))).thenReturn(Map.of("views:a", 1000002L));
+
+        // when
+        long first = viewCountBuffer.increment("a");
+        long second = viewCountBuffer.increment("a");
+        viewCountBuffer.flush();
+        viewCountBuffer.flush();  // 유휴 - 기준값 제거
+        long afterIdle = viewCountBuffer.increment("a");
+
+        // then
+        Assertions.assertEquals(1_000_001L, first);
+        Assertions.assertEquals(1_000_002L, second);
+        Assertions.assertEquals(1_000_006L, afterIdle);
+        verify(redisUserRepository, times(2)).getValue("views:a");
+    }
+
+    @Test
+    @DisplayName("조회수 버퍼 - 미반영분이 없으면 Redis 호출 없음")
+    void flushEmpty() {
+        // when
+        viewCountBuffer.flush();
+
+        // then
+        verify(redisUserRepository, never()).incrementBy(any());
+    }
+
+}
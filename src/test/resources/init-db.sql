@@ -5,5 +5,27 @@ CREATE TABLE `users`
     `id`       int(11) NOT NULL AUTO_INCREMENT,
     `name`     varchar(100) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
     `email`    varchar(255) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
-    PRIMARY KEY (`id`)
+    `version`  bigint NOT NULL DEFAULT 0,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_users_email` (`email`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE `users_seq`
+(
+    `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO `users_seq` VALUES (1);
+
+CREATE TABLE `user_outbox`
+(
+    `id`           bigint      NOT NULL AUTO_INCREMENT,
+    `user_id`      bigint      NOT NULL,
+    `action`       varchar(20) NOT NULL,
+    `created_at`   datetime(6) NOT NULL,
+    `published_at` datetime(6) DEFAULT NULL,
+    `claimed_by`    varchar(64) DEFAULT NULL,
+    `claimed_until` datetime(6) DEFAULT NULL,
+    PRIMARY KEY (`id`),
+    KEY `idx_user_outbox_published_at` (`published_at`, `id`)
+) ENGINE=InnoDB;